@@ -10,6 +10,10 @@ awslocal dynamodb create-table \
         AttributeName=gsiPk,AttributeType=S \
         AttributeName=gsiSk,AttributeType=S \
         AttributeName=usernameGsiPk,AttributeType=S \
+        AttributeName=userGsiPk,AttributeType=S \
+        AttributeName=stringerGsiPk,AttributeType=S \
+        AttributeName=userGsiSk,AttributeType=S \
+        AttributeName=activeGsiPk,AttributeType=S \
     --key-schema \
         AttributeName=PK,KeyType=HASH \
         AttributeName=SK,KeyType=RANGE \
@@ -24,6 +28,15 @@ awslocal dynamodb create-table \
                 "Projection": {"ProjectionType": "ALL"},
                 "ProvisionedThroughput": {"ReadCapacityUnits": 5, "WriteCapacityUnits": 5}
             },
+            {
+                "IndexName": "active-index",
+                "KeySchema": [
+                    {"AttributeName": "activeGsiPk", "KeyType": "HASH"},
+                    {"AttributeName": "gsiSk", "KeyType": "RANGE"}
+                ],
+                "Projection": {"ProjectionType": "ALL"},
+                "ProvisionedThroughput": {"ReadCapacityUnits": 5, "WriteCapacityUnits": 5}
+            },
             {
                 "IndexName": "username-index",
                 "KeySchema": [
@@ -31,9 +44,40 @@ awslocal dynamodb create-table \
                 ],
                 "Projection": {"ProjectionType": "ALL"},
                 "ProvisionedThroughput": {"ReadCapacityUnits": 5, "WriteCapacityUnits": 5}
+            },
+            {
+                "IndexName": "user-index",
+                "KeySchema": [
+                    {"AttributeName": "userGsiPk", "KeyType": "HASH"},
+                    {"AttributeName": "userGsiSk", "KeyType": "RANGE"}
+                ],
+                "Projection": {
+                    "ProjectionType": "INCLUDE",
+                    "NonKeyAttributes": ["userId", "givenName", "familyName", "email", "username", "birthday", "createdAt", "isStringer"]
+                },
+                "ProvisionedThroughput": {"ReadCapacityUnits": 5, "WriteCapacityUnits": 5}
+            },
+            {
+                "IndexName": "stringer-index",
+                "KeySchema": [
+                    {"AttributeName": "stringerGsiPk", "KeyType": "HASH"},
+                    {"AttributeName": "userGsiSk", "KeyType": "RANGE"}
+                ],
+                "Projection": {
+                    "ProjectionType": "INCLUDE",
+                    "NonKeyAttributes": ["userId", "givenName", "familyName", "email", "username", "birthday", "createdAt", "isStringer"]
+                },
+                "ProvisionedThroughput": {"ReadCapacityUnits": 5, "WriteCapacityUnits": 5}
             }
         ]' \
     --provisioned-throughput ReadCapacityUnits=5,WriteCapacityUnits=5 \
+    --stream-specification StreamEnabled=true,StreamViewType=NEW_AND_OLD_IMAGES \
+    --region us-east-2
+
+# Expires stream idempotency markers (and any other item with an expiresAt epoch-seconds attribute)
+awslocal dynamodb update-time-to-live \
+    --table-name badmintonDb \
+    --time-to-live-specification "Enabled=true,AttributeName=expiresAt" \
     --region us-east-2
 
 echo "DynamoDB table created successfully!"
@@ -0,0 +1,47 @@
+package com.wangindustries.badmintondbBackend.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The state machine checks done on every stringing update: every (from, to) pair per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringingStateBenchmark {
+
+    private static final StringingState[] STATES = StringingState.values();
+
+    @Benchmark
+    @OperationsPerInvocation(81)
+    public void canTransitionTo(Blackhole blackhole) {
+        for (StringingState from : STATES) {
+            for (StringingState to : STATES) {
+                blackhole.consume(from.canTransitionTo(to));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(9)
+    public void isFinalState(Blackhole blackhole) {
+        for (StringingState state : STATES) {
+            blackhole.consume(state.isFinalState());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.wangindustries.badmintondbBackend.models;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic stringings for the benchmarks: a few hundred owners and a handful of stringers,
+ * a realistic spread of rackets, strings, tensions and states, created over the last three years.
+ */
+public final class SyntheticStringings {
+    private static final String[] RACKET_MAKES = {"Yonex", "Victor", "Li-Ning", "Babolat", "Apacs"};
+    private static final String[] RACKET_MODELS = {"Astrox 88D", "Astrox 99", "Nanoflare 800", "Arcsaber 11",
+            "Thruster K", "Auraspeed 90K", "Axforce 80", "Halbertec 8000", "Satelite Gold", "Lite 66"};
+    private static final String[] STRING_TYPES = {"BG80", "BG66 Ultimax", "Exbolt 63", "Exbolt 65", "Aerobite",
+            "Nanogy 98", "VBS-63", "No.1", "Xbolt 63", "BG65"};
+    private static final String[] STRING_COLORS = {"White", "Yellow", "Black", "Red", "Blue"};
+    private static final double[] TENSIONS = {22, 23, 24, 25, 26, 27, 28, 30};
+    private static final StringingState[] STATES = StringingState.values();
+    private static final Duration HISTORY = Duration.ofDays(3 * 365);
+
+    private SyntheticStringings() {
+    }
+
+    public static List<Stringing> create(int count, long seed) {
+        Random random = new Random(seed);
+        List<UUID> owners = userIds(random, 500);
+        List<UUID> stringers = userIds(random, 20);
+        Instant now = Instant.parse("2025-06-01T00:00:00Z");
+
+        List<Stringing> stringings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Stringing stringing = new Stringing();
+            UUID stringingId = new UUID(random.nextLong(), random.nextLong());
+            Instant createdAt = now.minusSeconds((long) (random.nextDouble() * HISTORY.getSeconds()));
+            stringing.setPK(Stringing.createPk(stringingId));
+            stringing.setSK(Stringing.createSkDetails());
+            stringing.setStringingId(stringingId);
+            stringing.setOwnerUserId(owners.get(random.nextInt(owners.size())));
+            stringing.setStringerUserId(stringers.get(random.nextInt(stringers.size())));
+            stringing.setGsiPk(Stringing.createGsiStringerPk(stringing.getStringerUserId()));
+            stringing.setGsiSk(Stringing.createGsiSk(createdAt, stringingId));
+            stringing.setOwnerName("Owner " + random.nextInt(500));
+            stringing.setRacketMake(RACKET_MAKES[random.nextInt(RACKET_MAKES.length)]);
+            stringing.setRacketModel(RACKET_MODELS[random.nextInt(RACKET_MODELS.length)]);
+            stringing.setStringType(STRING_TYPES[random.nextInt(STRING_TYPES.length)]);
+            stringing.setStringColor(STRING_COLORS[random.nextInt(STRING_COLORS.length)]);
+            stringing.setMainsTensionLbs(TENSIONS[random.nextInt(TENSIONS.length)]);
+            stringing.setCrossesTensionLbs(stringing.getMainsTensionLbs() + random.nextInt(3));
+            stringing.setCreatedAt(createdAt);
+            stringing.setRequestedAt(createdAt);
+
+            StringingState state = STATES[random.nextInt(STATES.length)];
+            stringing.setState(state);
+            if (state.ordinal() >= StringingState.RECEIVED_BUT_NOT_STARTED.ordinal()) {
+                stringing.setReceivedAt(createdAt.plus(Duration.ofHours(1 + random.nextInt(72))));
+            }
+            if (state == StringingState.FINISHED_BUT_NOT_PICKED_UP || state == StringingState.COMPLETED) {
+                stringing.setFinishedAt(stringing.getReceivedAt().plus(Duration.ofHours(1 + random.nextInt(48))));
+            }
+            if (state == StringingState.COMPLETED) {
+                stringing.setCompletedAt(stringing.getFinishedAt().plus(Duration.ofHours(1 + random.nextInt(96))));
+            }
+            stringing.setActiveGsiPk(Stringing.createActiveGsiPk(stringing.getStringerUserId(), state));
+            stringings.add(stringing);
+        }
+        return stringings;
+    }
+
+    private static List<UUID> userIds(Random random, int count) {
+        List<UUID> userIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            userIds.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        return userIds;
+    }
+}
@@ -0,0 +1,142 @@
+package com.wangindustries.badmintondbBackend.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The DynamoDB mapping of the stored models: building a schema (paid once per table at startup), and
+ * converting one item to and from its attribute map (paid on every read and write), for the reflective
+ * {@code fromClass} bean schemas ({@code mapper=bean}) and the hand-written {@link TableSchemas}
+ * ({@code mapper=static}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableSchemaBenchmark {
+
+    @Param({"bean", "static"})
+    private String mapper;
+
+    private TableSchema<Stringing> stringingSchema;
+    private TableSchema<User> userSchema;
+    private TableSchema<UserAnalytics> analyticsSchema;
+
+    private Stringing stringing;
+    private User user;
+    private UserAnalytics analytics;
+    private Map<String, AttributeValue> stringingItem;
+    private Map<String, AttributeValue> userItem;
+    private Map<String, AttributeValue> analyticsItem;
+
+    @Setup
+    public void setUp() {
+        boolean bean = "bean".equals(mapper);
+        stringingSchema = bean ? TableSchema.fromClass(Stringing.class) : TableSchemas.STRINGING;
+        userSchema = bean ? TableSchema.fromClass(User.class) : TableSchemas.USER;
+        analyticsSchema = bean ? TableSchema.fromClass(UserAnalytics.class) : TableSchemas.USER_ANALYTICS;
+
+        stringing = SyntheticStringings.create(1, 42).get(0);
+
+        UUID userId = UUID.randomUUID();
+        user = new User();
+        user.setPK(User.createPk(userId));
+        user.setSK(User.createSk());
+        user.setUserId(userId);
+        user.setGivenName("Tony");
+        user.setFamilyName("Wang");
+        user.setGsiPk(User.createGsiPk("Tony"));
+        user.setGsiSk(User.createGsiSk("Wang"));
+        user.setUsername("tony1234");
+        user.setUsernameGsiPk(User.createUsernameGsiPk("tony1234"));
+        user.setEmail("tony@example.com");
+        user.setBirthday(LocalDate.of(1995, 4, 12));
+        user.setEncryptedPassword("$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01");
+        user.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        user.setIsStringer(true);
+        User.setListIndexKeys(user);
+
+        analytics = new UserAnalytics();
+        analytics.setPK(UserAnalytics.createPk(userId));
+        analytics.setSK(UserAnalytics.createSk());
+        analytics.setUserId(userId);
+        analytics.setComputedAt(Instant.parse("2025-06-01T00:00:00Z"));
+        analytics.setTotalStringingsAsOwner(42);
+        analytics.setStringingsByState(Map.of("COMPLETED", 30, "IN_PROGRESS", 2, "CANCELED", 10));
+        analytics.setStringTypeUsage(Map.of("BG80", 20, "Exbolt 63", 22));
+        analytics.setRacketUsage(Map.of("Yonex Astrox 88D", 25, "Victor Thruster K", 17));
+        analytics.setMostUsedTensionCombination("24 x 26 lbs");
+        analytics.setMostUsedTensionCount(18);
+        analytics.setMonthlyTrend(List.of(new MonthlyCount("2025-04", 4), new MonthlyCount("2025-05", 6)));
+        analytics.setTopStringers(Map.of("Jane Doe", 30, "John Doe", 12));
+
+        stringingItem = stringingSchema.itemToMap(stringing, true);
+        userItem = userSchema.itemToMap(user, true);
+        analyticsItem = analyticsSchema.itemToMap(analytics, true);
+    }
+
+    @Benchmark
+    public TableSchema<Stringing> buildStringingSchema() {
+        return "bean".equals(mapper) ? TableSchema.fromClass(Stringing.class) : TableSchemas.stringingSchema();
+    }
+
+    @Benchmark
+    public TableSchema<User> buildUserSchema() {
+        return "bean".equals(mapper) ? TableSchema.fromClass(User.class) : TableSchemas.userSchema();
+    }
+
+    @Benchmark
+    public TableSchema<UserAnalytics> buildUserAnalyticsSchema() {
+        return "bean".equals(mapper) ? TableSchema.fromClass(UserAnalytics.class) : TableSchemas.userAnalyticsSchema();
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> stringingToItem() {
+        return stringingSchema.itemToMap(stringing, true);
+    }
+
+    @Benchmark
+    public Stringing stringingFromItem() {
+        return stringingSchema.mapToItem(stringingItem);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> userToItem() {
+        return userSchema.itemToMap(user, true);
+    }
+
+    @Benchmark
+    public User userFromItem() {
+        return userSchema.mapToItem(userItem);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> userAnalyticsToItem() {
+        return analyticsSchema.itemToMap(analytics, true);
+    }
+
+    @Benchmark
+    public UserAnalytics userAnalyticsFromItem() {
+        return analyticsSchema.mapToItem(analyticsItem);
+    }
+}
@@ -0,0 +1,78 @@
+package com.wangindustries.badmintondbBackend.security;
+
+import com.wangindustries.badmintondbBackend.exceptions.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of the login rate limiter: attempts spread over {@code keys} usernames/IPs, from 1 and
+ * 4 threads. With {@code -p limit=tight} most attempts are rejected (the credential-stuffing case).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoginRateLimiterBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    public int keys;
+
+    @Param({"loose", "tight"})
+    public String limit;
+
+    private LoginRateLimiter limiter;
+    private String[] usernames;
+    private String[] clientIps;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int capacity = limit.equals("tight") ? 5 : Integer.MAX_VALUE / 2;
+        limiter = new LoginRateLimiter(new SimpleMeterRegistry(), true,
+                capacity, Duration.ofMinutes(1), capacity, Duration.ofMinutes(1), 1_000_000);
+        usernames = new String[keys];
+        clientIps = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            usernames[i] = "user" + i;
+            clientIps[i] = "10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public boolean acquire() {
+        return tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean acquireContended() {
+        return tryAcquire();
+    }
+
+    private boolean tryAcquire() {
+        int i = ThreadLocalRandom.current().nextInt(keys);
+        try {
+            limiter.acquire(usernames[i], clientIps[i]);
+            return true;
+        } catch (LoginThrottledException e) {
+            return false;
+        }
+    }
+}
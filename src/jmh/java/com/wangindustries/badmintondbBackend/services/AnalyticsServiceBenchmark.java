@@ -0,0 +1,77 @@
+package com.wangindustries.badmintondbBackend.services;
+
+import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.models.SyntheticStringings;
+import com.wangindustries.badmintondbBackend.models.User;
+import com.wangindustries.badmintondbBackend.models.UserAnalytics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full-recompute analytics over one user's history. Name lookups for the top stringers/customers are
+ * stubbed out so only the aggregation itself is measured. Run with {@code -prof gc} for allocations per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class AnalyticsServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private AnalyticsService analyticsService;
+    private List<Stringing> stringings;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        analyticsService = new AnalyticsService();
+        Field usersService = AnalyticsService.class.getDeclaredField("usersService");
+        usersService.setAccessible(true);
+        usersService.set(analyticsService, new UsersService() {
+            @Override
+            public Map<UUID, User> getUsers(Collection<UUID> userIds) {
+                return Map.of();
+            }
+        });
+        stringings = SyntheticStringings.create(size, 42);
+    }
+
+    @Benchmark
+    public UserAnalytics computeOwnerStats() {
+        UserAnalytics analytics = new UserAnalytics();
+        analyticsService.computeOwnerStats(analytics, stringings);
+        return analytics;
+    }
+
+    @Benchmark
+    public UserAnalytics computeStringerStats() {
+        UserAnalytics analytics = new UserAnalytics();
+        analyticsService.computeStringerStats(analytics, stringings);
+        return analytics;
+    }
+
+    @Benchmark
+    public Map<String, Long> computeCounters() {
+        return AnalyticsCountersService.computeCounters(stringings, stringings);
+    }
+}
@@ -0,0 +1,35 @@
+package com.wangindustries.badmintondbBackend;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.wangindustries.badmintondbBackend.services.AnalyticsStreamProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Entry point for the Lambda subscribed to the badmintonDb DynamoDB Stream (NEW_AND_OLD_IMAGES).
+ * It maintains the analytics counters asynchronously when the API runs with {@code analytics.incremental.source=stream};
+ * configure the event source mapping with {@code ReportBatchItemFailures} so a failed record is retried on its own.
+ */
+public class AnalyticsStreamLambdaHandler implements RequestHandler<DynamodbEvent, StreamsEventResponse> {
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsStreamLambdaHandler.class);
+    private static final AnalyticsStreamProcessor processor;
+
+    static {
+        // No servlet container needed, only the repositories and services
+        processor = new SpringApplicationBuilder(BadmintondbBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run()
+                .getBean(AnalyticsStreamProcessor.class);
+    }
+
+    @Override
+    public StreamsEventResponse handleRequest(DynamodbEvent event, Context context) {
+        logger.info("Got {} stream records", event.getRecords().size());
+        return processor.process(event);
+    }
+}
@@ -1,25 +1,54 @@
 package com.wangindustries.badmintondbBackend;
 
 import com.amazonaws.serverless.exceptions.ContainerInitializationException;
+import com.amazonaws.serverless.proxy.model.ApiGatewayRequestIdentity;
 import com.amazonaws.serverless.proxy.model.AwsProxyRequest;
+import com.amazonaws.serverless.proxy.model.AwsProxyRequestContext;
 import com.amazonaws.serverless.proxy.model.AwsProxyResponse;
+import com.amazonaws.serverless.proxy.model.Headers;
+import com.amazonaws.serverless.proxy.model.MultiValuedTreeMap;
 import com.amazonaws.serverless.proxy.spring.SpringBootLambdaContainerHandler;
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
 import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.wangindustries.badmintondbBackend.services.JwtService;
+import org.crac.Core;
+import org.crac.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
-public class LambdaHandler implements RequestHandler<AwsProxyRequest, AwsProxyResponse> {
+
+public class LambdaHandler implements RequestHandler<AwsProxyRequest, AwsProxyResponse>, Resource {
     private static final Logger logger = LoggerFactory.getLogger(LambdaHandler.class);
+    private static final UUID PRIMING_ID = new UUID(0, 0);
+    // Outlives the priming requests, not the snapshot: a restored instance cannot reuse it
+    private static final Duration PRIMING_TOKEN_VALIDITY = Duration.ofMinutes(1);
     private static SpringBootLambdaContainerHandler<AwsProxyRequest, AwsProxyResponse> handler;
 
     static {
+        long start = System.nanoTime();
         try {
             // SpringBootLambdaContainer must be initialized with the springbootapplication entrypoint class...
             handler = SpringBootLambdaContainerHandler.getAwsProxyHandler(BadmintondbBackendApplication.class); }
         catch (ContainerInitializationException ex){
             throw new RuntimeException("Unable to load spring boot application",ex); }
+        StartupTiming.report("spring-context", start);
+    }
+
+    public LambdaHandler() {
+        // SnapStart: prime request handling before the checkpoint (see configs.SnapStartPriming for the clients)
+        Core.getGlobalContext().register(this);
     }
 
     @Override
@@ -27,4 +56,156 @@ public class LambdaHandler implements RequestHandler<AwsProxyRequest, AwsProxyRe
         logger.info("Got to handle request method with input http method & path {}::{}", input.getHttpMethod(), input.getPath());
         return handler.proxy(input, context);
     }
+
+    /**
+     * Sends representative requests through the whole stack (API Gateway event mapping, filters, dispatcher,
+     * argument binding, bean validation, controllers, Jackson) with a stub Lambda context. Each one is rejected
+     * before its service reaches DynamoDB (an inverted range, a limit of 0, an invalid body), so priming never reads
+     * or writes the table; {@link com.wangindustries.badmintondbBackend.configs.SnapStartPriming} warms the
+     * repositories against a local stub endpoint instead. The API paths carry a short-lived token for the priming
+     * id, so they get past the authentication filter like a real request.
+     */
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> context) {
+        long start = System.nanoTime();
+        String authorization = "Bearer " + primingToken();
+        List<AwsProxyRequest> requests = List.of(
+                primingRequest("GET", "/actuator/health", null, Map.of(), null),
+                primingRequest("GET", "/auth/validate", authorization, Map.of(), null),
+                primingRequest("GET", "/stringing/stringer/" + PRIMING_ID, authorization,
+                        Map.of("from", "2025-02-01T00:00:00Z", "to", "2025-01-01T00:00:00Z"), null),
+                primingRequest("GET", "/stringing/owner/" + PRIMING_ID, authorization, Map.of("limit", "0"), null),
+                primingRequest("GET", "/user", authorization, Map.of("limit", "0"), null),
+                primingRequest("POST", "/stringing", authorization, Map.of(), "{}"),
+                primingRequest("PUT", "/stringing/" + PRIMING_ID, authorization, Map.of(), "{\"mainsTensionLbs\": -1}"));
+        Context lambdaContext = new PrimingLambdaContext();
+        for (AwsProxyRequest request : requests) {
+            try {
+                AwsProxyResponse response = handler.proxy(request, lambdaContext);
+                logger.debug("Primed {} {} -> {}", request.getHttpMethod(), request.getPath(), response.getStatusCode());
+            } catch (RuntimeException e) {
+                logger.warn("Priming {} {} failed", request.getHttpMethod(), request.getPath(), e);
+            }
+        }
+        StartupTiming.report("request-priming", start);
+    }
+
+    /**
+     * The API Gateway REST (v1) proxy event for a request, with the request context the container requires.
+     * @param authorization the Authorization header, or null for none
+     * @param body a JSON body, or null for none
+     */
+    private static AwsProxyRequest primingRequest(String httpMethod, String path, String authorization,
+                                                  Map<String, String> queryParameters, String body) {
+        Headers headers = new Headers();
+        if (authorization != null) {
+            headers.add(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        if (body != null) {
+            headers.add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        }
+        MultiValuedTreeMap<String, String> query = new MultiValuedTreeMap<>();
+        queryParameters.forEach(query::add);
+
+        ApiGatewayRequestIdentity identity = new ApiGatewayRequestIdentity();
+        identity.setSourceIp("127.0.0.1");
+        AwsProxyRequestContext requestContext = new AwsProxyRequestContext();
+        requestContext.setRequestId("snapstart-priming");
+        requestContext.setStage("priming");
+        requestContext.setIdentity(identity);
+        requestContext.setRequestTimeEpoch(System.currentTimeMillis());
+
+        AwsProxyRequest request = new AwsProxyRequest();
+        request.setHttpMethod(httpMethod);
+        request.setPath(path);
+        request.setMultiValueHeaders(headers);
+        request.setMultiValueQueryStringParameters(query);
+        request.setRequestContext(requestContext);
+        request.setBody(body);
+        return request;
+    }
+
+    private static String primingToken() {
+        JwtService jwtService = WebApplicationContextUtils
+                .getRequiredWebApplicationContext(handler.getServletContext())
+                .getBean(JwtService.class);
+        return jwtService.generateToken(PRIMING_ID, "snapstart-priming", PRIMING_TOKEN_VALIDITY);
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> context) {
+        StartupTiming.mark("restore");
+    }
+
+    /**
+     * Stands in for the runtime's context while no invocation is in progress.
+     */
+    private static final class PrimingLambdaContext implements Context {
+        private static final LambdaLogger LAMBDA_LOGGER = new LambdaLogger() {
+            @Override
+            public void log(String message) {
+                logger.debug("{}", message);
+            }
+
+            @Override
+            public void log(byte[] message) {
+                logger.debug("{}", new String(message, StandardCharsets.UTF_8));
+            }
+        };
+
+        @Override
+        public String getAwsRequestId() {
+            return "snapstart-priming";
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return null;
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return null;
+        }
+
+        @Override
+        public String getFunctionName() {
+            return System.getenv("AWS_LAMBDA_FUNCTION_NAME");
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return System.getenv("AWS_LAMBDA_FUNCTION_VERSION");
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return null;
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            return 0;
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return LAMBDA_LOGGER;
+        }
+    }
 }
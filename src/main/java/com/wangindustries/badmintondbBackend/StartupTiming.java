@@ -0,0 +1,45 @@
+package com.wangindustries.badmintondbBackend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs the duration of each cold-start phase as one {@code startup-timing} line, e.g.
+ * {@code startup-timing build=0.0.1-SNAPSHOT+3f2c1ab phase=spring-context durationMs=2140 jvmUptimeMs=2710}.
+ * The build is the jar's {@code Implementation-Version} ({@code -Dbuild.revision} at package time), so
+ * CloudWatch Logs Insights can chart every phase per build.
+ */
+public final class StartupTiming {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTiming.class);
+    private static final String BUILD = StartupTiming.class.getPackage().getImplementationVersion() != null
+            ? StartupTiming.class.getPackage().getImplementationVersion()
+            : "dev";
+
+    private StartupTiming() {
+    }
+
+    /**
+     * @param startNanos the {@link System#nanoTime()} the phase started at
+     */
+    public static void report(String phase, long startNanos) {
+        logger.info("startup-timing build={} phase={} durationMs={} jvmUptimeMs={}",
+                BUILD,
+                phase,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    /**
+     * Logs a point in time rather than a phase, e.g. a SnapStart restore (whose duration Lambda itself
+     * reports as {@code Restore Duration} in the invocation's REPORT line).
+     */
+    public static void mark(String event) {
+        logger.info("startup-timing build={} phase={} jvmUptimeMs={}",
+                BUILD,
+                event,
+                ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+}
@@ -1,7 +1,9 @@
 package com.wangindustries.badmintondbBackend.configs;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
@@ -27,8 +29,10 @@ public class CorsConfig {
                 "Content-Type",
                 "Accept",
                 "Authorization",
-                "X-Requested-With"
+                "X-Requested-With",
+                "Idempotency-Key"
         ));
+        config.setExposedHeaders(List.of("Server-Timing", "Idempotent-Replayed", "Retry-After"));
         config.setAllowedMethods(Arrays.asList(
                 "GET",
                 "POST",
@@ -42,4 +46,14 @@ public class CorsConfig {
 
         return new CorsFilter(source);
     }
+
+    /**
+     * Runs CORS first, so responses rejected by later filters (e.g. a 401) still carry the CORS headers.
+     */
+    @Bean
+    public FilterRegistrationBean<CorsFilter> corsFilterRegistration(CorsFilter corsFilter) {
+        FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>(corsFilter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
 }
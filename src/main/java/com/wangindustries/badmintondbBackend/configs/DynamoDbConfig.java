@@ -1,16 +1,27 @@
 package com.wangindustries.badmintondbBackend.configs;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class DynamoDbConfig {
@@ -21,27 +32,134 @@ public class DynamoDbConfig {
     @Value("${aws.region:us-east-2}")
     private String awsRegion;
 
-    /** use default create method to create dynamo client bean.
-     * Not sure why we need to specify this ourselves and is not default
-     * @return DynamoDbEnhancedClient
+    @Value("${dynamodb.batch.concurrency:4}")
+    private int batchConcurrency;
+
+    @Value("${dynamodb.http.client:apache}")
+    private String httpClient;
+
+    @Value("${dynamodb.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${dynamodb.http.connection-timeout:2s}")
+    private Duration connectionTimeout;
+
+    @Value("${dynamodb.http.connection-acquisition-timeout:1s}")
+    private Duration connectionAcquisitionTimeout;
+
+    @Value("${dynamodb.http.socket-timeout:5s}")
+    private Duration socketTimeout;
+
+    @Value("${dynamodb.http.connection-max-idle-time:60s}")
+    private Duration connectionMaxIdleTime;
+
+    @Value("${dynamodb.http.tcp-keep-alive:true}")
+    private boolean tcpKeepAlive;
+
+    @Value("${dynamodb.api-call-timeout:10s}")
+    private Duration apiCallTimeout;
+
+    @Value("${dynamodb.api-call-attempt-timeout:3s}")
+    private Duration apiCallAttemptTimeout;
+
+    @Value("${dynamodb.retry.mode:adaptive}")
+    private String retryMode;
+
+    @Value("${dynamodb.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    /**
+     * @return DynamoDbClient on the shared, tuned HTTP client, with its own timeouts, retry strategy and metrics
      */
     @Bean
     @ConditionalOnProperty(name = "dynamodb.local.enabled", havingValue = "false", matchIfMissing = true)
-    public DynamoDbEnhancedClient dynamoDbEnhancedClient() {
-        return DynamoDbEnhancedClient.create();
+    public DynamoDbClient dynamoDbClient(SdkHttpClient dynamoDbHttpClient, MeterRegistry meterRegistry) {
+        return DynamoDbClient.builder()
+                .httpClient(dynamoDbHttpClient)
+                .overrideConfiguration(overrideConfiguration(meterRegistry, "sync"))
+                .build();
     }
 
     @Bean
     @ConditionalOnProperty(name = "dynamodb.local.enabled", havingValue = "true")
-    public DynamoDbEnhancedClient dynamoDbClient() {
+    public DynamoDbClient localDynamoDbClient(SdkHttpClient dynamoDbHttpClient, MeterRegistry meterRegistry) {
         AwsBasicCredentials credentials = AwsBasicCredentials.create("fakeKey", "fakeSecret");
+        return DynamoDbClient.builder()
+                .httpClient(dynamoDbHttpClient)
+                .overrideConfiguration(overrideConfiguration(meterRegistry, "sync"))
+                .endpointOverride(URI.create(localEndpoint))
+                .credentialsProvider(StaticCredentialsProvider.create(credentials))
+                .region(Region.of(awsRegion))
+                .build();
+    }
+
+    /**
+     * The Apache client pools connections and reports pool metrics; the URL connection client
+     * ({@code dynamodb.http.client: url-connection}) loads faster, which can matter more on a Lambda cold start.
+     * @return SdkHttpClient closed with the context (the DynamoDB client does not close a client it was given)
+     */
+    @Bean
+    public SdkHttpClient dynamoDbHttpClient() {
+        return switch (httpClient) {
+            case "apache" -> ApacheHttpClient.builder()
+                    .maxConnections(maxConnections)
+                    .connectionTimeout(connectionTimeout)
+                    .connectionAcquisitionTimeout(connectionAcquisitionTimeout)
+                    .socketTimeout(socketTimeout)
+                    .connectionMaxIdleTime(connectionMaxIdleTime)
+                    .tcpKeepAlive(tcpKeepAlive)
+                    .build();
+            case "url-connection" -> UrlConnectionHttpClient.builder()
+                    .connectionTimeout(connectionTimeout)
+                    .socketTimeout(socketTimeout)
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown dynamodb.http.client: " + httpClient);
+        };
+    }
+
+    /**
+     * The attempt timeout bounds a single (possibly stuck) request, so the retry strategy can try again within
+     * the overall API call timeout. Adaptive retries also slow this client down while DynamoDB is throttling.
+     */
+    private ClientOverrideConfiguration overrideConfiguration(MeterRegistry meterRegistry, String client) {
+        RetryMode mode = switch (retryMode) {
+            case "adaptive" -> RetryMode.ADAPTIVE_V2;
+            case "standard" -> RetryMode.STANDARD;
+            default -> throw new IllegalArgumentException("Unknown dynamodb.retry.mode: " + retryMode);
+        };
+        return ClientOverrideConfiguration.builder()
+                .apiCallTimeout(apiCallTimeout)
+                .apiCallAttemptTimeout(apiCallAttemptTimeout)
+                .retryStrategy(AwsRetryStrategy.forRetryMode(mode).toBuilder()
+                        .maxAttempts(retryMaxAttempts)
+                        .build())
+                .addMetricPublisher(new DynamoDbMetricPublisher(meterRegistry, client))
+                .build();
+    }
+
+    /**
+     * The low-level client is a bean of its own because some writes (atomic ADD counters, conditional
+     * update expressions) cannot be expressed through the enhanced client.
+     * @return DynamoDbEnhancedClient sharing the low-level client's connection pool
+     */
+    @Bean
+    public DynamoDbEnhancedClient dynamoDbEnhancedClient(DynamoDbClient dynamoDbClient) {
         return DynamoDbEnhancedClient.builder()
-                .dynamoDbClient(
-                        DynamoDbClient.builder()
-                                .endpointOverride(URI.create(localEndpoint))
-                                .credentialsProvider(StaticCredentialsProvider.create(credentials))
-                                .region(Region.of(awsRegion))
-                                .build())
+                .dynamoDbClient(dynamoDbClient)
                 .build();
     }
+
+    /**
+     * Runs the chunks of a multi-request batch operation (e.g. BatchGetItem over more than 100 keys) concurrently.
+     * @return ExecutorService shut down with the context
+     */
+    @Bean
+    public ExecutorService dynamoDbBatchExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(batchConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "ddb-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
@@ -0,0 +1,114 @@
+package com.wangindustries.badmintondbBackend.configs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Forwards the SDK's per-call metrics of one DynamoDB client to Micrometer, tagged {@code client}:
+ * <ul>
+ *     <li>{@code dynamodb.api.call} timer per operation and outcome, {@code dynamodb.api.retries} counter</li>
+ *     <li>{@code dynamodb.http.leased}, {@code dynamodb.http.available} and {@code dynamodb.http.pending.acquires}
+ *     gauges (as of the last call) and the {@code dynamodb.http.acquire} timer for the connection pool</li>
+ * </ul>
+ * The URL connection client has no pool, so it reports no {@code dynamodb.http.*} values.
+ */
+public class DynamoDbMetricPublisher implements MetricPublisher {
+
+    private final MeterRegistry meterRegistry;
+    private final String client;
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicInteger available = new AtomicInteger();
+    private final AtomicInteger pendingAcquires = new AtomicInteger();
+    private final Timer acquireTimer;
+
+    public DynamoDbMetricPublisher(MeterRegistry meterRegistry, String client) {
+        this.meterRegistry = meterRegistry;
+        this.client = client;
+        Gauge.builder("dynamodb.http.leased", leased, AtomicInteger::get)
+                .tag("client", client)
+                .register(meterRegistry);
+        Gauge.builder("dynamodb.http.available", available, AtomicInteger::get)
+                .tag("client", client)
+                .register(meterRegistry);
+        Gauge.builder("dynamodb.http.pending.acquires", pendingAcquires, AtomicInteger::get)
+                .tag("client", client)
+                .register(meterRegistry);
+        this.acquireTimer = Timer.builder("dynamodb.http.acquire")
+                .tag("client", client)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(MetricCollection apiCall) {
+        String operation = first(apiCall, CoreMetric.OPERATION_NAME);
+        if (operation == null) {
+            operation = "unknown";
+        }
+
+        Duration duration = first(apiCall, CoreMetric.API_CALL_DURATION);
+        if (duration != null) {
+            Timer.builder("dynamodb.api.call")
+                    .tag("client", client)
+                    .tag("operation", operation)
+                    .tag("outcome", Boolean.TRUE.equals(first(apiCall, CoreMetric.API_CALL_SUCCESSFUL)) ? "success" : "failure")
+                    .register(meterRegistry)
+                    .record(duration);
+        }
+
+        Integer retries = first(apiCall, CoreMetric.RETRY_COUNT);
+        if (retries != null && retries > 0) {
+            Counter.builder("dynamodb.api.retries")
+                    .tag("client", client)
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment(retries);
+        }
+
+        recordHttpMetrics(apiCall);
+    }
+
+    /**
+     * The pool metrics are on the HttpClient collection of each attempt, nested below the API call.
+     */
+    private void recordHttpMetrics(MetricCollection collection) {
+        for (MetricCollection child : collection.children()) {
+            Integer leasedConcurrency = first(child, HttpMetric.LEASED_CONCURRENCY);
+            if (leasedConcurrency != null) {
+                leased.set(leasedConcurrency);
+            }
+            Integer availableConcurrency = first(child, HttpMetric.AVAILABLE_CONCURRENCY);
+            if (availableConcurrency != null) {
+                available.set(availableConcurrency);
+            }
+            Integer pendingConcurrencyAcquires = first(child, HttpMetric.PENDING_CONCURRENCY_ACQUIRES);
+            if (pendingConcurrencyAcquires != null) {
+                pendingAcquires.set(pendingConcurrencyAcquires);
+            }
+            Duration acquireDuration = first(child, HttpMetric.CONCURRENCY_ACQUIRE_DURATION);
+            if (acquireDuration != null) {
+                acquireTimer.record(acquireDuration);
+            }
+            recordHttpMetrics(child);
+        }
+    }
+
+    private static <T> T first(MetricCollection collection, SdkMetric<T> metric) {
+        List<T> values = collection.metricValues(metric);
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public void close() {
+    }
+}
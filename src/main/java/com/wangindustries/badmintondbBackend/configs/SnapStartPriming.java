@@ -0,0 +1,146 @@
+package com.wangindustries.badmintondbBackend.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.wangindustries.badmintondbBackend.StartupTiming;
+import com.wangindustries.badmintondbBackend.models.TableSchemas;
+import com.wangindustries.badmintondbBackend.repositories.AnalyticsRepository;
+import com.wangindustries.badmintondbBackend.repositories.PageCursor;
+import com.wangindustries.badmintondbBackend.repositories.StringingRepository;
+import com.wangindustries.badmintondbBackend.repositories.UsersRepository;
+import com.wangindustries.badmintondbBackend.services.JwtService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Warms what the first request after a cold start would otherwise pay for, right before a Lambda SnapStart
+ * (CRaC) checkpoint: the DynamoDB SDK (request marshalling, signing, the shared HTTP client and response
+ * unmarshalling), the repositories' read paths, the table schemas' attribute converters, the JWT signing key and
+ * Jackson. Restored instances start from the primed snapshot. {@link com.wangindustries.badmintondbBackend.LambdaHandler}
+ * additionally primes the controller paths.
+ *
+ * <p>Nothing is sent to the real table: the repositories are exercised on a throwaway client whose endpoint is
+ * a stub on the loopback interface that answers every call with an empty result. The real client's credentials
+ * are resolved on its first call after the restore. On a JVM without CRaC the hooks never fire.</p>
+ */
+@Slf4j
+@Component
+public class SnapStartPriming implements Resource {
+    private static final UUID PRIMING_ID = new UUID(0, 0);
+    // GetItem, Query and BatchGetItem all read an empty JSON object as "nothing found"
+    private static final byte[] EMPTY_RESULT = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private static final List<TableSchema<?>> TABLE_SCHEMAS = List.of(
+            TableSchemas.STRINGING, TableSchemas.USER, TableSchemas.USER_ANALYTICS);
+
+    @Autowired
+    private SdkHttpClient dynamoDbHttpClient;
+
+    @Autowired
+    private ExecutorService dynamoDbBatchExecutor;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${aws.region:us-east-2}")
+    private String awsRegion;
+
+    @PostConstruct
+    void register() {
+        // The global context only keeps a weak reference; Spring holds the strong one
+        Core.getGlobalContext().register(this);
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        long start = System.nanoTime();
+        try {
+            for (TableSchema<?> schema : TABLE_SCHEMAS) {
+                primeSchema(schema);
+            }
+            primeRepositories();
+            PageCursor.decode(PageCursor.encode(Map.of("PK", AttributeValue.fromS(PRIMING_ID.toString()))));
+            jwtService.validateToken(jwtService.generateToken(PRIMING_ID, "snapstart-priming"));
+        } catch (IOException | RuntimeException e) {
+            // A failed priming step only costs the restored instances some latency, never the snapshot
+            log.warn("SnapStart client priming incomplete", e);
+        }
+        StartupTiming.report("client-priming", start);
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        // Nothing to reset: the SDK refreshes credentials on expiry and the connection pool replaces
+        // connections that went stale while the snapshot was stored
+    }
+
+    /**
+     * Maps an item both ways and serializes it, as the models are also the response bodies. The item needs an
+     * attribute: the schemas map an empty attribute map to null.
+     */
+    private <T> void primeSchema(TableSchema<T> schema) throws IOException {
+        T item = schema.mapToItem(Map.of("PK", AttributeValue.fromS(PRIMING_ID.toString())));
+        schema.itemToMap(item, true);
+        objectMapper.writeValueAsBytes(item);
+    }
+
+    private void primeRepositories() throws IOException {
+        HttpServer endpoint = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        endpoint.createContext("/", SnapStartPriming::answerEmpty);
+        endpoint.start();
+        URI endpointUri = URI.create("http://" + endpoint.getAddress().getHostString() + ":" + endpoint.getAddress().getPort());
+        try (DynamoDbClient client = DynamoDbClient.builder()
+                .httpClient(dynamoDbHttpClient)
+                .endpointOverride(endpointUri)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("priming", "priming")))
+                .region(Region.of(awsRegion))
+                .build()) {
+            DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder().dynamoDbClient(client).build();
+            StringingRepository stringingRepository = new StringingRepository(enhancedClient, client, dynamoDbBatchExecutor);
+            stringingRepository.getStringing(PRIMING_ID);
+            stringingRepository.getStringingsByStringerUserIdPage(PRIMING_ID, null, null, null, 1);
+            new UsersRepository(enhancedClient, dynamoDbBatchExecutor).getUser(PRIMING_ID);
+            new AnalyticsRepository(enhancedClient, client).getCounters(PRIMING_ID);
+        } finally {
+            endpoint.stop(0);
+        }
+    }
+
+    private static void answerEmpty(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", "application/x-amz-json-1.0");
+        // Not kept alive, so the shared connection pool holds no connection to the stub once it is gone
+        exchange.getResponseHeaders().set("Connection", "close");
+        exchange.sendResponseHeaders(200, EMPTY_RESULT.length);
+        exchange.getResponseBody().write(EMPTY_RESULT);
+        exchange.close();
+    }
+}
@@ -1,6 +1,7 @@
 package com.wangindustries.badmintondbBackend.controllers;
 
 import com.wangindustries.badmintondbBackend.models.UserAnalytics;
+import com.wangindustries.badmintondbBackend.responses.AnalyticsReconciliationResponse;
 import com.wangindustries.badmintondbBackend.services.AnalyticsService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -50,4 +51,19 @@ public class AnalyticsController {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    @PostMapping("/user/{userId}/reconcile")
+    public ResponseEntity<AnalyticsReconciliationResponse> reconcileAnalytics(@PathVariable UUID userId) {
+        log.info("Received analytics reconcile request for user {}", userId);
+        try {
+            AnalyticsReconciliationResponse response = analyticsService.reconcileAnalytics(userId);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.error("User not found: {}", userId);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            log.error("Failed to reconcile analytics for user {}", userId, e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 }
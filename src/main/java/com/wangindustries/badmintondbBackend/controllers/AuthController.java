@@ -1,11 +1,17 @@
 package com.wangindustries.badmintondbBackend.controllers;
 
+import com.wangindustries.badmintondbBackend.exceptions.LoginThrottledException;
+import com.wangindustries.badmintondbBackend.exceptions.PasswordHashingBusyException;
 import com.wangindustries.badmintondbBackend.requests.LoginRequest;
 import com.wangindustries.badmintondbBackend.responses.LoginResponse;
+import com.wangindustries.badmintondbBackend.security.AuthenticatedUser;
+import com.wangindustries.badmintondbBackend.security.LoginRateLimiter;
 import com.wangindustries.badmintondbBackend.services.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,34 +24,47 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         log.info("Login attempt for username: {}", request.getUsername());
 
-        LoginResponse response = authService.authenticate(request);
+        try {
+            loginRateLimiter.acquire(request.getUsername(), httpRequest.getRemoteAddr());
 
-        if (response == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body("Invalid username or password");
-        }
+            LoginResponse response = authService.authenticate(request);
+
+            if (response == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body("Invalid username or password");
+            }
 
-        return ResponseEntity.ok(response);
+            return ResponseEntity.ok(response);
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage() + ", try again in " + e.getRetryAfterSeconds() + "s");
+        } catch (PasswordHashingBusyException e) {
+            log.warn("Rejecting login for username {}: {}", request.getUsername(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body("Too many logins in progress, try again shortly");
+        }
     }
 
+    /**
+     * The token was already verified by JwtAuthenticationFilter; this only reports the outcome.
+     */
     @GetMapping("/validate")
-    public ResponseEntity<?> validateToken(@RequestHeader("Authorization") String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+    public ResponseEntity<?> validateToken(
+            @RequestAttribute(name = AuthenticatedUser.REQUEST_ATTRIBUTE, required = false) AuthenticatedUser caller) {
+        if (caller == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body("Missing or invalid Authorization header");
-        }
-
-        String token = authHeader.substring(7);
-
-        if (authService.validateToken(token)) {
-            return ResponseEntity.ok().build();
+                    .body("Missing, invalid or expired token");
         }
 
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body("Invalid or expired token");
+        return ResponseEntity.ok().build();
     }
 }
@@ -1,9 +1,14 @@
 package com.wangindustries.badmintondbBackend.controllers;
 
+import com.wangindustries.badmintondbBackend.exceptions.ConcurrentUpdateException;
 import com.wangindustries.badmintondbBackend.exceptions.InvalidStateTransitionException;
 import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.requests.BatchCreateStringingRequest;
 import com.wangindustries.badmintondbBackend.requests.CreateStringingRequest;
+import com.wangindustries.badmintondbBackend.requests.StringingTransitionsRequest;
 import com.wangindustries.badmintondbBackend.requests.UpdateStringingRequest;
+import com.wangindustries.badmintondbBackend.responses.BatchResponse;
+import com.wangindustries.badmintondbBackend.responses.PageResponse;
 import com.wangindustries.badmintondbBackend.services.StringingService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.Instant;
 import java.util.UUID;
 
 @Slf4j
@@ -35,6 +40,30 @@ public class StringingController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse<Stringing>> createStringings(@Valid @RequestBody BatchCreateStringingRequest request) {
+        log.info("Received batch create stringing request for {} stringings", request.getStringings().size());
+        try {
+            BatchResponse<Stringing> results = stringingService.createStringings(request.getStringings());
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("Failed to create stringings", e);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PostMapping("/transitions")
+    public ResponseEntity<BatchResponse<Stringing>> transitionStringings(@Valid @RequestBody StringingTransitionsRequest request) {
+        log.info("Received stringing transitions request for {} stringings", request.getTransitions().size());
+        try {
+            BatchResponse<Stringing> results = stringingService.transitionStringings(request.getTransitions());
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (Exception e) {
+            log.error("Failed to apply stringing transitions", e);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @GetMapping("/{stringingId}")
     public ResponseEntity<Stringing> getStringing(@PathVariable UUID stringingId) {
         log.info("Received get stringing request for id: {}", stringingId);
@@ -46,17 +75,52 @@ public class StringingController {
     }
 
     @GetMapping("/stringer/{stringerUserId}")
-    public ResponseEntity<List<Stringing>> getStringingsByStringer(@PathVariable UUID stringerUserId) {
+    public ResponseEntity<PageResponse<Stringing>> getStringingsByStringer(
+            @PathVariable UUID stringerUserId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "" + PageResponse.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
         log.info("Received get stringings by stringer request for: {}", stringerUserId);
-        List<Stringing> stringings = stringingService.getStringingsByStringerUserId(stringerUserId);
-        return new ResponseEntity<>(stringings, HttpStatus.OK);
+        try {
+            PageResponse<Stringing> stringings = stringingService.getStringingsByStringerUserId(stringerUserId, from, to, cursor, limit);
+            return new ResponseEntity<>(stringings, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid get stringings by stringer request: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/stringer/{stringerUserId}/active")
+    public ResponseEntity<PageResponse<Stringing>> getActiveStringingsByStringer(
+            @PathVariable UUID stringerUserId,
+            @RequestParam(defaultValue = "" + PageResponse.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
+        log.info("Received get active stringings by stringer request for: {}", stringerUserId);
+        try {
+            PageResponse<Stringing> stringings = stringingService.getActiveStringingsByStringerUserId(stringerUserId, cursor, limit);
+            return new ResponseEntity<>(stringings, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid get active stringings by stringer request: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
     }
 
     @GetMapping("/owner/{ownerUserId}")
-    public ResponseEntity<List<Stringing>> getStringingsByOwner(@PathVariable UUID ownerUserId) {
+    public ResponseEntity<PageResponse<Stringing>> getStringingsByOwner(
+            @PathVariable UUID ownerUserId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "" + PageResponse.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
         log.info("Received get stringings by owner request for: {}", ownerUserId);
-        List<Stringing> stringings = stringingService.getStringingsByOwnerUserId(ownerUserId);
-        return new ResponseEntity<>(stringings, HttpStatus.OK);
+        try {
+            PageResponse<Stringing> stringings = stringingService.getStringingsByOwnerUserId(ownerUserId, from, to, cursor, limit);
+            return new ResponseEntity<>(stringings, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid get stringings by owner request: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
     }
 
     @PutMapping("/{stringingId}")
@@ -73,6 +137,9 @@ public class StringingController {
         } catch (InvalidStateTransitionException e) {
             log.warn("Invalid state transition: {}", e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ConcurrentUpdateException e) {
+            log.warn("Concurrent update conflict: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             log.error("Failed to update stringing", e);
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
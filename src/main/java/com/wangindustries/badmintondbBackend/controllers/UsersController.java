@@ -1,18 +1,20 @@
 package com.wangindustries.badmintondbBackend.controllers;
 
+import com.wangindustries.badmintondbBackend.exceptions.PasswordHashingBusyException;
 import com.wangindustries.badmintondbBackend.models.User;
 import com.wangindustries.badmintondbBackend.requests.CreateUserRequest;
 import com.wangindustries.badmintondbBackend.requests.UpdateUserRequest;
 import com.wangindustries.badmintondbBackend.responses.GetUserResponse;
+import com.wangindustries.badmintondbBackend.responses.PageResponse;
 import jakarta.validation.Valid;
 import com.wangindustries.badmintondbBackend.services.UsersService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -23,15 +25,29 @@ public class UsersController {
     UsersService usersService;
 
     @GetMapping
-    public ResponseEntity<List<User>> getUsers() {
-        List<User> users = usersService.listUsers();
-        return new ResponseEntity<>(users, HttpStatus.OK);
+    public ResponseEntity<PageResponse<User>> getUsers(
+            @RequestParam(defaultValue = "" + PageResponse.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String cursor) {
+        try {
+            PageResponse<User> users = usersService.listUsers(cursor, limit);
+            return new ResponseEntity<>(users, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid list users request: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
     }
 
      @GetMapping("/stringers")
-     public ResponseEntity<List<User>> getStringers() {
-         List<User> users = usersService.listStringers();
-         return new ResponseEntity<>(users, HttpStatus.OK);
+     public ResponseEntity<PageResponse<User>> getStringers(
+             @RequestParam(defaultValue = "" + PageResponse.DEFAULT_LIMIT) int limit,
+             @RequestParam(required = false) String cursor) {
+         try {
+             PageResponse<User> users = usersService.listStringers(cursor, limit);
+             return new ResponseEntity<>(users, HttpStatus.OK);
+         } catch (IllegalArgumentException e) {
+             log.warn("Invalid list stringers request: {}", e.getMessage());
+             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+         }
      }
 
     @GetMapping("/{userId}")
@@ -47,6 +63,9 @@ public class UsersController {
         try {
             User createdUser = usersService.createUser(createUserRequest);
             return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
+        } catch (PasswordHashingBusyException e) {
+            log.warn("Rejecting create user request: {}", e.getMessage());
+            return retryLater(e);
         } catch (Exception e) {
             log.error("Failed to create user", e);
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST); //todo should either log and handle or throw, not both
@@ -62,6 +81,9 @@ public class UsersController {
         try {
             User updatedUser = usersService.updateUser(userId, updateUserRequest);
             return new ResponseEntity<>(updatedUser, HttpStatus.OK);
+        } catch (PasswordHashingBusyException e) {
+            log.warn("Rejecting update user request for userId {}: {}", userId, e.getMessage());
+            return retryLater(e);
         } catch (IllegalArgumentException e) {
             log.error("User not found: {}", userId);
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -70,6 +92,12 @@ public class UsersController {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
+
+    private static <T> ResponseEntity<T> retryLater(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .build();
+    }
 //    @PutMapping("/user/{userId}")
 //    public ResponseEntity<BaseUserResponse> updateUserInformation(
 //            @PathVariable(value="userId") UUID userId,
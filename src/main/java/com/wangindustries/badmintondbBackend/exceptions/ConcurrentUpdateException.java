@@ -0,0 +1,11 @@
+package com.wangindustries.badmintondbBackend.exceptions;
+
+/**
+ * Thrown when an item kept being modified between reading it and the conditional write, so the update gave up.
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.wangindustries.badmintondbBackend.exceptions;
+
+/**
+ * Thrown when a login attempt exceeds the per-username or per-client-IP rate limit.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.wangindustries.badmintondbBackend.exceptions;
+
+/**
+ * Thrown when the password-hashing executor is saturated (or a hash waited too long in its queue),
+ * so the request should be retried later instead of queueing behind other logins.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,52 @@
+package com.wangindustries.badmintondbBackend.jobs;
+
+import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.repositories.StringingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off job that puts the non-final stringings created before the active-index existed into their
+ * stringer's active queue. Until it has run, such stringings are missing from {@code /stringing/stringer/{id}/active}.
+ *
+ * <p>Create the index first (see localstack-init/init-dynamodb.sh for its definition), then run:</p>
+ * <pre>
+ * ./mvnw spring-boot:run -Dspring-boot.run.arguments="--jobs.active-index-backfill.enabled=true"
+ * </pre>
+ * <p>Safe to re-run and to run while the API is serving traffic: the key is only set if the stringer and
+ * state are still the ones that were scanned.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jobs.active-index-backfill.enabled", havingValue = "true")
+public class ActiveIndexBackfillJob implements ApplicationRunner {
+
+    @Autowired
+    private StringingRepository stringingRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Starting active index backfill");
+        int[] counts = new int[2]; // indexed, changed concurrently
+
+        stringingRepository.scanUnindexedActiveStringings().forEach(page -> {
+            if (page.isEmpty()) {
+                return;
+            }
+            for (Stringing details : page) {
+                if (stringingRepository.setActiveGsiPkIfUnchanged(details)) {
+                    counts[0]++;
+                } else {
+                    counts[1]++;
+                }
+            }
+            log.info("Active index backfill progress: {} indexed, {} changed concurrently", counts[0], counts[1]);
+        });
+
+        log.info("Finished active index backfill: {} indexed, {} changed concurrently", counts[0], counts[1]);
+    }
+}
@@ -0,0 +1,73 @@
+package com.wangindustries.badmintondbBackend.jobs;
+
+import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.repositories.StringingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One-off job that converts the sparse OWNER#{ownerUserId} index items written before
+ * {@code stringing.owner-index.projected} was enabled into projected ones.
+ *
+ * <p>Run it once after turning the projected owner index on:</p>
+ * <pre>
+ * ./mvnw spring-boot:run -Dspring-boot.run.arguments="--stringing.owner-index.projected=true --jobs.owner-index-backfill.enabled=true"
+ * </pre>
+ * <p>Safe to re-run and to run while the API is serving traffic: an item that an update has already
+ * projected is left alone.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jobs.owner-index-backfill.enabled", havingValue = "true")
+public class OwnerIndexBackfillJob implements ApplicationRunner {
+
+    @Autowired
+    private StringingRepository stringingRepository;
+
+    @Value("${stringing.owner-index.projected:false}")
+    private boolean projectedOwnerIndex;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!projectedOwnerIndex) {
+            log.warn("Skipping owner index backfill: stringing.owner-index.projected is disabled, so projected items would go stale");
+            return;
+        }
+
+        log.info("Starting owner index backfill");
+        int[] counts = new int[3]; // projected, already projected, orphaned
+
+        stringingRepository.scanSparseOwnerIndexItems().forEach(page -> {
+            if (page.isEmpty()) {
+                return;
+            }
+            List<Stringing> details = stringingRepository.getStringings(page.stream()
+                    .map(Stringing::getStringingId)
+                    .toList());
+            counts[2] += page.size() - details.size();
+
+            for (Stringing stringing : details) {
+                if (stringing.getOwnerUserId() == null) {
+                    continue;
+                }
+                if (stringingRepository.saveProjectedOwnerIndexItemIfSparse(Stringing.createOwnerIndexItem(stringing, true))) {
+                    counts[0]++;
+                } else {
+                    counts[1]++;
+                }
+            }
+            log.info("Owner index backfill progress: {} projected, {} already projected, {} without DETAILS item",
+                    counts[0], counts[1], counts[2]);
+        });
+
+        log.info("Finished owner index backfill: {} projected, {} already projected, {} without DETAILS item",
+                counts[0], counts[1], counts[2]);
+    }
+}
@@ -0,0 +1,76 @@
+package com.wangindustries.badmintondbBackend.jobs;
+
+import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.repositories.StringingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * One-off job that rewrites the legacy {@code STRINGING#{id}} name-index sort keys to the time-ordered
+ * {@code {createdAt}#{id}} format, so stringer and owner listings come back newest first.
+ * Until it has run, legacy items are listed before all others.
+ *
+ * <pre>
+ * ./mvnw spring-boot:run -Dspring-boot.run.arguments="--jobs.stringing-gsi-sk-backfill.enabled=true"
+ * </pre>
+ * <p>Safe to re-run and to run while the API is serving traffic: only the gsiSk attribute is written, and only
+ * if it still holds the legacy value.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jobs.stringing-gsi-sk-backfill.enabled", havingValue = "true")
+public class StringingGsiSkBackfillJob implements ApplicationRunner {
+
+    @Autowired
+    private StringingRepository stringingRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Starting stringing gsiSk backfill");
+        int[] counts = new int[3]; // rewritten, changed concurrently, without createdAt
+
+        stringingRepository.scanLegacyGsiSkItems().forEach(page -> {
+            if (page.isEmpty()) {
+                return;
+            }
+            // Sparse owner index items carry no createdAt, so it is read from their DETAILS items
+            Map<UUID, Instant> createdAtById = stringingRepository.getStringings(page.stream()
+                            .filter(item -> item.getCreatedAt() == null)
+                            .map(Stringing::getStringingId)
+                            .toList())
+                    .stream()
+                    .filter(details -> details.getCreatedAt() != null)
+                    .collect(Collectors.toMap(Stringing::getStringingId, Stringing::getCreatedAt));
+
+            for (Stringing item : page) {
+                Instant createdAt = item.getCreatedAt() != null
+                        ? item.getCreatedAt()
+                        : createdAtById.get(item.getStringingId());
+                if (createdAt == null) {
+                    counts[2]++;
+                    continue;
+                }
+                if (stringingRepository.replaceGsiSk(item.getPK(), item.getSK(), item.getGsiSk(),
+                        Stringing.createGsiSk(createdAt, item.getStringingId()))) {
+                    counts[0]++;
+                } else {
+                    counts[1]++;
+                }
+            }
+            log.info("Stringing gsiSk backfill progress: {} rewritten, {} changed concurrently, {} without createdAt",
+                    counts[0], counts[1], counts[2]);
+        });
+
+        log.info("Finished stringing gsiSk backfill: {} rewritten, {} changed concurrently, {} without createdAt",
+                counts[0], counts[1], counts[2]);
+    }
+}
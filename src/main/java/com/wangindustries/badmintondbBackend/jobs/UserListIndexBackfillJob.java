@@ -0,0 +1,56 @@
+package com.wangindustries.badmintondbBackend.jobs;
+
+import com.wangindustries.badmintondbBackend.models.User;
+import com.wangindustries.badmintondbBackend.repositories.UsersRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off job that sets the user-index and stringer-index keys on user profiles created before those
+ * indexes existed. Until it has run, such users are missing from the user and stringer lists.
+ *
+ * <p>Create the indexes first (see localstack-init/init-dynamodb.sh for their definitions), then run:</p>
+ * <pre>
+ * ./mvnw spring-boot:run -Dspring-boot.run.arguments="--jobs.user-list-index-backfill.enabled=true"
+ * </pre>
+ * <p>Safe to re-run and to run while the API is serving traffic: a profile an update has already
+ * indexed is left alone.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jobs.user-list-index-backfill.enabled", havingValue = "true")
+public class UserListIndexBackfillJob implements ApplicationRunner {
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Starting user list index backfill");
+        int[] counts = new int[2]; // indexed, already indexed
+
+        usersRepository.scanUsersWithoutListIndexKeys().forEach(page -> {
+            if (page.isEmpty()) {
+                return;
+            }
+            for (User user : page) {
+                if (user.getGivenName() == null || user.getFamilyName() == null) {
+                    log.warn("User {} has no given or family name; indexing it under an empty name", user.getUserId());
+                }
+                User.setListIndexKeys(user);
+                if (usersRepository.saveUserIfMissingListIndexKeys(user)) {
+                    counts[0]++;
+                } else {
+                    counts[1]++;
+                }
+            }
+            log.info("User list index backfill progress: {} indexed, {} already indexed", counts[0], counts[1]);
+        });
+
+        log.info("Finished user list index backfill: {} indexed, {} already indexed", counts[0], counts[1]);
+    }
+}
@@ -0,0 +1,88 @@
+package com.wangindustries.badmintondbBackend.models;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The write-time maintained analytics counters of one user, stored next to the {@link UserAnalytics} summary
+ * (PK=ANALYTICS#{userId}) as a main item (SK=COUNTERS) plus one item per high-cardinality dimension
+ * (SK=COUNTERS#{dimension}, see {@link #SEPARATE_DIMENSIONS}). All of them are read with one query.
+ *
+ * <p>Every counter is its own top-level number attribute (e.g. {@code o.state.COMPLETED}) so that a change
+ * can be applied with one atomic {@code ADD} update expression per item without reading it first.
+ * The counters are only trusted once a full recompute has seeded them ({@link #getSeededAt()} is set); before
+ * that, they may hold increments for only part of a user's history.</p>
+ *
+ * <p>Every {@code ADD} also increments the {@link #VERSION_ATTRIBUTE} of the item it changes, so a recompute
+ * only replaces the counters if no change was applied to any of the items since it read them.</p>
+ */
+public class AnalyticsCounters {
+    public static final String SK_SYNTAX = "COUNTERS";
+    public static final String SEEDED_AT_ATTRIBUTE = "seededAt";
+    public static final String VERSION_ATTRIBUTE = "version";
+    /** Set on the main item by a seeding recompute; items seeded before the dimensions were split out lack it */
+    public static final String LAYOUT_ATTRIBUTE = "layout";
+    public static final int CURRENT_LAYOUT = 2;
+
+    /**
+     * The dimensions that get a counter per customer, stringer, racket, string or tension. Each one is kept in
+     * an item of its own, so their growth cannot push the main item towards DynamoDB's 400KB item limit.
+     */
+    public static final List<String> SEPARATE_DIMENSIONS = List.of(
+            "o.stringType", "o.racket", "o.tension", "o.stringer", "s.customer", "s.stringType", "s.racket");
+
+    private final Map<String, Long> counters;
+    private final Instant seededAt;
+    private final Map<String, Long> versions;
+
+    public AnalyticsCounters(Map<String, Long> counters, Instant seededAt, Map<String, Long> versions) {
+        this.counters = counters;
+        this.seededAt = seededAt;
+        this.versions = versions;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public Instant getSeededAt() {
+        return seededAt;
+    }
+
+    /**
+     * @return the number of writes applied to the item with the given sort key, or null if it does not exist
+     *         or was written before versions were kept
+     */
+    public Long getVersion(String sk) {
+        return versions.get(sk);
+    }
+
+    public boolean isSeeded() {
+        return seededAt != null;
+    }
+
+    public static String createPk(UUID userId) {
+        return UserAnalytics.createPk(userId);
+    }
+
+    public static String createSk() {
+        return SK_SYNTAX;
+    }
+
+    /**
+     * @return the sort key of the item that holds the given counter
+     */
+    public static String createSk(String counterName) {
+        int dimensionEnd = counterName.indexOf('.', counterName.indexOf('.') + 1);
+        if (dimensionEnd > 0 && SEPARATE_DIMENSIONS.contains(counterName.substring(0, dimensionEnd))) {
+            return createDimensionSk(counterName.substring(0, dimensionEnd));
+        }
+        return SK_SYNTAX;
+    }
+
+    public static String createDimensionSk(String dimension) {
+        return SK_SYNTAX + "#" + dimension;
+    }
+}
@@ -3,6 +3,8 @@ package com.wangindustries.badmintondbBackend.models;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;
 
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.UUID;
 
 @DynamoDbBean
@@ -13,11 +15,17 @@ public class Stringing {
     public static final String NAME_GSI = "name-index";
     public static final String GSI_STRINGER_PK_SYNTAX = "STRINGER#%s";
     public static final String GSI_OWNER_PK_SYNTAX = "OWNER#%s";
+    /** Sparse: only DETAILS items of non-final stringings with a stringer have an activeGsiPk */
+    public static final String ACTIVE_GSI = "active-index";
+    public static final String LEGACY_GSI_SK_PREFIX = "STRINGING#";
+    public static final DateTimeFormatter GSI_SK_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSS'Z'").withZone(ZoneOffset.UTC);
 
     private String PK;
     private String SK;
     private String gsiPk;
     private String gsiSk;
+    private String activeGsiPk;
 
     private UUID stringingId;
     private UUID stringerUserId;
@@ -40,6 +48,12 @@ public class Stringing {
     private Instant failedCompletedAt;
     private Instant declinedAt;
     private Instant canceledAt;
+    /**
+     * Only on DETAILS items: incremented by every update, which is conditional on the version the caller read.
+     * Managed by StringingRepository rather than VersionedRecordExtension, which would also version the owner
+     * index items and the backfill jobs' single-attribute updates.
+     */
+    private Long version;
 
     @DynamoDbPartitionKey
     public String getPK() {
@@ -68,7 +82,7 @@ public class Stringing {
         this.gsiPk = gsiPk;
     }
 
-    @DynamoDbSecondarySortKey(indexNames = {NAME_GSI})
+    @DynamoDbSecondarySortKey(indexNames = {NAME_GSI, ACTIVE_GSI})
     public String getGsiSk() {
         return this.gsiSk;
     }
@@ -77,6 +91,15 @@ public class Stringing {
         this.gsiSk = gsiSk;
     }
 
+    @DynamoDbSecondaryPartitionKey(indexNames = {ACTIVE_GSI})
+    public String getActiveGsiPk() {
+        return this.activeGsiPk;
+    }
+
+    public void setActiveGsiPk(String activeGsiPk) {
+        this.activeGsiPk = activeGsiPk;
+    }
+
     public UUID getStringingId() {
         return stringingId;
     }
@@ -245,6 +268,14 @@ public class Stringing {
         this.canceledAt = canceledAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public static String createPk(final UUID stringingId) {
         return PK_SYNTAX.formatted(stringingId.toString());
     }
@@ -265,8 +296,104 @@ public class Stringing {
         return GSI_OWNER_PK_SYNTAX.formatted(ownerUserId.toString());
     }
 
-    public static String createGsiSk(final UUID stringingId) {
-        return PK_SYNTAX.formatted(stringingId.toString());
+    /**
+     * The active-index partition key: the stringer's queue while the stringing is not in a final state,
+     * null (so the item drops out of the index) once it is.
+     */
+    public static String createActiveGsiPk(final UUID stringerUserId, final StringingState state) {
+        if (stringerUserId == null || state == null || state.isFinalState()) {
+            return null;
+        }
+        return GSI_STRINGER_PK_SYNTAX.formatted(stringerUserId.toString());
+    }
+
+    /**
+     * The name-index sort key: the creation time, fixed width in UTC so it sorts chronologically as a string,
+     * followed by the id to keep it unique. Items written before this format have {@code STRINGING#{id}}
+     * (see {@link #LEGACY_GSI_SK_PREFIX}) until the gsiSk backfill job rewrites them.
+     */
+    public static String createGsiSk(final Instant createdAt, final UUID stringingId) {
+        return GSI_SK_TIME_FORMATTER.format(createdAt) + "#" + stringingId;
+    }
+
+    /**
+     * @return the name-index sort key prefix of everything created at {@code time}: it sorts after every item
+     * created earlier and before every item created at or after it, so it bounds created-at range queries
+     */
+    public static String createGsiSkTimeBound(final Instant time) {
+        return GSI_SK_TIME_FORMATTER.format(time);
+    }
+
+    /**
+     * Builds the OWNER#{ownerUserId} index item for a DETAILS item. A projected index item also carries the
+     * list-view fields so owner listings can be served straight from the GSI; a sparse one only points back
+     * at the stringingId.
+     */
+    public static Stringing createOwnerIndexItem(final Stringing details, final boolean projected) {
+        Stringing ownerIndexItem = new Stringing();
+        if (projected) {
+            copyAttributes(details, ownerIndexItem);
+        }
+        ownerIndexItem.setPK(createPk(details.getStringingId()));
+        ownerIndexItem.setSK(createSkOwner(details.getOwnerUserId()));
+        ownerIndexItem.setStringingId(details.getStringingId());
+        ownerIndexItem.setGsiPk(createGsiOwnerPk(details.getOwnerUserId()));
+        ownerIndexItem.setGsiSk(createGsiSk(details.getCreatedAt(), details.getStringingId()));
+        return ownerIndexItem;
+    }
+
+    /**
+     * Rebuilds the DETAILS view of a projected owner index item, so it is returned with the same keys as
+     * the item read from the main table.
+     */
+    public static Stringing createDetailsView(final Stringing projectedOwnerIndexItem) {
+        Stringing details = new Stringing();
+        copyAttributes(projectedOwnerIndexItem, details);
+        details.setPK(createPk(projectedOwnerIndexItem.getStringingId()));
+        details.setSK(createSkDetails());
+        details.setStringingId(projectedOwnerIndexItem.getStringingId());
+        if (projectedOwnerIndexItem.getStringerUserId() != null) {
+            details.setGsiPk(createGsiStringerPk(projectedOwnerIndexItem.getStringerUserId()));
+            details.setGsiSk(createGsiSk(projectedOwnerIndexItem.getCreatedAt(), projectedOwnerIndexItem.getStringingId()));
+            details.setActiveGsiPk(createActiveGsiPk(projectedOwnerIndexItem.getStringerUserId(), projectedOwnerIndexItem.getState()));
+        }
+        return details;
+    }
+
+    public static Stringing copyOf(final Stringing stringing) {
+        Stringing copy = new Stringing();
+        copyAttributes(stringing, copy);
+        copy.setPK(stringing.getPK());
+        copy.setSK(stringing.getSK());
+        copy.setGsiPk(stringing.getGsiPk());
+        copy.setGsiSk(stringing.getGsiSk());
+        copy.setActiveGsiPk(stringing.getActiveGsiPk());
+        copy.setStringingId(stringing.getStringingId());
+        copy.setVersion(stringing.getVersion());
+        return copy;
+    }
+
+    private static void copyAttributes(final Stringing from, final Stringing to) {
+        to.setStringerUserId(from.getStringerUserId());
+        to.setOwnerUserId(from.getOwnerUserId());
+        to.setOwnerName(from.getOwnerName());
+        to.setRacketMake(from.getRacketMake());
+        to.setRacketModel(from.getRacketModel());
+        to.setStringType(from.getStringType());
+        to.setStringColor(from.getStringColor());
+        to.setMainsTensionLbs(from.getMainsTensionLbs());
+        to.setCrossesTensionLbs(from.getCrossesTensionLbs());
+        to.setState(from.getState());
+        to.setCreatedAt(from.getCreatedAt());
+        to.setRequestedAt(from.getRequestedAt());
+        to.setReceivedAt(from.getReceivedAt());
+        to.setInProgressAt(from.getInProgressAt());
+        to.setFinishedAt(from.getFinishedAt());
+        to.setCompletedAt(from.getCompletedAt());
+        to.setFailedAt(from.getFailedAt());
+        to.setFailedCompletedAt(from.getFailedCompletedAt());
+        to.setDeclinedAt(from.getDeclinedAt());
+        to.setCanceledAt(from.getCanceledAt());
     }
 
     @Override
@@ -285,6 +412,7 @@ public class Stringing {
                 ", crossesTensionLbs=" + crossesTensionLbs +
                 ", state=" + state +
                 ", createdAt=" + createdAt +
+                ", version=" + version +
                 '}';
     }
 }
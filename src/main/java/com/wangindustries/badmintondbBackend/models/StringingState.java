@@ -1,5 +1,6 @@
 package com.wangindustries.badmintondbBackend.models;
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -56,6 +57,24 @@ public enum StringingState {
         return validNextStates != null && validNextStates.contains(newState);
     }
 
+    /**
+     * @return the states that can transition to {@code newState}, for conditions that check the transition
+     * in DynamoDB instead of after a read
+     */
+    public static Set<StringingState> statesTransitioningTo(StringingState newState) {
+        Set<StringingState> sources = EnumSet.noneOf(StringingState.class);
+        VALID_TRANSITIONS.forEach((source, targets) -> {
+            if (targets.contains(newState)) {
+                sources.add(source);
+            }
+        });
+        return sources;
+    }
+
+    public static Set<StringingState> finalStates() {
+        return FINAL_STATES;
+    }
+
     public boolean isFinalState() {
         return FINAL_STATES.contains(this);
     }
@@ -0,0 +1,147 @@
+package com.wangindustries.badmintondbBackend.models;
+
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primarySortKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondarySortKey;
+
+/**
+ * Hand-written table schemas of the stored models, used instead of {@code TableSchema.fromClass}.
+ *
+ * <p>{@code fromClass} introspects the bean and generates accessors with LambdaMetafactory when a table is
+ * created, and maps every item through those generated accessors. These schemas are plain method references,
+ * so neither startup nor per-item mapping involves reflection. They produce exactly the attribute names,
+ * types and index keys of the bean schemas (the {@code @DynamoDbBean} annotations stay on the models as the
+ * reference; {@code TableSchemasTest} fails if the two drift apart). Add new model properties here too.</p>
+ */
+public final class TableSchemas {
+
+    private static final EnhancedType<Map<String, Integer>> COUNTS = EnhancedType.mapOf(String.class, Integer.class);
+
+    public static final StaticTableSchema<MonthlyCount> MONTHLY_COUNT = monthlyCountSchema();
+    public static final StaticTableSchema<Stringing> STRINGING = stringingSchema();
+    public static final StaticTableSchema<User> USER = userSchema();
+    public static final StaticTableSchema<UserAnalytics> USER_ANALYTICS = userAnalyticsSchema();
+
+    private TableSchemas() {
+    }
+
+    // package-private for TableSchemaBenchmark
+    static StaticTableSchema<MonthlyCount> monthlyCountSchema() {
+        return StaticTableSchema.builder(MonthlyCount.class)
+                .newItemSupplier(MonthlyCount::new)
+                .addAttribute(String.class, a -> a.name("month").getter(MonthlyCount::getMonth).setter(MonthlyCount::setMonth))
+                .addAttribute(Integer.class, a -> a.name("count").getter(MonthlyCount::getCount).setter(MonthlyCount::setCount))
+                .build();
+    }
+
+    // package-private for TableSchemaBenchmark
+    static StaticTableSchema<Stringing> stringingSchema() {
+        return StaticTableSchema.builder(Stringing.class)
+                .newItemSupplier(Stringing::new)
+                .addAttribute(String.class, a -> a.name("PK").getter(Stringing::getPK).setter(Stringing::setPK)
+                        .tags(primaryPartitionKey()))
+                .addAttribute(String.class, a -> a.name("SK").getter(Stringing::getSK).setter(Stringing::setSK)
+                        .tags(primarySortKey()))
+                .addAttribute(String.class, a -> a.name("gsiPk").getter(Stringing::getGsiPk).setter(Stringing::setGsiPk)
+                        .tags(secondaryPartitionKey(Stringing.NAME_GSI)))
+                .addAttribute(String.class, a -> a.name("gsiSk").getter(Stringing::getGsiSk).setter(Stringing::setGsiSk)
+                        .tags(secondarySortKey(List.of(Stringing.NAME_GSI, Stringing.ACTIVE_GSI))))
+                .addAttribute(String.class, a -> a.name("activeGsiPk").getter(Stringing::getActiveGsiPk).setter(Stringing::setActiveGsiPk)
+                        .tags(secondaryPartitionKey(Stringing.ACTIVE_GSI)))
+                .addAttribute(UUID.class, a -> a.name("stringingId").getter(Stringing::getStringingId).setter(Stringing::setStringingId))
+                .addAttribute(UUID.class, a -> a.name("stringerUserId").getter(Stringing::getStringerUserId).setter(Stringing::setStringerUserId))
+                .addAttribute(UUID.class, a -> a.name("ownerUserId").getter(Stringing::getOwnerUserId).setter(Stringing::setOwnerUserId))
+                .addAttribute(String.class, a -> a.name("ownerName").getter(Stringing::getOwnerName).setter(Stringing::setOwnerName))
+                .addAttribute(String.class, a -> a.name("racketMake").getter(Stringing::getRacketMake).setter(Stringing::setRacketMake))
+                .addAttribute(String.class, a -> a.name("racketModel").getter(Stringing::getRacketModel).setter(Stringing::setRacketModel))
+                .addAttribute(String.class, a -> a.name("stringType").getter(Stringing::getStringType).setter(Stringing::setStringType))
+                .addAttribute(String.class, a -> a.name("stringColor").getter(Stringing::getStringColor).setter(Stringing::setStringColor))
+                .addAttribute(Double.class, a -> a.name("mainsTensionLbs").getter(Stringing::getMainsTensionLbs).setter(Stringing::setMainsTensionLbs))
+                .addAttribute(Double.class, a -> a.name("crossesTensionLbs").getter(Stringing::getCrossesTensionLbs).setter(Stringing::setCrossesTensionLbs))
+                .addAttribute(StringingState.class, a -> a.name("state").getter(Stringing::getState).setter(Stringing::setState))
+                .addAttribute(Instant.class, a -> a.name("createdAt").getter(Stringing::getCreatedAt).setter(Stringing::setCreatedAt))
+                .addAttribute(Instant.class, a -> a.name("requestedAt").getter(Stringing::getRequestedAt).setter(Stringing::setRequestedAt))
+                .addAttribute(Instant.class, a -> a.name("receivedAt").getter(Stringing::getReceivedAt).setter(Stringing::setReceivedAt))
+                .addAttribute(Instant.class, a -> a.name("inProgressAt").getter(Stringing::getInProgressAt).setter(Stringing::setInProgressAt))
+                .addAttribute(Instant.class, a -> a.name("finishedAt").getter(Stringing::getFinishedAt).setter(Stringing::setFinishedAt))
+                .addAttribute(Instant.class, a -> a.name("completedAt").getter(Stringing::getCompletedAt).setter(Stringing::setCompletedAt))
+                .addAttribute(Instant.class, a -> a.name("failedAt").getter(Stringing::getFailedAt).setter(Stringing::setFailedAt))
+                .addAttribute(Instant.class, a -> a.name("failedCompletedAt").getter(Stringing::getFailedCompletedAt).setter(Stringing::setFailedCompletedAt))
+                .addAttribute(Instant.class, a -> a.name("declinedAt").getter(Stringing::getDeclinedAt).setter(Stringing::setDeclinedAt))
+                .addAttribute(Instant.class, a -> a.name("canceledAt").getter(Stringing::getCanceledAt).setter(Stringing::setCanceledAt))
+                .addAttribute(Long.class, a -> a.name("version").getter(Stringing::getVersion).setter(Stringing::setVersion))
+                .build();
+    }
+
+    // package-private for TableSchemaBenchmark
+    static StaticTableSchema<User> userSchema() {
+        return StaticTableSchema.builder(User.class)
+                .newItemSupplier(User::new)
+                .addAttribute(String.class, a -> a.name("PK").getter(User::getPK).setter(User::setPK)
+                        .tags(primaryPartitionKey()))
+                .addAttribute(String.class, a -> a.name("SK").getter(User::getSK).setter(User::setSK)
+                        .tags(primarySortKey()))
+                .addAttribute(String.class, a -> a.name("gsiPk").getter(User::getGsiPk).setter(User::setGsiPk)
+                        .tags(secondaryPartitionKey(User.NAME_GSI)))
+                .addAttribute(String.class, a -> a.name("gsiSk").getter(User::getGsiSk).setter(User::setGsiSk)
+                        .tags(secondarySortKey(User.NAME_GSI)))
+                .addAttribute(String.class, a -> a.name("usernameGsiPk").getter(User::getUsernameGsiPk).setter(User::setUsernameGsiPk)
+                        .tags(secondaryPartitionKey(User.USERNAME_GSI)))
+                .addAttribute(String.class, a -> a.name("userGsiPk").getter(User::getUserGsiPk).setter(User::setUserGsiPk)
+                        .tags(secondaryPartitionKey(User.USER_GSI)))
+                .addAttribute(String.class, a -> a.name("stringerGsiPk").getter(User::getStringerGsiPk).setter(User::setStringerGsiPk)
+                        .tags(secondaryPartitionKey(User.STRINGER_GSI)))
+                .addAttribute(String.class, a -> a.name("userGsiSk").getter(User::getUserGsiSk).setter(User::setUserGsiSk)
+                        .tags(secondarySortKey(List.of(User.USER_GSI, User.STRINGER_GSI))))
+                .addAttribute(UUID.class, a -> a.name("userId").getter(User::getUserId).setter(User::setUserId))
+                .addAttribute(String.class, a -> a.name("givenName").getter(User::getGivenName).setter(User::setGivenName))
+                .addAttribute(String.class, a -> a.name("familyName").getter(User::getFamilyName).setter(User::setFamilyName))
+                .addAttribute(String.class, a -> a.name("email").getter(User::getEmail).setter(User::setEmail))
+                .addAttribute(String.class, a -> a.name("username").getter(User::getUsername).setter(User::setUsername))
+                .addAttribute(LocalDate.class, a -> a.name("birthday").getter(User::getBirthday).setter(User::setBirthday))
+                .addAttribute(String.class, a -> a.name("encryptedPassword").getter(User::getEncryptedPassword).setter(User::setEncryptedPassword))
+                .addAttribute(Instant.class, a -> a.name("createdAt").getter(User::getCreatedAt).setter(User::setCreatedAt))
+                .addAttribute(Boolean.class, a -> a.name("isStringer").getter(User::getIsStringer).setter(User::setIsStringer))
+                .build();
+    }
+
+    // package-private for TableSchemaBenchmark
+    static StaticTableSchema<UserAnalytics> userAnalyticsSchema() {
+        EnhancedType<List<MonthlyCount>> trend = EnhancedType.listOf(EnhancedType.documentOf(MonthlyCount.class, MONTHLY_COUNT));
+        return StaticTableSchema.builder(UserAnalytics.class)
+                .newItemSupplier(UserAnalytics::new)
+                .addAttribute(String.class, a -> a.name("PK").getter(UserAnalytics::getPK).setter(UserAnalytics::setPK)
+                        .tags(primaryPartitionKey()))
+                .addAttribute(String.class, a -> a.name("SK").getter(UserAnalytics::getSK).setter(UserAnalytics::setSK)
+                        .tags(primarySortKey()))
+                .addAttribute(UUID.class, a -> a.name("userId").getter(UserAnalytics::getUserId).setter(UserAnalytics::setUserId))
+                .addAttribute(Instant.class, a -> a.name("computedAt").getter(UserAnalytics::getComputedAt).setter(UserAnalytics::setComputedAt))
+                .addAttribute(Integer.class, a -> a.name("totalStringingsAsOwner").getter(UserAnalytics::getTotalStringingsAsOwner).setter(UserAnalytics::setTotalStringingsAsOwner))
+                .addAttribute(COUNTS, a -> a.name("stringingsByState").getter(UserAnalytics::getStringingsByState).setter(UserAnalytics::setStringingsByState))
+                .addAttribute(COUNTS, a -> a.name("stringTypeUsage").getter(UserAnalytics::getStringTypeUsage).setter(UserAnalytics::setStringTypeUsage))
+                .addAttribute(COUNTS, a -> a.name("racketUsage").getter(UserAnalytics::getRacketUsage).setter(UserAnalytics::setRacketUsage))
+                .addAttribute(String.class, a -> a.name("mostUsedTensionCombination").getter(UserAnalytics::getMostUsedTensionCombination).setter(UserAnalytics::setMostUsedTensionCombination))
+                .addAttribute(Integer.class, a -> a.name("mostUsedTensionCount").getter(UserAnalytics::getMostUsedTensionCount).setter(UserAnalytics::setMostUsedTensionCount))
+                .addAttribute(trend, a -> a.name("monthlyTrend").getter(UserAnalytics::getMonthlyTrend).setter(UserAnalytics::setMonthlyTrend))
+                .addAttribute(COUNTS, a -> a.name("topStringers").getter(UserAnalytics::getTopStringers).setter(UserAnalytics::setTopStringers))
+                .addAttribute(Integer.class, a -> a.name("totalStringingsAsStringer").getter(UserAnalytics::getTotalStringingsAsStringer).setter(UserAnalytics::setTotalStringingsAsStringer))
+                .addAttribute(COUNTS, a -> a.name("topCustomers").getter(UserAnalytics::getTopCustomers).setter(UserAnalytics::setTopCustomers))
+                .addAttribute(Double.class, a -> a.name("averageCompletionTimeHours").getter(UserAnalytics::getAverageCompletionTimeHours).setter(UserAnalytics::setAverageCompletionTimeHours))
+                .addAttribute(Double.class, a -> a.name("successRate").getter(UserAnalytics::getSuccessRate).setter(UserAnalytics::setSuccessRate))
+                .addAttribute(String.class, a -> a.name("busiestMonth").getter(UserAnalytics::getBusiestMonth).setter(UserAnalytics::setBusiestMonth))
+                .addAttribute(COUNTS, a -> a.name("stringerStringTypeUsage").getter(UserAnalytics::getStringerStringTypeUsage).setter(UserAnalytics::setStringerStringTypeUsage))
+                .addAttribute(COUNTS, a -> a.name("stringerRacketUsage").getter(UserAnalytics::getStringerRacketUsage).setter(UserAnalytics::setStringerRacketUsage))
+                .addAttribute(trend, a -> a.name("stringerMonthlyTrend").getter(UserAnalytics::getStringerMonthlyTrend).setter(UserAnalytics::setStringerMonthlyTrend))
+                .build();
+    }
+}
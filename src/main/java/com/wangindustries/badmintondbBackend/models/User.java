@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Objects;
 
 import java.util.UUID;
 
@@ -14,11 +15,20 @@ public class User {
     public static final String NAME_GSI = "name-index";
     public static final String USERNAME_GSI = "username-index";
     public static final String GSI_PK_SYNTAX = "NAME#%s";
+    /** Every user profile, in one partition, sorted by name */
+    public static final String USER_GSI = "user-index";
+    /** Sparse: only profiles with isStringer=true have a stringerGsiPk */
+    public static final String STRINGER_GSI = "stringer-index";
+    public static final String USER_GSI_PK = "USER";
+    public static final String STRINGER_GSI_PK = "STRINGER";
     private String PK;
     private String SK;
     private String gsiPk;
     private String gsiSk;
     private String usernameGsiPk;
+    private String userGsiPk;
+    private String stringerGsiPk;
+    private String userGsiSk;
 
     @DynamoDbPartitionKey
     public String getPK() {
@@ -112,6 +122,33 @@ public class User {
         this.usernameGsiPk = usernameGsiPk;
     }
 
+    @DynamoDbSecondaryPartitionKey(indexNames = {USER_GSI})
+    public String getUserGsiPk() {
+        return userGsiPk;
+    }
+
+    public void setUserGsiPk(String userGsiPk) {
+        this.userGsiPk = userGsiPk;
+    }
+
+    @DynamoDbSecondaryPartitionKey(indexNames = {STRINGER_GSI})
+    public String getStringerGsiPk() {
+        return stringerGsiPk;
+    }
+
+    public void setStringerGsiPk(String stringerGsiPk) {
+        this.stringerGsiPk = stringerGsiPk;
+    }
+
+    @DynamoDbSecondarySortKey(indexNames = {USER_GSI, STRINGER_GSI})
+    public String getUserGsiSk() {
+        return userGsiSk;
+    }
+
+    public void setUserGsiSk(String userGsiSk) {
+        this.userGsiSk = userGsiSk;
+    }
+
     public String getUsername() {
         return username;
     }
@@ -158,17 +195,36 @@ public class User {
     }
 
     public static String createGsiPk(final String givenName) {
-        return GSI_PK_SYNTAX.formatted(givenName.toUpperCase());
+        return GSI_PK_SYNTAX.formatted(normalizeName(givenName));
     }
 
     public static String createGsiSk(final String familyName) {
-        return familyName.toUpperCase();
+        return normalizeName(familyName);
     }
 
     public static String createUsernameGsiPk(final String username) {
         return "USERNAME#" + username.toLowerCase();
     }
 
+    public static String createUserGsiSk(final String givenName, final String familyName, final UUID userId) {
+        return "%s#%s#%s".formatted(normalizeName(givenName), normalizeName(familyName), userId);
+    }
+
+    //Profiles written before names were required can have null names; they sort as empty names
+    private static String normalizeName(final String name) {
+        return Objects.toString(name, "").toUpperCase();
+    }
+
+    /**
+     * Sets the user-index and stringer-index keys from the user's current name and isStringer flag.
+     * Call again whenever either changes; stringerGsiPk is cleared for non-stringers to keep the index sparse.
+     */
+    public static void setListIndexKeys(final User user) {
+        user.setUserGsiPk(USER_GSI_PK);
+        user.setUserGsiSk(createUserGsiSk(user.getGivenName(), user.getFamilyName(), user.getUserId()));
+        user.setStringerGsiPk(Boolean.TRUE.equals(user.getIsStringer()) ? STRINGER_GSI_PK : null);
+    }
+
     @Override
     public String toString() {
         return "User{" +
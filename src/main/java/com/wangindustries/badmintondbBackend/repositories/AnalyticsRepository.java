@@ -1,20 +1,49 @@
 package com.wangindustries.badmintondbBackend.repositories;
 
+import com.wangindustries.badmintondbBackend.models.AnalyticsCounters;
+import com.wangindustries.badmintondbBackend.models.TableSchemas;
 import com.wangindustries.badmintondbBackend.models.UserAnalytics;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionCheck;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Repository
 public class AnalyticsRepository {
+    private static final String TABLE_NAME = "badmintonDb";
+    public static final String STREAM_MARKER_PK_SYNTAX = "STREAMRECORD#%s";
+    public static final String STREAM_MARKER_SK = "APPLIED";
+    public static final String EXPIRES_AT_ATTRIBUTE = "expiresAt";
+    /** Longer than the 24h a stream record can be redelivered for */
+    private static final Duration STREAM_MARKER_TTL = Duration.ofDays(2);
+
     private final DynamoDbTable<UserAnalytics> analyticsTable;
+    private final DynamoDbClient dynamoDbClient;
 
-    public AnalyticsRepository(DynamoDbEnhancedClient enhancedClient) {
-        analyticsTable = enhancedClient.table("badmintonDb", TableSchema.fromClass(UserAnalytics.class));
+    public AnalyticsRepository(DynamoDbEnhancedClient enhancedClient, DynamoDbClient dynamoDbClient) {
+        analyticsTable = enhancedClient.table(TABLE_NAME, TableSchemas.USER_ANALYTICS);
+        this.dynamoDbClient = dynamoDbClient;
     }
 
     public UserAnalytics getAnalytics(UUID userId) {
@@ -27,4 +56,245 @@ public class AnalyticsRepository {
     public void saveAnalytics(UserAnalytics analytics) {
         analyticsTable.putItem(analytics);
     }
+
+    /**
+     * Reads the main counters item and the dimension items with one query.
+     * @return the user's counters, or null if no change has been recorded for the user yet
+     */
+    public AnalyticsCounters getCounters(UUID userId) {
+        Map<String, Map<String, AttributeValue>> items = new HashMap<>();
+        for (QueryResponse page : dynamoDbClient.queryPaginator(countersQueryRequest(userId))) {
+            page.items().forEach(item -> items.put(item.get("SK").s(), item));
+        }
+        return items.isEmpty() ? null : toCounters(items);
+    }
+
+    /**
+     * Applies the deltas with one atomic {@code ADD} update per item they touch, creating the items and any
+     * missing counter. The items are updated one after the other, so a failure can leave the earlier ones applied.
+     */
+    public void addCounters(UUID userId, Map<String, Long> deltas) {
+        groupByItem(deltas).forEach((sk, itemDeltas) ->
+                dynamoDbClient.updateItem(counterUpdateRequest(userId, sk, itemDeltas)));
+    }
+
+    /**
+     * Applies the deltas of a group of stream records in one transaction, together with a TTL'd marker item per
+     * stream sequence number, so a redelivered record can never be counted twice.
+     * At most 100 markers plus counter items (see {@link AnalyticsCounters#createSk(String)}) fit in one transaction.
+     * @return false (and nothing applied) if any of the sequence numbers had already been applied
+     */
+    public boolean addCountersOnce(Collection<String> streamSequenceNumbers, Map<UUID, Map<String, Long>> deltasByUser) {
+        String expiresAt = Long.toString(Instant.now().plus(STREAM_MARKER_TTL).getEpochSecond());
+        List<TransactWriteItem> transactItems = new ArrayList<>();
+        for (String sequenceNumber : streamSequenceNumbers) {
+            transactItems.add(TransactWriteItem.builder()
+                    .put(Put.builder()
+                            .tableName(TABLE_NAME)
+                            .item(Map.of(
+                                    "PK", AttributeValue.builder().s(STREAM_MARKER_PK_SYNTAX.formatted(sequenceNumber)).build(),
+                                    "SK", AttributeValue.builder().s(STREAM_MARKER_SK).build(),
+                                    EXPIRES_AT_ATTRIBUTE, AttributeValue.builder().n(expiresAt).build()))
+                            .conditionExpression("attribute_not_exists(PK)")
+                            .build())
+                    .build());
+        }
+        deltasByUser.forEach((userId, deltas) -> groupByItem(deltas).forEach((sk, itemDeltas) ->
+                transactItems.add(TransactWriteItem.builder().update(counterUpdate(userId, sk, itemDeltas)).build())));
+
+        try {
+            dynamoDbClient.transactWriteItems(TransactWriteItemsRequest.builder()
+                    .transactItems(transactItems)
+                    .build());
+            return true;
+        } catch (TransactionCanceledException e) {
+            // Cancellation reasons are in transactItems order, so the first entries belong to the markers
+            boolean alreadyApplied = e.hasCancellationReasons() && e.cancellationReasons().stream()
+                    .limit(streamSequenceNumbers.size())
+                    .anyMatch(reason -> "ConditionalCheckFailed".equals(reason.code()));
+            if (alreadyApplied) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces the user's counters with a full recompute and marks them as seeded, unless a change was applied
+     * to any of their items since they were read: a concurrent {@code ADD} is never overwritten.
+     * All items are replaced in one transaction.
+     * @param stored the counters read before the recompute, null if there were none
+     * @return false (and nothing written) if any stored item is no longer at the version it was read at
+     */
+    public boolean saveCounters(UUID userId, Map<String, Long> counters, Instant seededAt, AnalyticsCounters stored) {
+        try {
+            dynamoDbClient.transactWriteItems(TransactWriteItemsRequest.builder()
+                    .transactItems(seededCountersWrites(userId, counters, seededAt, stored))
+                    .build());
+            return true;
+        } catch (TransactionCanceledException e) {
+            boolean changed = e.hasCancellationReasons() && e.cancellationReasons().stream()
+                    .anyMatch(reason -> "ConditionalCheckFailed".equals(reason.code()));
+            if (changed) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private static QueryRequest countersQueryRequest(UUID userId) {
+        return QueryRequest.builder()
+                .tableName(TABLE_NAME)
+                .keyConditionExpression("PK = :pk AND begins_with(SK, :sk)")
+                .expressionAttributeValues(Map.of(
+                        ":pk", AttributeValue.builder().s(AnalyticsCounters.createPk(userId)).build(),
+                        ":sk", AttributeValue.builder().s(AnalyticsCounters.createSk()).build()))
+                .consistentRead(true)
+                .build();
+    }
+
+    static AnalyticsCounters toCounters(Map<String, Map<String, AttributeValue>> itemsBySk) {
+        Map<String, Long> counters = new HashMap<>();
+        Map<String, Long> versions = new HashMap<>();
+        Instant seededAt = null;
+        Map<String, AttributeValue> main = itemsBySk.get(AnalyticsCounters.createSk());
+        // Items seeded before the dimensions were split out still hold them in the main item: recompute those once
+        if (main != null && main.containsKey(AnalyticsCounters.SEEDED_AT_ATTRIBUTE) && main.containsKey(AnalyticsCounters.LAYOUT_ATTRIBUTE)
+                && Integer.parseInt(main.get(AnalyticsCounters.LAYOUT_ATTRIBUTE).n()) == AnalyticsCounters.CURRENT_LAYOUT) {
+            seededAt = Instant.parse(main.get(AnalyticsCounters.SEEDED_AT_ATTRIBUTE).s());
+        }
+        itemsBySk.forEach((sk, item) -> {
+            for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+                if (AnalyticsCounters.VERSION_ATTRIBUTE.equals(attribute.getKey())) {
+                    versions.put(sk, Long.parseLong(attribute.getValue().n()));
+                } else if (!AnalyticsCounters.LAYOUT_ATTRIBUTE.equals(attribute.getKey()) && attribute.getValue().n() != null) {
+                    counters.merge(attribute.getKey(), Long.parseLong(attribute.getValue().n()), Long::sum);
+                }
+            }
+        });
+        return new AnalyticsCounters(counters, seededAt, versions);
+    }
+
+    /**
+     * @return the deltas per sort key of the item that holds them, without zero deltas
+     */
+    static Map<String, Map<String, Long>> groupByItem(Map<String, Long> counters) {
+        Map<String, Map<String, Long>> byItem = new HashMap<>();
+        counters.forEach((name, value) -> {
+            if (value != 0) {
+                byItem.computeIfAbsent(AnalyticsCounters.createSk(name), sk -> new HashMap<>()).put(name, value);
+            }
+        });
+        return byItem;
+    }
+
+    private static UpdateItemRequest counterUpdateRequest(UUID userId, String sk, Map<String, Long> deltas) {
+        Update update = counterUpdate(userId, sk, deltas);
+        return UpdateItemRequest.builder()
+                .tableName(update.tableName())
+                .key(update.key())
+                .updateExpression(update.updateExpression())
+                .expressionAttributeNames(update.expressionAttributeNames())
+                .expressionAttributeValues(update.expressionAttributeValues())
+                .build();
+    }
+
+    /**
+     * Puts the main item and every dimension item that has counters, and deletes the dimension items that no
+     * longer have any. Each write is conditional on the item's version as read, and so is a check that the
+     * dimension items that did not exist still do not.
+     */
+    static List<TransactWriteItem> seededCountersWrites(UUID userId, Map<String, Long> counters, Instant seededAt,
+                                                        AnalyticsCounters stored) {
+        Map<String, Map<String, Long>> byItem = groupByItem(counters);
+        List<String> sks = new ArrayList<>();
+        sks.add(AnalyticsCounters.createSk());
+        AnalyticsCounters.SEPARATE_DIMENSIONS.forEach(dimension -> sks.add(AnalyticsCounters.createDimensionSk(dimension)));
+
+        List<TransactWriteItem> writes = new ArrayList<>();
+        for (String sk : sks) {
+            Long expectedVersion = stored != null ? stored.getVersion(sk) : null;
+            Map<String, Long> itemCounters = byItem.getOrDefault(sk, Map.of());
+            Map<String, AttributeValue> key = countersKey(userId, sk);
+            Map<String, AttributeValue> versionValues = expectedVersion != null
+                    ? Map.of(":v", AttributeValue.builder().n(Long.toString(expectedVersion)).build())
+                    : null;
+
+            if (sk.equals(AnalyticsCounters.createSk()) || !itemCounters.isEmpty()) {
+                Map<String, AttributeValue> item = new HashMap<>(key);
+                item.put(AnalyticsCounters.VERSION_ATTRIBUTE, AttributeValue.builder()
+                        .n(Long.toString(expectedVersion != null ? expectedVersion + 1 : 1)).build());
+                if (sk.equals(AnalyticsCounters.createSk())) {
+                    item.put(AnalyticsCounters.SEEDED_AT_ATTRIBUTE, AttributeValue.builder().s(seededAt.toString()).build());
+                    item.put(AnalyticsCounters.LAYOUT_ATTRIBUTE, AttributeValue.builder()
+                            .n(Integer.toString(AnalyticsCounters.CURRENT_LAYOUT)).build());
+                }
+                itemCounters.forEach((name, value) -> item.put(name, AttributeValue.builder().n(Long.toString(value)).build()));
+                writes.add(TransactWriteItem.builder()
+                        .put(Put.builder()
+                                .tableName(TABLE_NAME)
+                                .item(item)
+                                .conditionExpression(versionCondition(expectedVersion))
+                                .expressionAttributeNames(Map.of("#v", AnalyticsCounters.VERSION_ATTRIBUTE))
+                                .expressionAttributeValues(versionValues)
+                                .build())
+                        .build());
+            } else if (expectedVersion != null) {
+                writes.add(TransactWriteItem.builder()
+                        .delete(Delete.builder()
+                                .tableName(TABLE_NAME)
+                                .key(key)
+                                .conditionExpression(versionCondition(expectedVersion))
+                                .expressionAttributeNames(Map.of("#v", AnalyticsCounters.VERSION_ATTRIBUTE))
+                                .expressionAttributeValues(versionValues)
+                                .build())
+                        .build());
+            } else {
+                writes.add(TransactWriteItem.builder()
+                        .conditionCheck(ConditionCheck.builder()
+                                .tableName(TABLE_NAME)
+                                .key(key)
+                                .conditionExpression(versionCondition(null))
+                                .expressionAttributeNames(Map.of("#v", AnalyticsCounters.VERSION_ATTRIBUTE))
+                                .build())
+                        .build());
+            }
+        }
+        return writes;
+    }
+
+    private static String versionCondition(Long expectedVersion) {
+        // Without a version, this covers both a missing item and one written before versions were kept
+        return expectedVersion != null ? "#v = :v" : "attribute_not_exists(#v)";
+    }
+
+    static Update counterUpdate(UUID userId, String sk, Map<String, Long> deltas) {
+        StringBuilder updateExpression = new StringBuilder("ADD #v :one");
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+        names.put("#v", AnalyticsCounters.VERSION_ATTRIBUTE);
+        values.put(":one", AttributeValue.builder().n("1").build());
+        int i = 0;
+        for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+            updateExpression.append(", #c").append(i).append(" :c").append(i);
+            names.put("#c" + i, delta.getKey());
+            values.put(":c" + i, AttributeValue.builder().n(Long.toString(delta.getValue())).build());
+            i++;
+        }
+
+        return Update.builder()
+                .tableName(TABLE_NAME)
+                .key(countersKey(userId, sk))
+                .updateExpression(updateExpression.toString())
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .build();
+    }
+
+    private static Map<String, AttributeValue> countersKey(UUID userId, String sk) {
+        return Map.of(
+                "PK", AttributeValue.builder().s(AnalyticsCounters.createPk(userId)).build(),
+                "SK", AttributeValue.builder().s(sk).build()
+        );
+    }
 }
@@ -0,0 +1,149 @@
+package com.wangindustries.badmintondbBackend.repositories;
+
+import lombok.extern.slf4j.Slf4j;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPage;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads items by primary key with BatchGetItem instead of one GetItem per key.
+ *
+ * <p>Keys are split into chunks of {@link #MAX_KEYS_PER_BATCH} (the DynamoDB limit per request) and the
+ * chunks are fetched concurrently on the supplied executor. Keys DynamoDB reports as unprocessed
+ * (throttling or the 16MB response cap) are retried with exponential backoff and full jitter.</p>
+ */
+@Slf4j
+class DynamoDbBatchLoader {
+    static final int MAX_KEYS_PER_BATCH = 100;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final long BASE_BACKOFF_MILLIS = 25;
+    private static final long MAX_BACKOFF_MILLIS = 1000;
+
+    // Not ThreadLocalRandom: its seeds would be restored identically in every SnapStart clone, making their
+    // retries collide. Reseeded from SecureRandom after each restore.
+    private static volatile Random jitter = new Random(new SecureRandom().nextLong());
+    private static final Resource JITTER_RESEED = new Resource() {
+        @Override
+        public void beforeCheckpoint(Context<? extends Resource> context) {
+        }
+
+        @Override
+        public void afterRestore(Context<? extends Resource> context) {
+            jitter = new Random(new SecureRandom().nextLong());
+        }
+    };
+
+    static {
+        Core.getGlobalContext().register(JITTER_RESEED);
+    }
+
+    private final DynamoDbEnhancedClient enhancedClient;
+    private final Executor executor;
+
+    DynamoDbBatchLoader(DynamoDbEnhancedClient enhancedClient, Executor executor) {
+        this.enhancedClient = enhancedClient;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the items that exist, in the same order as {@code keys}. Missing keys are skipped.
+     */
+    <T> List<T> loadAll(final DynamoDbTable<T> table, final List<Key> keys) {
+        if (keys.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<List<Key>> chunks = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i += MAX_KEYS_PER_BATCH) {
+            chunks.add(keys.subList(i, Math.min(i + MAX_KEYS_PER_BATCH, keys.size())));
+        }
+
+        Map<Key, T> itemsByKey = new LinkedHashMap<>();
+        if (chunks.size() == 1) {
+            loadChunk(table, chunks.get(0)).forEach(item -> itemsByKey.put(table.keyFrom(item), item));
+        } else {
+            List<CompletableFuture<List<T>>> futures = chunks.stream()
+                    .map(chunk -> CompletableFuture.supplyAsync(() -> loadChunk(table, chunk), executor))
+                    .toList();
+            try {
+                for (CompletableFuture<List<T>> future : futures) {
+                    future.join().forEach(item -> itemsByKey.put(table.keyFrom(item), item));
+                }
+            } catch (CompletionException e) {
+                futures.forEach(future -> future.cancel(true));
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        List<T> ordered = new ArrayList<>(itemsByKey.size());
+        for (Key key : keys) {
+            T item = itemsByKey.get(key);
+            if (item != null) {
+                ordered.add(item);
+            }
+        }
+        return ordered;
+    }
+
+    private <T> List<T> loadChunk(final DynamoDbTable<T> table, final List<Key> chunk) {
+        List<T> items = new ArrayList<>(chunk.size());
+        List<Key> pending = chunk;
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            if (attempt > MAX_ATTEMPTS) {
+                throw new IllegalStateException("BatchGetItem left " + pending.size()
+                        + " keys unprocessed after " + MAX_ATTEMPTS + " attempts on " + table.tableName());
+            }
+            if (attempt > 1) {
+                log.debug("Retrying {} unprocessed keys on {} (attempt {})", pending.size(), table.tableName(), attempt);
+                backoff(attempt);
+            }
+
+            ReadBatch.Builder<T> readBatch = ReadBatch.builder(table.tableSchema().itemType().rawClass())
+                    .mappedTableResource(table);
+            pending.forEach(readBatch::addGetItem);
+
+            // Only the first page is consumed: the page iterable would otherwise resubmit unprocessed
+            // keys immediately, without backing off.
+            BatchGetResultPage page = enhancedClient.batchGetItem(BatchGetItemEnhancedRequest.builder()
+                            .readBatches(readBatch.build())
+                            .build())
+                    .iterator()
+                    .next();
+
+            items.addAll(page.resultsForTable(table));
+            pending = page.unprocessedKeysForTable(table);
+        }
+        return items;
+    }
+
+    // package-private for DynamoDbBatchWriter
+    static void backoff(final int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << (attempt - 1));
+        try {
+            Thread.sleep(jitter.nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off batch retries", e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.wangindustries.badmintondbBackend.repositories;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Writes and deletes items with BatchWriteItem instead of one PutItem/DeleteItem per item.
+ *
+ * <p>Items are split into chunks of {@link #MAX_ITEMS_PER_BATCH} (the DynamoDB limit per request) and the chunks
+ * are written concurrently on the supplied executor. Items DynamoDB reports as unprocessed are retried with the
+ * same backoff as {@link DynamoDbBatchLoader}. Batch writes are neither conditional nor atomic, so instead of
+ * throwing, the keys that could not be written are returned for the caller to report or compensate.</p>
+ */
+@Slf4j
+class DynamoDbBatchWriter {
+    static final int MAX_ITEMS_PER_BATCH = 25;
+    private static final int MAX_ATTEMPTS = 8;
+
+    private final DynamoDbEnhancedClient enhancedClient;
+    private final Executor executor;
+
+    DynamoDbBatchWriter(DynamoDbEnhancedClient enhancedClient, Executor executor) {
+        this.enhancedClient = enhancedClient;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the keys of the items that were not written. The keys must be distinct.
+     */
+    <T> Set<Key> putAll(final DynamoDbTable<T> table, final List<T> items) {
+        return writeAll(table, items.stream().map(item -> new Write<>(table.keyFrom(item), item)).toList());
+    }
+
+    /**
+     * @return the keys that were not deleted. The keys must be distinct.
+     */
+    <T> Set<Key> deleteAll(final DynamoDbTable<T> table, final List<Key> keys) {
+        return writeAll(table, keys.stream().map(key -> new Write<T>(key, null)).toList());
+    }
+
+    /** A put of {@code item}, or a delete of {@code key} if item is null */
+    private record Write<T>(Key key, T item) {
+    }
+
+    private <T> Set<Key> writeAll(final DynamoDbTable<T> table, final List<Write<T>> writes) {
+        List<List<Write<T>>> chunks = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i += MAX_ITEMS_PER_BATCH) {
+            chunks.add(writes.subList(i, Math.min(i + MAX_ITEMS_PER_BATCH, writes.size())));
+        }
+
+        Set<Key> failed = new HashSet<>();
+        if (chunks.size() == 1) {
+            failed.addAll(writeChunk(table, chunks.get(0)));
+        } else {
+            List<CompletableFuture<List<Key>>> futures = chunks.stream()
+                    .map(chunk -> CompletableFuture.supplyAsync(() -> writeChunk(table, chunk), executor))
+                    .toList();
+            futures.forEach(future -> failed.addAll(future.join()));
+        }
+        return failed;
+    }
+
+    /**
+     * @return the keys of the chunk that were still unprocessed after the last attempt, or all of them if a
+     * request failed outright
+     */
+    private <T> List<Key> writeChunk(final DynamoDbTable<T> table, final List<Write<T>> chunk) {
+        Class<T> itemClass = table.tableSchema().itemType().rawClass();
+        List<Write<T>> pending = chunk;
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            if (attempt > MAX_ATTEMPTS) {
+                log.warn("BatchWriteItem left {} items unprocessed after {} attempts on {}",
+                        pending.size(), MAX_ATTEMPTS, table.tableName());
+                return pending.stream().map(Write::key).toList();
+            }
+            if (attempt > 1) {
+                log.debug("Retrying {} unprocessed writes on {} (attempt {})", pending.size(), table.tableName(), attempt);
+                DynamoDbBatchLoader.backoff(attempt);
+            }
+
+            WriteBatch.Builder<T> writeBatch = WriteBatch.builder(itemClass).mappedTableResource(table);
+            for (Write<T> write : pending) {
+                if (write.item() != null) {
+                    writeBatch.addPutItem(write.item());
+                } else {
+                    writeBatch.addDeleteItem(write.key());
+                }
+            }
+
+            BatchWriteResult result;
+            try {
+                result = enhancedClient.batchWriteItem(BatchWriteItemEnhancedRequest.builder()
+                        .writeBatches(writeBatch.build())
+                        .build());
+            } catch (RuntimeException e) {
+                log.warn("BatchWriteItem of {} items on {} failed", pending.size(), table.tableName(), e);
+                return pending.stream().map(Write::key).toList();
+            }
+
+            List<Write<T>> unprocessed = new ArrayList<>();
+            result.unprocessedPutItemsForTable(table)
+                    .forEach(item -> unprocessed.add(new Write<>(table.keyFrom(item), item)));
+            result.unprocessedDeleteItemsForTable(table)
+                    .forEach(key -> unprocessed.add(new Write<>(key, null)));
+            pending = unprocessed;
+        }
+        return List.of();
+    }
+}
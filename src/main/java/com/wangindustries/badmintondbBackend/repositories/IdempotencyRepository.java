@@ -0,0 +1,212 @@
+package com.wangindustries.badmintondbBackend.repositories;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Idempotency records in {@code badmintonDb}: {@code PK=IDEMPOTENCY#{id}, SK=RESPONSE}, expired by the table's
+ * {@code expiresAt} TTL. A record is first written as a lock while the request runs and then replaced by the
+ * response the request produced.
+ *
+ * <p>Bodies are stored gzipped. One that still does not fit in an item (see {@link #MAX_STORED_BODY_BYTES}) is
+ * dropped, and the record only remembers that the request completed, so a retry is refused instead of replayed
+ * or run again.</p>
+ */
+@Slf4j
+@Repository
+public class IdempotencyRepository {
+    private static final String TABLE_NAME = "badmintonDb";
+    /** The table's TTL attribute, in epoch seconds */
+    private static final String EXPIRES_AT_ATTRIBUTE = "expiresAt";
+    public static final String PK_SYNTAX = "IDEMPOTENCY#%s";
+    public static final String SK = "RESPONSE";
+    /** Leaves room below the 400 KB item limit for the key and the other attributes */
+    static final int MAX_STORED_BODY_BYTES = 350 * 1024;
+    /** The record is still this caller's lock: same request, same claim, not completed */
+    private static final String LOCK_HELD_CONDITION =
+            "requestHash = :requestHash AND lockToken = :lockToken AND attribute_not_exists(#status)";
+
+    private final DynamoDbClient dynamoDbClient;
+
+    public IdempotencyRepository(DynamoDbClient dynamoDbClient) {
+        this.dynamoDbClient = dynamoDbClient;
+    }
+
+    /**
+     * A stored idempotency record. {@code status} is 0 while the first request with the key is still running.
+     * {@code body} is null while running and for a completed request whose response was not kept.
+     */
+    public record IdempotencyRecord(String requestHash, int status, String contentType, byte[] body) {
+        public boolean inProgress() {
+            return status == 0;
+        }
+
+        public boolean replayable() {
+            return status != 0 && body != null;
+        }
+    }
+
+    /**
+     * Claims the id for a request, unless a record exists that has not expired yet. DynamoDB deletes expired
+     * items only eventually, so the expiry is part of the condition.
+     * @param lockToken identifies this claim; {@link #complete} and {@link #release} only act while it still holds
+     * @return false if another request already claimed (or completed) the id
+     */
+    public boolean tryLock(String id, String requestHash, String lockToken, Instant lockExpiresAt) {
+        Map<String, AttributeValue> item = new HashMap<>(key(id));
+        item.put("requestHash", AttributeValue.builder().s(requestHash).build());
+        item.put("lockToken", AttributeValue.builder().s(lockToken).build());
+        item.put(EXPIRES_AT_ATTRIBUTE, epochSeconds(lockExpiresAt));
+
+        try {
+            dynamoDbClient.putItem(PutItemRequest.builder()
+                    .tableName(TABLE_NAME)
+                    .item(item)
+                    .conditionExpression("attribute_not_exists(PK) OR #expiresAt < :now")
+                    .expressionAttributeNames(Map.of("#expiresAt", EXPIRES_AT_ATTRIBUTE))
+                    .expressionAttributeValues(Map.of(":now", epochSeconds(Instant.now())))
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return the record, or null if there is none or it has expired
+     */
+    public IdempotencyRecord get(String id) {
+        GetItemResponse response = dynamoDbClient.getItem(GetItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .key(key(id))
+                .consistentRead(true)
+                .build());
+        if (!response.hasItem()) {
+            return null;
+        }
+
+        Map<String, AttributeValue> item = response.item();
+        AttributeValue expiresAt = item.get(EXPIRES_AT_ATTRIBUTE);
+        if (expiresAt != null && Long.parseLong(expiresAt.n()) < Instant.now().getEpochSecond()) {
+            return null;
+        }
+        AttributeValue status = item.get("status");
+        if (status == null) {
+            return new IdempotencyRecord(item.get("requestHash").s(), 0, null, null);
+        }
+        AttributeValue contentType = item.get("contentType");
+        AttributeValue body = item.get("body");
+        return new IdempotencyRecord(
+                item.get("requestHash").s(),
+                Integer.parseInt(status.n()),
+                contentType != null ? contentType.s() : null,
+                body != null ? gunzip(body.b().asByteArray()) : null);
+    }
+
+    /**
+     * Replaces this caller's lock with the response, kept until {@code expiresAt}. A body that does not fit in
+     * an item even gzipped is left out (see {@link IdempotencyRecord#replayable()}).
+     * @return false (and nothing written) if the lock no longer holds, e.g. it expired and was claimed again
+     */
+    public boolean complete(String id, String lockToken, IdempotencyRecord record, Instant expiresAt) {
+        Map<String, AttributeValue> item = new HashMap<>(key(id));
+        item.put("requestHash", AttributeValue.builder().s(record.requestHash()).build());
+        item.put("status", AttributeValue.builder().n(Integer.toString(record.status())).build());
+        if (record.contentType() != null) {
+            item.put("contentType", AttributeValue.builder().s(record.contentType()).build());
+        }
+        if (record.body() != null) {
+            byte[] compressed = gzip(record.body());
+            if (compressed.length <= MAX_STORED_BODY_BYTES) {
+                item.put("body", AttributeValue.builder().b(SdkBytes.fromByteArray(compressed)).build());
+            } else {
+                log.warn("Idempotent response of {} bytes ({} gzipped) is too large to store; retries will be refused",
+                        record.body().length, compressed.length);
+            }
+        }
+        item.put(EXPIRES_AT_ATTRIBUTE, epochSeconds(expiresAt));
+
+        try {
+            dynamoDbClient.putItem(PutItemRequest.builder()
+                    .tableName(TABLE_NAME)
+                    .item(item)
+                    .conditionExpression(LOCK_HELD_CONDITION)
+                    .expressionAttributeNames(Map.of("#status", "status"))
+                    .expressionAttributeValues(lockHeldValues(record.requestHash(), lockToken))
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Drops this caller's lock of a request that did not produce a response worth replaying, so a retry runs it
+     * again. Does nothing if the lock no longer holds.
+     */
+    public void release(String id, String requestHash, String lockToken) {
+        try {
+            dynamoDbClient.deleteItem(DeleteItemRequest.builder()
+                    .tableName(TABLE_NAME)
+                    .key(key(id))
+                    .conditionExpression(LOCK_HELD_CONDITION)
+                    .expressionAttributeNames(Map.of("#status", "status"))
+                    .expressionAttributeValues(lockHeldValues(requestHash, lockToken))
+                    .build());
+        } catch (ConditionalCheckFailedException e) {
+            log.debug("Idempotency lock {} was no longer held", id);
+        }
+    }
+
+    private static Map<String, AttributeValue> lockHeldValues(String requestHash, String lockToken) {
+        return Map.of(
+                ":requestHash", AttributeValue.builder().s(requestHash).build(),
+                ":lockToken", AttributeValue.builder().s(lockToken).build());
+    }
+
+    private static Map<String, AttributeValue> key(String id) {
+        return Map.of(
+                "PK", AttributeValue.builder().s(PK_SYNTAX.formatted(id)).build(),
+                "SK", AttributeValue.builder().s(SK).build());
+    }
+
+    private static AttributeValue epochSeconds(Instant instant) {
+        return AttributeValue.builder().n(Long.toString(instant.getEpochSecond())).build();
+    }
+
+    static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    static byte[] gunzip(byte[] bytes) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.wangindustries.badmintondbBackend.repositories;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Converts a DynamoDB LastEvaluatedKey into the opaque cursor handed to API clients, and back into an
+ * ExclusiveStartKey. Every key attribute of the table and its indexes is a string, so the cursor is the
+ * base64url encoded JSON object of attribute name to string value.
+ */
+public final class PageCursor {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<LinkedHashMap<String, String>> KEY_TYPE = new TypeReference<>() {
+    };
+
+    private PageCursor() {
+    }
+
+    /**
+     * @return the cursor, or null if there is no further page
+     */
+    public static String encode(final Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+
+        Map<String, String> key = new LinkedHashMap<>();
+        lastEvaluatedKey.forEach((name, value) -> {
+            if (value.s() == null) {
+                throw new IllegalStateException("Key attribute " + name + " is not a string");
+            }
+            key.put(name, value.s());
+        });
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(OBJECT_MAPPER.writeValueAsBytes(key));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode page cursor", e);
+        }
+    }
+
+    /**
+     * @return the ExclusiveStartKey, or null for the first page
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode(Map)}
+     */
+    public static Map<String, AttributeValue> decode(final String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        Map<String, String> key;
+        try {
+            key = OBJECT_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), KEY_TYPE);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        Map<String, AttributeValue> exclusiveStartKey = new LinkedHashMap<>();
+        key.forEach((name, value) -> exclusiveStartKey.put(name, AttributeValue.builder().s(value).build()));
+        return exclusiveStartKey;
+    }
+
+    /**
+     * Runs a single-page query. A start key that does not belong to the queried partition (a cursor from
+     * another listing, or a tampered one) is rejected by DynamoDB and reported as an invalid cursor.
+     */
+    static <T> Page<T> queryPage(final DynamoDbIndex<T> index, final QueryEnhancedRequest queryRequest) {
+        try {
+            return index.query(queryRequest).iterator().next();
+        } catch (DynamoDbException e) {
+            if (queryRequest.exclusiveStartKey() != null && e.statusCode() == 400) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+            throw e;
+        }
+    }
+}
@@ -1,32 +1,149 @@
 package com.wangindustries.badmintondbBackend.repositories;
 
 import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.models.StringingState;
+import com.wangindustries.badmintondbBackend.models.TableSchemas;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.enhanced.dynamodb.*;
 import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactPutItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.TransactWriteItemsEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.Delete;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 public class StringingRepository {
+    private static final String TABLE_NAME = "badmintonDb";
+    private static final String VERSION_ATTRIBUTE = "version";
 
+    private final DynamoDbEnhancedClient enhancedClient;
+    private final DynamoDbClient dynamoDbClient;
     private final DynamoDbTable<Stringing> stringingTable;
     private final DynamoDbIndex<Stringing> nameIndex;
+    private final DynamoDbIndex<Stringing> activeIndex;
+    private final DynamoDbBatchLoader batchLoader;
+    private final DynamoDbBatchWriter batchWriter;
 
-    public StringingRepository(DynamoDbEnhancedClient enhancedClient) {
-        this.stringingTable = enhancedClient.table("badmintonDb", TableSchema.fromClass(Stringing.class));
+    public StringingRepository(DynamoDbEnhancedClient enhancedClient,
+                               DynamoDbClient dynamoDbClient,
+                               ExecutorService dynamoDbBatchExecutor) {
+        this.enhancedClient = enhancedClient;
+        this.dynamoDbClient = dynamoDbClient;
+        this.stringingTable = enhancedClient.table(TABLE_NAME, TableSchemas.STRINGING);
         this.nameIndex = stringingTable.index(Stringing.NAME_GSI);
+        this.activeIndex = stringingTable.index(Stringing.ACTIVE_GSI);
+        this.batchLoader = new DynamoDbBatchLoader(enhancedClient, dynamoDbBatchExecutor);
+        this.batchWriter = new DynamoDbBatchWriter(enhancedClient, dynamoDbBatchExecutor);
     }
 
-    public void saveStringing(final Stringing stringing) {
-        stringingTable.putItem(stringing);
+    /**
+     * Writes a new stringing's DETAILS item and, if it has an owner, its owner index item in one transaction, so
+     * a job can never exist without its owner index item. A stringing without an owner is a single conditional put.
+     * @param ownerIndexItem the owner index item, or null if the stringing has no owner
+     * @return false (and nothing written) if an item with the same key already exists
+     */
+    public boolean createStringing(final Stringing details, final Stringing ownerIndexItem) {
+        Expression notExists = Expression.builder()
+                .expression("attribute_not_exists(PK)")
+                .build();
+
+        if (ownerIndexItem == null) {
+            try {
+                stringingTable.putItem(PutItemEnhancedRequest.builder(Stringing.class)
+                        .item(details)
+                        .conditionExpression(notExists)
+                        .build());
+                return true;
+            } catch (ConditionalCheckFailedException e) {
+                return false;
+            }
+        }
+
+        try {
+            enhancedClient.transactWriteItems(TransactWriteItemsEnhancedRequest.builder()
+                    .addPutItem(stringingTable, TransactPutItemEnhancedRequest.builder(Stringing.class)
+                            .item(details)
+                            .conditionExpression(notExists)
+                            .build())
+                    .addPutItem(stringingTable, TransactPutItemEnhancedRequest.builder(Stringing.class)
+                            .item(ownerIndexItem)
+                            .conditionExpression(notExists)
+                            .build())
+                    .build());
+            return true;
+        } catch (TransactionCanceledException e) {
+            if (e.hasCancellationReasons() && e.cancellationReasons().stream()
+                    .anyMatch(reason -> "ConditionalCheckFailed".equals(reason.code()))) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the DETAILS and owner index items of many new stringings with BatchWriteItem (25 items per request,
+     * chunks in parallel). Unlike {@link #createStringing} this is neither conditional nor transactional, so it
+     * is only for freshly generated ids: if some of a stringing's items could not be written, the ones that were
+     * are deleted again, so no stringing is left without its owner index item.
+     * @param items the DETAILS item of every stringing and the owner index item of those with an owner
+     * @return the ids of the stringings that were not written
+     */
+    public Set<UUID> saveNewStringings(final List<Stringing> items) {
+        Set<Key> failedKeys = batchWriter.putAll(stringingTable, items);
+        if (failedKeys.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<UUID> failedIds = new HashSet<>();
+        for (Stringing item : items) {
+            if (failedKeys.contains(stringingTable.keyFrom(item))) {
+                failedIds.add(item.getStringingId());
+            }
+        }
+        List<Key> writtenKeysOfFailed = items.stream()
+                .filter(item -> failedIds.contains(item.getStringingId()))
+                .map(stringingTable::keyFrom)
+                .filter(key -> !failedKeys.contains(key))
+                .toList();
+        Set<Key> notRolledBack = batchWriter.deleteAll(stringingTable, writtenKeysOfFailed);
+        if (!notRolledBack.isEmpty()) {
+            log.error("Could not delete {} items of partially written stringings: {}", notRolledBack.size(), notRolledBack);
+        }
+        return failedIds;
     }
 
     public Stringing getStringing(final UUID stringingId) {
@@ -36,6 +153,22 @@ public class StringingRepository {
                 .build());
     }
 
+    /**
+     * Fetches the DETAILS items for many stringings with BatchGetItem (100 keys per request, chunks in parallel)
+     * rather than one GetItem per id.
+     * @return the stringings that exist, in the order of {@code stringingIds}
+     */
+    public List<Stringing> getStringings(final Collection<UUID> stringingIds) {
+        List<Key> keys = stringingIds.stream()
+                .distinct()
+                .map(stringingId -> Key.builder()
+                        .partitionValue(Stringing.createPk(stringingId))
+                        .sortValue(Stringing.createSkDetails())
+                        .build())
+                .toList();
+        return batchLoader.loadAll(stringingTable, keys);
+    }
+
     public List<Stringing> getStringingsByStringerUserId(final UUID stringerUserId) {
         QueryConditional queryConditional = QueryConditional.keyEqualTo(Key.builder()
                 .partitionValue(Stringing.createGsiStringerPk(stringerUserId))
@@ -66,15 +199,456 @@ public class StringingRepository {
                 .collect(Collectors.toList());
     }
 
-    public void updateStringing(final Stringing stringing) {
-        stringingTable.updateItem(stringing);
+    /**
+     * One page of a stringer's stringings created in [from, to), newest first.
+     * @param from inclusive lower bound on createdAt, or null
+     * @param to exclusive upper bound on createdAt, or null
+     * @param exclusiveStartKey the previous page's lastEvaluatedKey, or null for the first page
+     */
+    public Page<Stringing> getStringingsByStringerUserIdPage(final UUID stringerUserId,
+                                                             final Instant from,
+                                                             final Instant to,
+                                                             final Map<String, AttributeValue> exclusiveStartKey,
+                                                             final int limit) {
+        return queryNewestFirst(Stringing.createGsiStringerPk(stringerUserId), from, to, exclusiveStartKey, limit);
     }
 
-    public void deleteOwnerIndexItem(final UUID stringingId, final UUID ownerUserId) {
-        stringingTable.deleteItem(Key.builder()
-                .partitionValue(Stringing.createPk(stringingId))
-                .sortValue(Stringing.createSkOwner(ownerUserId))
+    /**
+     * One page of an owner's index items for stringings created in [from, to), newest first.
+     * @param from inclusive lower bound on createdAt, or null
+     * @param to exclusive upper bound on createdAt, or null
+     * @param exclusiveStartKey the previous page's lastEvaluatedKey, or null for the first page
+     */
+    public Page<Stringing> getStringingsByOwnerUserIdPage(final UUID ownerUserId,
+                                                          final Instant from,
+                                                          final Instant to,
+                                                          final Map<String, AttributeValue> exclusiveStartKey,
+                                                          final int limit) {
+        return queryNewestFirst(Stringing.createGsiOwnerPk(ownerUserId), from, to, exclusiveStartKey, limit);
+    }
+
+    /**
+     * One page of a stringer's non-final stringings, oldest first (queue order). Read from the sparse
+     * active-index, so the cost follows the open backlog rather than the stringer's whole history.
+     * @param exclusiveStartKey the previous page's lastEvaluatedKey, or null for the first page
+     */
+    public Page<Stringing> getActiveStringingsByStringerUserIdPage(final UUID stringerUserId,
+                                                                   final Map<String, AttributeValue> exclusiveStartKey,
+                                                                   final int limit) {
+        QueryEnhancedRequest queryRequest = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder()
+                        .partitionValue(Stringing.createGsiStringerPk(stringerUserId))
+                        .build()))
+                .exclusiveStartKey(exclusiveStartKey)
+                .limit(limit)
+                .build();
+
+        return PageCursor.queryPage(activeIndex, queryRequest);
+    }
+
+    /**
+     * The created-at range is a key condition on the time-ordered gsiSk, so DynamoDB only reads items in range.
+     * Items still carrying a legacy {@code STRINGING#{id}} gsiSk sort after every timestamp: they match any
+     * open-ended {@code from} but never a {@code to}.
+     */
+    private Page<Stringing> queryNewestFirst(final String gsiPk, final Instant from, final Instant to,
+                                             final Map<String, AttributeValue> exclusiveStartKey,
+                                             final int limit) {
+        QueryEnhancedRequest queryRequest = QueryEnhancedRequest.builder()
+                .queryConditional(createdAtCondition(gsiPk, from, to))
+                .scanIndexForward(false)
+                .exclusiveStartKey(exclusiveStartKey)
+                .limit(limit)
+                .build();
+
+        return PageCursor.queryPage(nameIndex, queryRequest);
+    }
+
+    private static QueryConditional createdAtCondition(final String gsiPk, final Instant from, final Instant to) {
+        if (from == null && to == null) {
+            return QueryConditional.keyEqualTo(Key.builder().partitionValue(gsiPk).build());
+        }
+        if (to == null) {
+            return QueryConditional.sortGreaterThanOrEqualTo(Key.builder()
+                    .partitionValue(gsiPk)
+                    .sortValue(Stringing.createGsiSkTimeBound(from))
+                    .build());
+        }
+        if (from == null) {
+            return QueryConditional.sortLessThan(Key.builder()
+                    .partitionValue(gsiPk)
+                    .sortValue(Stringing.createGsiSkTimeBound(to))
+                    .build());
+        }
+        // BETWEEN is inclusive, but no item's gsiSk equals a bare time bound, so this is still [from, to)
+        return QueryConditional.sortBetween(
+                Key.builder().partitionValue(gsiPk).sortValue(Stringing.createGsiSkTimeBound(from)).build(),
+                Key.builder().partitionValue(gsiPk).sortValue(Stringing.createGsiSkTimeBound(to)).build());
+    }
+
+    /**
+     * What a conditional attribute update found: whether it was applied, and the DETAILS item as it was just
+     * before the update (or, if the condition failed, as it is now). {@code previous} is null if there is no item.
+     */
+    public record AttributeUpdate(boolean applied, Stringing previous) {
+    }
+
+    /**
+     * Writes only the given attributes of a DETAILS item in one UpdateExpression ({@code SET} for values,
+     * {@code REMOVE} for nulls) and adds one to its version, provided the condition holds.
+     * @param changes new attribute values by attribute name, null to remove the attribute
+     * @param condition see {@link #versionCondition(Long)} and {@link #transitionCondition(StringingState)}
+     */
+    public AttributeUpdate updateAttributes(final UUID stringingId,
+                                            final Map<String, AttributeValue> changes,
+                                            final Expression condition) {
+        ChangeExpression update = ChangeExpression.of(changes, condition);
+        UpdateItemRequest request = UpdateItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .key(detailsKey(stringingId))
+                .updateExpression(update.updateExpression())
+                .conditionExpression(update.conditionExpression())
+                .expressionAttributeNames(update.names())
+                .expressionAttributeValues(update.values())
+                .returnValues(ReturnValue.ALL_OLD)
+                .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
+                .build();
+
+        try {
+            UpdateItemResponse response = dynamoDbClient.updateItem(request);
+            return new AttributeUpdate(true, response.hasAttributes() ? TableSchemas.STRINGING.mapToItem(response.attributes()) : null);
+        } catch (ConditionalCheckFailedException e) {
+            return new AttributeUpdate(false, e.hasItem() ? TableSchemas.STRINGING.mapToItem(e.item()) : null);
+        }
+    }
+
+    /**
+     * Like {@link #updateAttributes}, with the owner index item written and the previous owner's index item
+     * deleted in the same transaction, so a projected owner index item can never disagree with the DETAILS item.
+     * @param ownerIndexItem the current owner index item, or null if the stringing has no owner
+     * @param staleOwnerUserId the previous owner whose index item is deleted, or null
+     * @return false (and nothing written) if the condition on the DETAILS item failed
+     */
+    public boolean updateAttributesWithOwnerIndex(final UUID stringingId,
+                                                  final Map<String, AttributeValue> changes,
+                                                  final Expression condition,
+                                                  final Stringing ownerIndexItem,
+                                                  final UUID staleOwnerUserId) {
+        ChangeExpression update = ChangeExpression.of(changes, condition);
+        List<TransactWriteItem> transactItems = new ArrayList<>();
+        transactItems.add(TransactWriteItem.builder()
+                .update(Update.builder()
+                        .tableName(TABLE_NAME)
+                        .key(detailsKey(stringingId))
+                        .updateExpression(update.updateExpression())
+                        .conditionExpression(update.conditionExpression())
+                        .expressionAttributeNames(update.names())
+                        .expressionAttributeValues(update.values())
+                        .build())
                 .build());
+        if (ownerIndexItem != null) {
+            transactItems.add(TransactWriteItem.builder()
+                    .put(Put.builder()
+                            .tableName(TABLE_NAME)
+                            .item(TableSchemas.STRINGING.itemToMap(ownerIndexItem, true))
+                            .build())
+                    .build());
+        }
+        if (staleOwnerUserId != null) {
+            transactItems.add(TransactWriteItem.builder()
+                    .delete(Delete.builder()
+                            .tableName(TABLE_NAME)
+                            .key(Map.of(
+                                    "PK", AttributeValue.builder().s(Stringing.createPk(stringingId)).build(),
+                                    "SK", AttributeValue.builder().s(Stringing.createSkOwner(staleOwnerUserId)).build()))
+                            .build())
+                    .build());
+        }
+
+        try {
+            dynamoDbClient.transactWriteItems(TransactWriteItemsRequest.builder()
+                    .transactItems(transactItems)
+                    .build());
+            return true;
+        } catch (TransactionCanceledException e) {
+            // Cancellation reasons are in transactItems order, so the first one belongs to the DETAILS update
+            if (e.hasCancellationReasons() && "ConditionalCheckFailed".equals(e.cancellationReasons().get(0).code())) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The attributes whose values differ between two versions of a DETAILS item, as {@link #updateAttributes}
+     * takes them: the new value, or null if the attribute was removed. Keys and the version are never included.
+     */
+    public static Map<String, AttributeValue> changedAttributes(final Stringing before, final Stringing after) {
+        Map<String, AttributeValue> changes = new LinkedHashMap<>();
+        for (String attribute : TableSchemas.STRINGING.attributeNames()) {
+            if (attribute.equals("PK") || attribute.equals("SK") || attribute.equals(VERSION_ATTRIBUTE)) {
+                continue;
+            }
+            AttributeValue newValue = presentValue(after, attribute);
+            if (!Objects.equals(presentValue(before, attribute), newValue)) {
+                changes.put(attribute, newValue);
+            }
+        }
+        return changes;
+    }
+
+    private static AttributeValue presentValue(final Stringing item, final String attribute) {
+        AttributeValue value = TableSchemas.STRINGING.attributeValue(item, attribute);
+        return value == null || Boolean.TRUE.equals(value.nul()) ? null : value;
+    }
+
+    /**
+     * The item exists and still has the version the caller read. Items written before versioning have no
+     * version until their first update.
+     */
+    public static Expression versionCondition(final Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Expression.builder()
+                    .expression("attribute_exists(PK) AND attribute_not_exists(#version)")
+                    .expressionNames(Map.of("#version", VERSION_ATTRIBUTE))
+                    .build();
+        }
+        return Expression.builder()
+                .expression("attribute_exists(PK) AND #version = :expectedVersion")
+                .expressionNames(Map.of("#version", VERSION_ATTRIBUTE))
+                .expressionValues(Map.of(":expectedVersion", AttributeValue.builder().n(expectedVersion.toString()).build()))
+                .build();
+    }
+
+    /**
+     * The item exists and is in a state that {@link StringingState#canTransitionTo} {@code newState}, so a state
+     * change needs no prior read. {@code newState} must have at least one such state.
+     */
+    public static Expression transitionCondition(final StringingState newState) {
+        Map<String, AttributeValue> values = new HashMap<>();
+        List<String> placeholders = new ArrayList<>();
+        for (StringingState source : StringingState.statesTransitioningTo(newState)) {
+            String placeholder = ":from" + placeholders.size();
+            placeholders.add(placeholder);
+            values.put(placeholder, AttributeValue.builder().s(source.name()).build());
+        }
+        if (placeholders.isEmpty()) {
+            throw new IllegalArgumentException("No state can transition to " + newState);
+        }
+
+        return Expression.builder()
+                .expression("attribute_exists(PK) AND #state IN (" + String.join(", ", placeholders) + ")")
+                .expressionNames(Map.of("#state", "state"))
+                .expressionValues(values)
+                .build();
+    }
+
+    private static Map<String, AttributeValue> detailsKey(final UUID stringingId) {
+        return Map.of(
+                "PK", AttributeValue.builder().s(Stringing.createPk(stringingId)).build(),
+                "SK", AttributeValue.builder().s(Stringing.createSkDetails()).build());
+    }
+
+    /**
+     * The changed attributes as {@code SET}/{@code REMOVE} clauses plus {@code ADD #version :one}, with the
+     * condition's placeholders merged in. Attribute names always go through {@code #u<n>} placeholders, since
+     * several of them (state, version) are reserved words.
+     */
+    private record ChangeExpression(String updateExpression, String conditionExpression,
+                                    Map<String, String> names, Map<String, AttributeValue> values) {
+
+        static ChangeExpression of(final Map<String, AttributeValue> changes, final Expression condition) {
+            Map<String, String> names = new HashMap<>();
+            Map<String, AttributeValue> values = new HashMap<>();
+            List<String> sets = new ArrayList<>();
+            List<String> removes = new ArrayList<>();
+            int i = 0;
+            for (Map.Entry<String, AttributeValue> change : changes.entrySet()) {
+                String name = "#u" + i;
+                names.put(name, change.getKey());
+                if (change.getValue() == null) {
+                    removes.add(name);
+                } else {
+                    String value = ":u" + i;
+                    values.put(value, change.getValue());
+                    sets.add(name + " = " + value);
+                }
+                i++;
+            }
+            names.put("#version", VERSION_ATTRIBUTE);
+            values.put(":one", AttributeValue.builder().n("1").build());
+
+            StringBuilder expression = new StringBuilder();
+            if (!sets.isEmpty()) {
+                expression.append("SET ").append(String.join(", ", sets)).append(' ');
+            }
+            if (!removes.isEmpty()) {
+                expression.append("REMOVE ").append(String.join(", ", removes)).append(' ');
+            }
+            expression.append("ADD #version :one");
+
+            if (condition.expressionNames() != null) {
+                names.putAll(condition.expressionNames());
+            }
+            if (condition.expressionValues() != null) {
+                values.putAll(condition.expressionValues());
+            }
+            return new ChangeExpression(expression.toString(), condition.expression(), names, values);
+        }
+    }
+
+    /**
+     * Scans for owner index items that only carry the stringingId (written before the projected owner index
+     * was enabled), one page at a time.
+     */
+    public Stream<List<Stringing>> scanSparseOwnerIndexItems() {
+        Expression filterExpression = Expression.builder()
+                .expression("begins_with(SK, :skPrefix) AND attribute_not_exists(#state)")
+                .expressionNames(Map.of("#state", "state"))
+                .expressionValues(Map.of(
+                        ":skPrefix", AttributeValue.builder().s(Stringing.SK_OWNER_SYNTAX.formatted("")).build()
+                ))
+                .build();
+
+        ScanEnhancedRequest scanRequest = ScanEnhancedRequest.builder()
+                .filterExpression(filterExpression)
+                .build();
+
+        return stringingTable.scan(scanRequest)
+                .stream()
+                .map(Page::items);
+    }
+
+    /**
+     * Replaces a sparse owner index item with its projected version, unless an update already projected it.
+     * @return false if the item was no longer sparse (or no longer exists)
+     */
+    public boolean saveProjectedOwnerIndexItemIfSparse(final Stringing projectedOwnerIndexItem) {
+        Expression conditionExpression = Expression.builder()
+                .expression("attribute_exists(PK) AND attribute_not_exists(#state)")
+                .expressionNames(Map.of("#state", "state"))
+                .build();
+
+        try {
+            stringingTable.putItem(PutItemEnhancedRequest.builder(Stringing.class)
+                    .item(projectedOwnerIndexItem)
+                    .conditionExpression(conditionExpression)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Scans for DETAILS and owner index items whose name-index sort key still has the legacy
+     * {@code STRINGING#{id}} format, one page at a time.
+     */
+    public Stream<List<Stringing>> scanLegacyGsiSkItems() {
+        Expression filterExpression = Expression.builder()
+                .expression("begins_with(gsiSk, :legacyPrefix)")
+                .expressionValues(Map.of(
+                        ":legacyPrefix", AttributeValue.builder().s(Stringing.LEGACY_GSI_SK_PREFIX).build()
+                ))
+                .build();
+
+        ScanEnhancedRequest scanRequest = ScanEnhancedRequest.builder()
+                .filterExpression(filterExpression)
+                .build();
+
+        return stringingTable.scan(scanRequest)
+                .stream()
+                .map(Page::items);
+    }
+
+    /**
+     * Sets only the gsiSk of an item, provided it still has the value the caller read.
+     * @return false if the item changed (or was deleted) in the meantime
+     */
+    public boolean replaceGsiSk(final String pk, final String sk, final String expectedGsiSk, final String gsiSk) {
+        Stringing keyAndGsiSk = new Stringing();
+        keyAndGsiSk.setPK(pk);
+        keyAndGsiSk.setSK(sk);
+        keyAndGsiSk.setGsiSk(gsiSk);
+
+        Expression conditionExpression = Expression.builder()
+                .expression("gsiSk = :expectedGsiSk")
+                .expressionValues(Map.of(":expectedGsiSk", AttributeValue.builder().s(expectedGsiSk).build()))
+                .build();
+
+        try {
+            stringingTable.updateItem(UpdateItemEnhancedRequest.builder(Stringing.class)
+                    .item(keyAndGsiSk)
+                    .ignoreNulls(true)
+                    .conditionExpression(conditionExpression)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Scans for DETAILS items of non-final stringings with a stringer that are not in the active-index yet,
+     * one page at a time.
+     */
+    public Stream<List<Stringing>> scanUnindexedActiveStringings() {
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":sk", AttributeValue.builder().s(Stringing.createSkDetails()).build());
+        List<String> finalStatePlaceholders = new ArrayList<>();
+        for (StringingState state : StringingState.values()) {
+            if (state.isFinalState()) {
+                String placeholder = ":final" + finalStatePlaceholders.size();
+                finalStatePlaceholders.add(placeholder);
+                values.put(placeholder, AttributeValue.builder().s(state.name()).build());
+            }
+        }
+
+        Expression filterExpression = Expression.builder()
+                .expression("SK = :sk AND attribute_exists(stringerUserId) AND attribute_not_exists(activeGsiPk)"
+                        + " AND NOT #state IN (" + String.join(", ", finalStatePlaceholders) + ")")
+                .expressionNames(Map.of("#state", "state"))
+                .expressionValues(values)
+                .build();
+
+        ScanEnhancedRequest scanRequest = ScanEnhancedRequest.builder()
+                .filterExpression(filterExpression)
+                .build();
+
+        return stringingTable.scan(scanRequest)
+                .stream()
+                .map(Page::items);
+    }
+
+    /**
+     * Sets only the activeGsiPk of a DETAILS item, provided its stringer and state are still the ones the caller read.
+     * @return false if the item changed (or was deleted) in the meantime
+     */
+    public boolean setActiveGsiPkIfUnchanged(final Stringing details) {
+        Stringing keyAndActiveGsiPk = new Stringing();
+        keyAndActiveGsiPk.setPK(details.getPK());
+        keyAndActiveGsiPk.setSK(details.getSK());
+        keyAndActiveGsiPk.setActiveGsiPk(Stringing.createActiveGsiPk(details.getStringerUserId(), details.getState()));
+
+        Expression conditionExpression = Expression.builder()
+                .expression("stringerUserId = :stringerUserId AND #state = :state")
+                .expressionNames(Map.of("#state", "state"))
+                .expressionValues(Map.of(
+                        ":stringerUserId", AttributeValue.builder().s(details.getStringerUserId().toString()).build(),
+                        ":state", AttributeValue.builder().s(details.getState().name()).build()
+                ))
+                .build();
+
+        try {
+            stringingTable.updateItem(UpdateItemEnhancedRequest.builder(Stringing.class)
+                    .item(keyAndActiveGsiPk)
+                    .ignoreNulls(true)
+                    .conditionExpression(conditionExpression)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
     }
 
     public List<UUID> listDistinctStringerUserIds() {
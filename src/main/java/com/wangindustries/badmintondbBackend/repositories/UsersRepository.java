@@ -1,5 +1,6 @@
 package com.wangindustries.badmintondbBackend.repositories;
 
+import com.wangindustries.badmintondbBackend.models.TableSchemas;
 import com.wangindustries.badmintondbBackend.models.User;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.enhanced.dynamodb.Expression;
@@ -7,16 +8,22 @@ import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
 
 /**
  * This Repository method handles communicating with the DynamoDB Table via the DDB Enhanced Client
@@ -25,11 +32,19 @@ import java.util.stream.Collectors;
 @Service
 public class UsersRepository {
     private final DynamoDbTable<User> userTable;
+    private static final int QUERY_PAGE_SIZE = 100;
+
     private final DynamoDbIndex<User> usernameIndex;
+    private final DynamoDbIndex<User> userIndex;
+    private final DynamoDbIndex<User> stringerIndex;
+    private final DynamoDbBatchLoader batchLoader;
 
-    public UsersRepository(DynamoDbEnhancedClient enhancedClient) {
-        userTable = enhancedClient.table("badmintonDb", TableSchema.fromClass(User.class));
+    public UsersRepository(DynamoDbEnhancedClient enhancedClient, ExecutorService dynamoDbBatchExecutor) {
+        userTable = enhancedClient.table("badmintonDb", TableSchemas.USER);
         usernameIndex = userTable.index(User.USERNAME_GSI);
+        userIndex = userTable.index(User.USER_GSI);
+        stringerIndex = userTable.index(User.STRINGER_GSI);
+        batchLoader = new DynamoDbBatchLoader(enhancedClient, dynamoDbBatchExecutor);
     }
 
     public User getUser(final UUID userId) {
@@ -39,6 +54,21 @@ public class UsersRepository {
                 .build());
     }
 
+    /**
+     * Fetches many user profiles with BatchGetItem rather than one GetItem per id.
+     * @return the users that exist, in the order of {@code userIds}
+     */
+    public List<User> getUsers(final Collection<UUID> userIds) {
+        List<Key> keys = userIds.stream()
+                .distinct()
+                .map(userId -> Key.builder()
+                        .partitionValue(User.createPk(userId))
+                        .sortValue(User.createSk())
+                        .build())
+                .toList();
+        return batchLoader.loadAll(userTable, keys);
+    }
+
     public User findByUsername(final String username) {
         String usernameGsiPk = User.createUsernameGsiPk(username);
 
@@ -63,10 +93,38 @@ public class UsersRepository {
     }
 
     public List<User> listUsers() {
+        return queryAll(userIndex, User.USER_GSI_PK);
+    }
+
+    public List<User> listStringers() {
+        return queryAll(stringerIndex, User.STRINGER_GSI_PK);
+    }
+
+    /**
+     * One page of the user-index, sorted by name. The index projects every attribute except the password hash.
+     * @param exclusiveStartKey the previous page's lastEvaluatedKey, or null for the first page
+     */
+    public Page<User> listUsersPage(final Map<String, AttributeValue> exclusiveStartKey, final int limit) {
+        return queryPage(userIndex, User.USER_GSI_PK, exclusiveStartKey, limit);
+    }
+
+    /**
+     * One page of the sparse stringer-index, sorted by name.
+     * @param exclusiveStartKey the previous page's lastEvaluatedKey, or null for the first page
+     */
+    public Page<User> listStringersPage(final Map<String, AttributeValue> exclusiveStartKey, final int limit) {
+        return queryPage(stringerIndex, User.STRINGER_GSI_PK, exclusiveStartKey, limit);
+    }
+
+    /**
+     * Scans for user profiles written before the user-index and stringer-index existed.
+     * @return one list per scanned page
+     */
+    public Stream<List<User>> scanUsersWithoutListIndexKeys() {
         Expression filterExpression = Expression.builder()
-                .expression("begins_with(PK, :pkPrefix) AND SK = :sk")
+                .expression("begins_with(PK, :pkPrefix) AND SK = :sk AND attribute_not_exists(userGsiPk)")
                 .expressionValues(Map.of(
-                        ":pkPrefix", AttributeValue.builder().s("USER#").build(),
+                        ":pkPrefix", AttributeValue.builder().s(User.PK_SYNTAX.formatted("")).build(),
                         ":sk", AttributeValue.builder().s(User.createSk()).build()
                 ))
                 .build();
@@ -77,27 +135,75 @@ public class UsersRepository {
 
         return userTable.scan(scanRequest)
                 .stream()
-                .flatMap(page -> page.items().stream())
-                .collect(Collectors.toList());
+                .map(Page::items);
     }
 
-    public List<User> listStringers() {
-        Expression filterExpression = Expression.builder()
-                .expression("begins_with(PK, :pkPrefix) AND SK = :sk AND isStringer = :isStringer")
-                .expressionValues(Map.of(
-                        ":pkPrefix", AttributeValue.builder().s("USER#").build(),
-                        ":sk", AttributeValue.builder().s(User.createSk()).build(),
-                        ":isStringer", AttributeValue.builder().bool(true).build()
-                ))
+    /**
+     * Sets only the encryptedPassword of a user, provided it still has the hash the caller read.
+     * @return false if the password changed (or the user was deleted) in the meantime
+     */
+    public boolean replaceEncryptedPassword(final UUID userId, final String expectedEncryptedPassword, final String encryptedPassword) {
+        User keyAndPassword = new User();
+        keyAndPassword.setPK(User.createPk(userId));
+        keyAndPassword.setSK(User.createSk());
+        keyAndPassword.setEncryptedPassword(encryptedPassword);
+
+        Expression conditionExpression = Expression.builder()
+                .expression("encryptedPassword = :expectedEncryptedPassword")
+                .expressionValues(Map.of(":expectedEncryptedPassword", AttributeValue.builder().s(expectedEncryptedPassword).build()))
                 .build();
 
-        ScanEnhancedRequest scanRequest = ScanEnhancedRequest.builder()
-                .filterExpression(filterExpression)
+        try {
+            userTable.updateItem(UpdateItemEnhancedRequest.builder(User.class)
+                    .item(keyAndPassword)
+                    .ignoreNulls(true)
+                    .conditionExpression(conditionExpression)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Saves a user with its list index keys set, unless the profile was deleted or an update already set them.
+     * @return false if the condition did not hold
+     */
+    public boolean saveUserIfMissingListIndexKeys(final User user) {
+        Expression conditionExpression = Expression.builder()
+                .expression("attribute_exists(PK) AND attribute_not_exists(userGsiPk)")
                 .build();
 
-        return userTable.scan(scanRequest)
-                .stream()
-                .flatMap(page -> page.items().stream())
-                .collect(Collectors.toList());
+        try {
+            userTable.putItem(PutItemEnhancedRequest.builder(User.class)
+                    .item(user)
+                    .conditionExpression(conditionExpression)
+                    .build());
+            return true;
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    private List<User> queryAll(final DynamoDbIndex<User> index, final String partitionValue) {
+        List<User> users = new ArrayList<>();
+        Map<String, AttributeValue> exclusiveStartKey = null;
+        do {
+            Page<User> page = queryPage(index, partitionValue, exclusiveStartKey, QUERY_PAGE_SIZE);
+            users.addAll(page.items());
+            exclusiveStartKey = page.lastEvaluatedKey();
+        } while (exclusiveStartKey != null && !exclusiveStartKey.isEmpty());
+        return users;
+    }
+
+    private Page<User> queryPage(final DynamoDbIndex<User> index, final String partitionValue,
+                                 final Map<String, AttributeValue> exclusiveStartKey, final int limit) {
+        QueryEnhancedRequest queryRequest = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(Key.builder().partitionValue(partitionValue).build()))
+                .exclusiveStartKey(exclusiveStartKey)
+                .limit(limit)
+                .build();
+
+        return PageCursor.queryPage(index, queryRequest);
     }
 }
@@ -0,0 +1,18 @@
+package com.wangindustries.badmintondbBackend.requests;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchCreateStringingRequest {
+    public static final int MAX_STRINGINGS = 500;
+
+    @NotEmpty(message = "At least one stringing is required")
+    @Size(max = MAX_STRINGINGS, message = "At most " + MAX_STRINGINGS + " stringings per batch")
+    @Valid
+    private List<CreateStringingRequest> stringings;
+}
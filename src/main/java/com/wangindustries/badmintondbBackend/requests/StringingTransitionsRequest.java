@@ -0,0 +1,30 @@
+package com.wangindustries.badmintondbBackend.requests;
+
+import com.wangindustries.badmintondbBackend.models.StringingState;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class StringingTransitionsRequest {
+    public static final int MAX_TRANSITIONS = 100;
+
+    @NotEmpty(message = "At least one transition is required")
+    @Size(max = MAX_TRANSITIONS, message = "At most " + MAX_TRANSITIONS + " transitions per batch")
+    @Valid
+    private List<Transition> transitions;
+
+    @Data
+    public static class Transition {
+        @NotNull(message = "Stringing id is required")
+        private UUID stringingId;
+
+        @NotNull(message = "Target state is required")
+        private StringingState targetState;
+    }
+}
@@ -0,0 +1,19 @@
+package com.wangindustries.badmintondbBackend.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class AnalyticsReconciliationResponse {
+    private UUID userId;
+    private Instant reconciledAt;
+    /** false if the counters had never been seeded, in which case every counter shows up as drift */
+    private boolean previouslySeeded;
+    /** recomputed minus stored value, for every counter that disagreed */
+    private Map<String, Long> drift;
+}
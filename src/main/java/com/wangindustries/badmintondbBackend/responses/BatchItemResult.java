@@ -0,0 +1,32 @@
+package com.wangindustries.badmintondbBackend.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResult<T> {
+    public static final String WRITE_FAILED = "WRITE_FAILED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String INVALID_STATE_TRANSITION = "INVALID_STATE_TRANSITION";
+    public static final String CONFLICT = "CONFLICT";
+
+    /** position of the item in the request */
+    private int index;
+    private boolean success;
+    /** the resulting item, null on failure */
+    private T item;
+    /** one of the constants above, null on success */
+    private String errorType;
+    /** why the item failed, null on success */
+    private String error;
+
+    public static <T> BatchItemResult<T> success(int index, T item) {
+        return new BatchItemResult<>(index, true, item, null, null);
+    }
+
+    public static <T> BatchItemResult<T> failure(int index, String errorType, String error) {
+        return new BatchItemResult<>(index, false, null, errorType, error);
+    }
+}
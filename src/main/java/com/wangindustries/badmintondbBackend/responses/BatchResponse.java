@@ -0,0 +1,18 @@
+package com.wangindustries.badmintondbBackend.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * The envelope of every batch endpoint: one result per requested item, in request order. Items succeed or fail
+ * independently, so the response is 200 whenever the batch itself was valid.
+ */
+@Data
+@AllArgsConstructor
+public class BatchResponse<T> {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult<T>> results;
+}
@@ -0,0 +1,30 @@
+package com.wangindustries.badmintondbBackend.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * The envelope of every list endpoint. Pass {@code nextCursor} back as the {@code cursor} query parameter to
+ * get the following page; it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class PageResponse<T> {
+    public static final int DEFAULT_LIMIT = 25;
+    public static final int MAX_LIMIT = 100;
+
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * @throws IllegalArgumentException if the requested page size is outside 1..{@value #MAX_LIMIT}
+     */
+    public static int validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ", was " + limit);
+        }
+        return limit;
+    }
+}
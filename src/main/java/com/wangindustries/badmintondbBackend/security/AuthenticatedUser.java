@@ -0,0 +1,12 @@
+package com.wangindustries.badmintondbBackend.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The verified claims of a request's bearer token. Stored on the request under {@link #REQUEST_ATTRIBUTE}
+ * once verified, so the token is only parsed once per request.
+ */
+public record AuthenticatedUser(UUID userId, String username, Instant expiresAt) {
+    public static final String REQUEST_ATTRIBUTE = "com.wangindustries.badmintondbBackend.security.AuthenticatedUser";
+}
@@ -0,0 +1,328 @@
+package com.wangindustries.badmintondbBackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wangindustries.badmintondbBackend.repositories.IdempotencyRepository;
+import com.wangindustries.badmintondbBackend.repositories.IdempotencyRepository.IdempotencyRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Makes the stringing write endpoints safe to retry: a request carrying an {@code Idempotency-Key} header is
+ * executed once, and every retry with the same key gets the first response replayed byte for byte, with an
+ * {@code Idempotent-Replayed: true} header.
+ *
+ * <p>Applies to {@code POST /stringing}, {@code PUT /stringing/{id}}, {@code POST /stringing/batch} and
+ * {@code POST /stringing/transitions}. Keys are scoped to the caller and the endpoint. The first request claims
+ * the key with a conditional put in {@code badmintonDb} (see {@link IdempotencyRepository}), and its response is
+ * kept for {@code idempotency.ttl}. Recent responses are also cached in memory for {@code idempotency.cache.ttl},
+ * so a hot retry does not touch DynamoDB at all.</p>
+ *
+ * <p>A retry while the first request is still running gets a 409 with {@code Retry-After}, and reusing a key with
+ * a different body gets a 422. Only successful (2xx) responses are kept: after an error the retry runs the
+ * request again. Once a request succeeded it is never run again with the same key, even if its response could
+ * not be stored: such retries get a 409 instead of a replay. Outcomes are counted in {@code idempotency.requests},
+ * tagged with the outcome.</p>
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20) // after JwtAuthenticationFilter, so keys are scoped to the verified caller
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int SC_UNPROCESSABLE_CONTENT = 422;
+    private static final String STRINGING_PATH = "/stringing";
+    private static final String MISMATCH_MESSAGE = IDEMPOTENCY_KEY_HEADER + " was already used with a different request";
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final Cache<String, IdempotencyRecord> recentResponses;
+
+    public IdempotencyFilter(IdempotencyRepository idempotencyRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${idempotency.enabled:true}") boolean enabled,
+                             @Value("${idempotency.ttl:24h}") Duration ttl,
+                             @Value("${idempotency.lock-timeout:1m}") Duration lockTimeout,
+                             @Value("${idempotency.cache.ttl:5m}") Duration cacheTtl,
+                             @Value("${idempotency.cache.max-size:64MB}") DataSize cacheMaxSize) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.lockTimeout = lockTimeout;
+        this.recentResponses = Caffeine.newBuilder()
+                .maximumWeight(cacheMaxSize.toBytes())
+                .weigher((String id, IdempotencyRecord record) -> record.body() != null ? record.body().length : 0)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentResponses, "idempotentResponses");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null || !isIdempotentEndpoint(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readAllBytes();
+        String requestHash = hash(body);
+        String id = hash((caller(request) + "\n" + request.getMethod() + " " + path(request) + "\n" + key)
+                .getBytes(StandardCharsets.UTF_8));
+
+        IdempotencyRecord recent = recentResponses.getIfPresent(id);
+        if (recent != null) {
+            replay(recent, requestHash, response, "replayed-cache");
+            return;
+        }
+
+        String lockToken = UUID.randomUUID().toString();
+        if (!idempotencyRepository.tryLock(id, requestHash, lockToken, Instant.now().plus(lockTimeout))) {
+            IdempotencyRecord stored = idempotencyRepository.get(id);
+            if (stored != null && !stored.requestHash().equals(requestHash)) {
+                reject(response, SC_UNPROCESSABLE_CONTENT, "mismatch", MISMATCH_MESSAGE);
+                return;
+            }
+            if (stored == null || stored.inProgress()) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(response, HttpServletResponse.SC_CONFLICT, "in-progress",
+                        "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still in progress");
+                return;
+            }
+            if (!stored.replayable()) {
+                reject(response, HttpServletResponse.SC_CONFLICT, "not-replayable",
+                        "A request with this " + IDEMPOTENCY_KEY_HEADER + " already succeeded, but its response cannot be replayed");
+                return;
+            }
+            recentResponses.put(id, stored);
+            replay(stored, requestHash, response, "replayed-store");
+            return;
+        }
+
+        count("executed");
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean succeeded = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+            // Error responses may be rendered by the error dispatch, outside of this wrapper, and wrote nothing
+            succeeded = cachingResponse.getStatus() >= 200 && cachingResponse.getStatus() < 300;
+            if (succeeded) {
+                IdempotencyRecord record = new IdempotencyRecord(requestHash, cachingResponse.getStatus(),
+                        cachingResponse.getContentType(), cachingResponse.getContentAsByteArray());
+                // Only a response that is the stored one may be replayed from this instance
+                if (store(id, lockToken, record, key)) {
+                    recentResponses.put(id, record);
+                }
+            }
+        } finally {
+            if (!succeeded) {
+                release(id, requestHash, lockToken);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Keeps the response of a request that succeeded. The request's writes are done, so the lock is never
+     * released from here on: if the response cannot be stored, the key is at least marked as completed, so a
+     * retry is refused rather than run a second time.
+     * @return true if the record was stored with its response; false if the lock had expired (another request may
+     * own the key now) or only the completion could be recorded
+     */
+    private boolean store(String id, String lockToken, IdempotencyRecord record, String key) {
+        Instant expiresAt = Instant.now().plus(ttl);
+        try {
+            if (idempotencyRepository.complete(id, lockToken, record, expiresAt)) {
+                return true;
+            }
+            log.warn("Idempotency lock for key {} expired before the request finished", key);
+            return false;
+        } catch (RuntimeException e) {
+            log.warn("Could not store the response for idempotency key {}; marking it completed without replay", key, e);
+        }
+
+        try {
+            IdempotencyRecord withoutBody = new IdempotencyRecord(record.requestHash(), record.status(), null, null);
+            idempotencyRepository.complete(id, lockToken, withoutBody, expiresAt);
+        } catch (RuntimeException e) {
+            log.error("Could not mark idempotency key {} as completed; retries are refused until the lock expires", key, e);
+        }
+        return false;
+    }
+
+    private void replay(IdempotencyRecord record, String requestHash, HttpServletResponse response, String outcome)
+            throws IOException {
+        if (!record.requestHash().equals(requestHash)) {
+            reject(response, SC_UNPROCESSABLE_CONTENT, "mismatch", MISMATCH_MESSAGE);
+            return;
+        }
+
+        count(outcome);
+        response.setStatus(record.status());
+        if (record.contentType() != null) {
+            response.setContentType(record.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(record.body().length);
+        response.getOutputStream().write(record.body());
+    }
+
+    private void reject(HttpServletResponse response, int status, String outcome, String message) throws IOException {
+        count(outcome);
+        log.debug("Rejecting idempotent request: {}", message);
+        response.sendError(status, message);
+    }
+
+    private void release(String id, String requestHash, String lockToken) {
+        try {
+            idempotencyRepository.release(id, requestHash, lockToken);
+        } catch (RuntimeException e) {
+            log.warn("Could not release idempotency lock {}; retries wait for it to expire", id, e);
+        }
+    }
+
+    private void count(String outcome) {
+        Counter.builder("idempotency.requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static boolean isIdempotentEndpoint(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = path(request);
+        if (HttpMethod.POST.matches(method)) {
+            return path.equals(STRINGING_PATH)
+                    || path.equals(STRINGING_PATH + "/batch")
+                    || path.equals(STRINGING_PATH + "/transitions");
+        }
+        // PUT /stringing/{stringingId}
+        return HttpMethod.PUT.matches(method)
+                && path.startsWith(STRINGING_PATH + "/")
+                && path.indexOf('/', STRINGING_PATH.length() + 1) < 0;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String caller(HttpServletRequest request) {
+        return request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) instanceof AuthenticatedUser user
+                ? user.userId().toString()
+                : "anonymous";
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Serves the request body that was already read to compute the request hash.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Asynchronous reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding())
+                    : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.wangindustries.badmintondbBackend.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies the {@code Authorization: Bearer} token of every API request once, before any controller runs.
+ *
+ * <p>The verified caller is stored as the {@link AuthenticatedUser#REQUEST_ATTRIBUTE} request attribute, so
+ * later code can use it without verifying the token again: {@link IdempotencyFilter} scopes keys to the caller,
+ * and a controller can take it as a {@code @RequestAttribute} parameter, as {@code AuthController.validateToken}
+ * does. The stringing, user and analytics endpoints only require that a caller is authenticated; they do not
+ * check which one.</p>
+ *
+ * <p>Requests without a valid token get a 401, except for the public endpoints (login, sign-up, health and CORS
+ * preflights); with {@code auth.required=false} they are let through unauthenticated instead, for clients that do
+ * not send tokens yet.</p>
+ *
+ * <p>The verification cost is reported per request as a {@code Server-Timing: auth;dur=...} response header
+ * and recorded in the {@code auth.verification} timer, tagged with the outcome.</p>
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10) // after CorsConfig's filter, so a 401 still carries the CORS headers
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final TokenVerifier tokenVerifier;
+    private final MeterRegistry meterRegistry;
+    private final boolean authRequired;
+
+    public JwtAuthenticationFilter(TokenVerifier tokenVerifier,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${auth.required:true}") boolean authRequired) {
+        this.tokenVerifier = tokenVerifier;
+        this.meterRegistry = meterRegistry;
+        this.authRequired = authRequired;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        AuthenticatedUser user = tokenVerifier.authenticate(request);
+        long elapsedNanos = System.nanoTime() - start;
+
+        String outcome = user != null ? "valid" : request.getHeader("Authorization") != null ? "invalid" : "missing";
+        Timer.builder("auth.verification")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        response.addHeader(SERVER_TIMING_HEADER,
+                String.format(Locale.ROOT, "auth;dur=%.3f", elapsedNanos / 1_000_000.0));
+
+        if (user == null && authRequired && !isPublic(request)) {
+            log.debug("Rejecting {} {}: {} token", request.getMethod(), request.getRequestURI(), outcome);
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Missing, invalid or expired token");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static boolean isPublic(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return HttpMethod.OPTIONS.matches(method)
+                || (HttpMethod.POST.matches(method) && (path.equals("/auth/login") || path.equals("/user")))
+                || path.equals("/actuator/health");
+    }
+}
@@ -0,0 +1,132 @@
+package com.wangindustries.badmintondbBackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wangindustries.badmintondbBackend.exceptions.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token buckets for login attempts, one per client IP and one per username.
+ *
+ * <p>Each bucket holds {@code capacity} attempts and refills completely over {@code refill-period}. It is kept as
+ * a single "theoretical arrival time" updated with a CAS (the GCRA form of a token bucket), so checking an attempt
+ * takes no lock. Buckets live in a bounded Caffeine map and are evicted after being idle for one refill period,
+ * at which point they would be full again anyway. Limits are per instance.</p>
+ *
+ * <p>Rejected attempts are counted in {@code auth.login.throttled}, tagged with the limit that was hit.</p>
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final Buckets ipBuckets;
+    private final Buckets usernameBuckets;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${auth.login-rate-limit.enabled:true}") boolean enabled,
+                            @Value("${auth.login-rate-limit.ip.capacity:30}") int ipCapacity,
+                            @Value("${auth.login-rate-limit.ip.refill-period:1m}") Duration ipRefillPeriod,
+                            @Value("${auth.login-rate-limit.username.capacity:5}") int usernameCapacity,
+                            @Value("${auth.login-rate-limit.username.refill-period:1m}") Duration usernameRefillPeriod,
+                            @Value("${auth.login-rate-limit.max-keys:100000}") long maxKeys) {
+        this.enabled = enabled;
+        this.ipBuckets = new Buckets(ipCapacity, ipRefillPeriod, maxKeys,
+                Counter.builder("auth.login.throttled").tag("limit", "ip").register(meterRegistry));
+        this.usernameBuckets = new Buckets(usernameCapacity, usernameRefillPeriod, maxKeys,
+                Counter.builder("auth.login.throttled").tag("limit", "username").register(meterRegistry));
+    }
+
+    /**
+     * Takes one attempt from the client IP's bucket and then from the username's.
+     * @throws LoginThrottledException if either bucket is empty
+     */
+    public void acquire(String username, String clientIp) {
+        acquire(username, clientIp, System.nanoTime());
+    }
+
+    void acquire(String username, String clientIp, long now) {
+        if (!enabled) {
+            return;
+        }
+
+        if (clientIp != null) {
+            long waitNanos = ipBuckets.tryAcquire(clientIp, now);
+            if (waitNanos > 0) {
+                log.debug("Throttling login attempts from {}", clientIp);
+                throw new LoginThrottledException("Too many login attempts from this address", toRetryAfterSeconds(waitNanos));
+            }
+        }
+        if (username != null) {
+            long waitNanos = usernameBuckets.tryAcquire(username.trim().toLowerCase(Locale.ROOT), now);
+            if (waitNanos > 0) {
+                log.debug("Throttling login attempts for username: {}", username);
+                throw new LoginThrottledException("Too many login attempts for this username", toRetryAfterSeconds(waitNanos));
+            }
+        }
+    }
+
+    /**
+     * @return how many client IPs and usernames currently have a bucket, after pending evictions ran
+     */
+    long trackedKeys() {
+        return ipBuckets.size() + usernameBuckets.size();
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static final class Buckets {
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final Cache<String, AtomicLong> arrivalTimes;
+        private final Counter throttled;
+
+        Buckets(int capacity, Duration refillPeriod, long maxKeys, Counter throttled) {
+            if (capacity < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+                throw new IllegalArgumentException("Rate limit capacity and refill period must be positive");
+            }
+            this.intervalNanos = refillPeriod.toNanos() / capacity;
+            this.toleranceNanos = intervalNanos * (capacity - 1);
+            this.arrivalTimes = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(refillPeriod)
+                    .build();
+            this.throttled = throttled;
+        }
+
+        /**
+         * @return 0 if the attempt was allowed, otherwise how long until the bucket has an attempt again
+         */
+        long tryAcquire(String key, long now) {
+            AtomicLong arrivalTime = arrivalTimes.get(key, k -> new AtomicLong(now));
+            while (true) {
+                long current = arrivalTime.get();
+                long start = current - now > 0 ? current : now;
+                long overdraft = start - now - toleranceNanos;
+                if (overdraft > 0) {
+                    throttled.increment();
+                    return overdraft;
+                }
+                if (arrivalTime.compareAndSet(current, start + intervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+
+        long size() {
+            arrivalTimes.cleanUp();
+            return arrivalTimes.estimatedSize();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.wangindustries.badmintondbBackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.wangindustries.badmintondbBackend.services.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies bearer tokens, remembering recently verified ones.
+ *
+ * <p>Verified tokens are cached by their SHA-256 hash (the raw token is never kept) until the token itself
+ * expires, so a client sending the same token on every page load only pays for one signature check per
+ * instance. Invalid tokens are not cached. Hit/miss metrics are published as {@code cache.*} meters tagged
+ * {@code cache=verifiedTokens}.</p>
+ */
+@Slf4j
+@Component
+public class TokenVerifier {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final Cache<String, AuthenticatedUser> verifiedTokens;
+
+    public TokenVerifier(JwtService jwtService,
+                         MeterRegistry meterRegistry,
+                         @Value("${jwt.verified-cache.max-size:10000}") long maxSize) {
+        this.jwtService = jwtService;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, AuthenticatedUser>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, AuthenticatedUser user, long currentTime) {
+                        return untilExpiry(user);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, AuthenticatedUser user, long currentTime, long currentDuration) {
+                        return untilExpiry(user);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, AuthenticatedUser user, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verifiedTokens");
+    }
+
+    /**
+     * @return the token's claims, or null if it is malformed, forged or expired
+     */
+    public AuthenticatedUser verify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        String tokenHash = hash(token);
+        AuthenticatedUser cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            AuthenticatedUser user = jwtService.parse(token);
+            verifiedTokens.put(tokenHash, user);
+            return user;
+        } catch (RuntimeException e) {
+            log.debug("Rejected token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Verifies the request's {@code Authorization: Bearer} token at most once per request; the result is kept
+     * as the {@link AuthenticatedUser#REQUEST_ATTRIBUTE} request attribute.
+     * @return the caller, or null if the header is missing or the token is not valid
+     */
+    public AuthenticatedUser authenticate(HttpServletRequest request) {
+        if (request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE) instanceof AuthenticatedUser user) {
+            return user;
+        }
+
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+
+        AuthenticatedUser user = verify(header.substring(BEARER_PREFIX.length()));
+        if (user != null) {
+            request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, user);
+        }
+        return user;
+    }
+
+    private static long untilExpiry(AuthenticatedUser user) {
+        if (user.expiresAt() == null) {
+            return Long.MAX_VALUE;
+        }
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, user.expiresAt().toEpochMilli() - System.currentTimeMillis()));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.wangindustries.badmintondbBackend.services;
+
+import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.models.StringingState;
+import com.wangindustries.badmintondbBackend.repositories.AnalyticsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.exception.SdkException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains the per-user {@link com.wangindustries.badmintondbBackend.models.AnalyticsCounters} at write time.
+ *
+ * <p>Every stringing contributes +1 to a fixed set of counters of its owner (prefix {@code o.}) and of its
+ * stringer (prefix {@code s.}). A change is applied as the difference between the counters of the old and
+ * the new version of the stringing, so only the counters that actually moved are sent to DynamoDB. The
+ * per-customer, stringer, racket, string and tension counters are stored in items of their own (see
+ * {@link com.wangindustries.badmintondbBackend.models.AnalyticsCounters#SEPARATE_DIMENSIONS}).
+ * The same contribution rules are used to recompute the counters from scratch when reconciling.</p>
+ */
+@Slf4j
+@Service
+public class AnalyticsCountersService {
+
+    public static final String OWNER_TOTAL = "o.total";
+    public static final String OWNER_STATE_PREFIX = "o.state.";
+    public static final String OWNER_STRING_TYPE_PREFIX = "o.stringType.";
+    public static final String OWNER_RACKET_PREFIX = "o.racket.";
+    public static final String OWNER_TENSION_PREFIX = "o.tension.";
+    public static final String OWNER_MONTH_PREFIX = "o.month.";
+    public static final String OWNER_STRINGER_PREFIX = "o.stringer.";
+
+    public static final String STRINGER_TOTAL = "s.total";
+    public static final String STRINGER_CUSTOMER_PREFIX = "s.customer.";
+    public static final String STRINGER_COMPLETION_HOURS_SUM = "s.completionHours.sum";
+    public static final String STRINGER_COMPLETION_HOURS_COUNT = "s.completionHours.count";
+    public static final String STRINGER_SUCCESSFUL = "s.successful";
+    public static final String STRINGER_FAILED = "s.failed";
+    public static final String STRINGER_MONTH_PREFIX = "s.month.";
+    public static final String STRINGER_STRING_TYPE_PREFIX = "s.stringType.";
+    public static final String STRINGER_RACKET_PREFIX = "s.racket.";
+
+    public static final String SOURCE_WRITE_TIME = "write-time";
+    public static final String SOURCE_STREAM = "stream";
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    @Autowired
+    private AnalyticsRepository analyticsRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${analytics.incremental.enabled:true}")
+    private boolean incrementalEnabled;
+
+    /**
+     * Who applies the counter changes: the API itself on every write ({@value #SOURCE_WRITE_TIME}),
+     * or the DynamoDB Streams consumer Lambda ({@value #SOURCE_STREAM}). Exactly one of them must.
+     */
+    @Value("${analytics.incremental.source:" + SOURCE_WRITE_TIME + "}")
+    private String source;
+
+    public boolean isEnabled() {
+        return incrementalEnabled;
+    }
+
+    public boolean isStreamSource() {
+        return incrementalEnabled && SOURCE_STREAM.equalsIgnoreCase(source);
+    }
+
+    /**
+     * Applies the counter changes caused by a stringing write, unless the stream consumer is responsible for it.
+     * The stringing itself is already saved at this point, so a failure here is logged and counted rather than
+     * thrown; the resulting drift is repaired by a reconcile.
+     * @param before the stringing before the write, or null on create
+     * @param after the stringing after the write
+     */
+    public void recordChange(Stringing before, Stringing after) {
+        if (!incrementalEnabled || isStreamSource()) {
+            return;
+        }
+
+        computeDeltas(before, after).forEach(this::applyDeltas);
+    }
+
+    /**
+     * Like {@link #recordChange} for many stringing writes at once, with a single counter update per user
+     * rather than one per stringing.
+     * @param before the stringings before the writes (null entries on create), in the same order as {@code after}
+     */
+    public void recordChanges(List<Stringing> before, List<Stringing> after) {
+        if (!incrementalEnabled || isStreamSource()) {
+            return;
+        }
+
+        Map<UUID, Map<String, Long>> merged = new HashMap<>();
+        for (int i = 0; i < after.size(); i++) {
+            computeDeltas(before.get(i), after.get(i)).forEach((userId, deltas) ->
+                    deltas.forEach((counter, delta) ->
+                            merged.computeIfAbsent(userId, id -> new HashMap<>()).merge(counter, delta, Long::sum)));
+        }
+        merged.values().forEach(userDeltas -> userDeltas.values().removeIf(delta -> delta == 0));
+
+        merged.forEach(this::applyDeltas);
+    }
+
+    /**
+     * Failures are counted in {@code analytics.counters.failed}, so counters that drift (e.g. once an item hits
+     * DynamoDB's size limit) show up as a metric rather than only in the logs.
+     */
+    private void applyDeltas(UUID userId, Map<String, Long> deltas) {
+        try {
+            analyticsRepository.addCounters(userId, deltas);
+        } catch (SdkException e) {
+            Counter.builder("analytics.counters.failed")
+                    .description("Counter updates that could not be applied; the user's counters drifted until reconciled")
+                    .register(meterRegistry)
+                    .increment();
+            log.error("Failed to apply analytics counter deltas {} for user {}; reconcile to repair", deltas, userId, e);
+        }
+    }
+
+    /**
+     * @return per user, the non-zero counter changes between the two versions of a stringing
+     */
+    public static Map<UUID, Map<String, Long>> computeDeltas(Stringing before, Stringing after) {
+        Map<UUID, Map<String, Long>> deltas = new HashMap<>();
+        if (before != null) {
+            accumulate(deltas, before, -1);
+        }
+        if (after != null) {
+            accumulate(deltas, after, 1);
+        }
+        deltas.values().forEach(userDeltas -> userDeltas.values().removeIf(delta -> delta == 0));
+        deltas.values().removeIf(Map::isEmpty);
+        return deltas;
+    }
+
+    /**
+     * Recomputes one user's counters from their full history.
+     */
+    public static Map<String, Long> computeCounters(List<Stringing> ownerStringings, List<Stringing> stringerStringings) {
+        Map<String, Long> counters = new HashMap<>();
+        ownerStringings.forEach(stringing -> accumulateOwner(counters, stringing, 1));
+        stringerStringings.forEach(stringing -> accumulateStringer(counters, stringing, 1));
+        return counters;
+    }
+
+    private static void accumulate(Map<UUID, Map<String, Long>> deltas, Stringing stringing, long sign) {
+        if (stringing.getOwnerUserId() != null) {
+            accumulateOwner(deltas.computeIfAbsent(stringing.getOwnerUserId(), id -> new HashMap<>()), stringing, sign);
+        }
+        if (stringing.getStringerUserId() != null) {
+            accumulateStringer(deltas.computeIfAbsent(stringing.getStringerUserId(), id -> new HashMap<>()), stringing, sign);
+        }
+    }
+
+    private static void accumulateOwner(Map<String, Long> counters, Stringing s, long sign) {
+        counters.merge(OWNER_TOTAL, sign, Long::sum);
+        if (s.getState() != null) {
+            counters.merge(OWNER_STATE_PREFIX + s.getState().name(), sign, Long::sum);
+        }
+        if (s.getStringType() != null && !s.getStringType().isEmpty()) {
+            counters.merge(OWNER_STRING_TYPE_PREFIX + s.getStringType(), sign, Long::sum);
+        }
+        if (s.getRacketMake() != null && s.getRacketModel() != null) {
+            counters.merge(OWNER_RACKET_PREFIX + s.getRacketMake() + " " + s.getRacketModel(), sign, Long::sum);
+        }
+        if (s.getMainsTensionLbs() != null && s.getCrossesTensionLbs() != null) {
+            counters.merge(OWNER_TENSION_PREFIX + s.getMainsTensionLbs().intValue() + " x "
+                    + s.getCrossesTensionLbs().intValue() + " lbs", sign, Long::sum);
+        }
+        if (s.getCreatedAt() != null) {
+            counters.merge(OWNER_MONTH_PREFIX + formatMonth(s.getCreatedAt()), sign, Long::sum);
+        }
+        if (s.getStringerUserId() != null) {
+            counters.merge(OWNER_STRINGER_PREFIX + s.getStringerUserId(), sign, Long::sum);
+        }
+    }
+
+    private static void accumulateStringer(Map<String, Long> counters, Stringing s, long sign) {
+        counters.merge(STRINGER_TOTAL, sign, Long::sum);
+        if (s.getOwnerUserId() != null) {
+            counters.merge(STRINGER_CUSTOMER_PREFIX + s.getOwnerUserId(), sign, Long::sum);
+        }
+        // Completion time (received -> finished or completed), summed in whole hours like the full recompute
+        if (s.getReceivedAt() != null && (s.getFinishedAt() != null || s.getCompletedAt() != null)) {
+            Instant end = s.getFinishedAt() != null ? s.getFinishedAt() : s.getCompletedAt();
+            counters.merge(STRINGER_COMPLETION_HOURS_SUM, sign * Duration.between(s.getReceivedAt(), end).toHours(), Long::sum);
+            counters.merge(STRINGER_COMPLETION_HOURS_COUNT, sign, Long::sum);
+        }
+        if (s.getState() == StringingState.COMPLETED || s.getState() == StringingState.FINISHED_BUT_NOT_PICKED_UP) {
+            counters.merge(STRINGER_SUCCESSFUL, sign, Long::sum);
+        } else if (s.getState() == StringingState.FAILED_COMPLETED || s.getState() == StringingState.FAILED_BUT_NOT_PICKED_UP) {
+            counters.merge(STRINGER_FAILED, sign, Long::sum);
+        }
+        if (s.getCreatedAt() != null) {
+            counters.merge(STRINGER_MONTH_PREFIX + formatMonth(s.getCreatedAt()), sign, Long::sum);
+        }
+        if (s.getStringType() != null && !s.getStringType().isEmpty()) {
+            counters.merge(STRINGER_STRING_TYPE_PREFIX + s.getStringType(), sign, Long::sum);
+        }
+        if (s.getRacketMake() != null && s.getRacketModel() != null) {
+            counters.merge(STRINGER_RACKET_PREFIX + s.getRacketMake() + " " + s.getRacketModel(), sign, Long::sum);
+        }
+    }
+
+    private static String formatMonth(Instant instant) {
+        return MONTH_FORMATTER.format(instant.atZone(ZoneId.systemDefault()));
+    }
+}
@@ -1,24 +1,28 @@
 package com.wangindustries.badmintondbBackend.services;
 
+import com.wangindustries.badmintondbBackend.models.AnalyticsCounters;
 import com.wangindustries.badmintondbBackend.models.MonthlyCount;
 import com.wangindustries.badmintondbBackend.models.Stringing;
-import com.wangindustries.badmintondbBackend.models.StringingState;
 import com.wangindustries.badmintondbBackend.models.User;
 import com.wangindustries.badmintondbBackend.models.UserAnalytics;
 import com.wangindustries.badmintondbBackend.repositories.AnalyticsRepository;
-import com.wangindustries.badmintondbBackend.repositories.UsersRepository;
+import com.wangindustries.badmintondbBackend.responses.AnalyticsReconciliationResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -28,6 +32,9 @@ public class AnalyticsService {
 
     private static final Duration CACHE_TTL = Duration.ofMinutes(10);
     private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final int TREND_MONTHS = 12;
+    /** A recompute is retried while changes keep landing on the counters it is about to replace */
+    private static final int MAX_RECOMPUTE_ATTEMPTS = 3;
 
     @Autowired
     private AnalyticsRepository analyticsRepository;
@@ -36,11 +43,23 @@ public class AnalyticsService {
     private StringingService stringingService;
 
     @Autowired
-    private UsersRepository usersRepository;
+    private UsersService usersService;
 
+    @Autowired
+    private AnalyticsCountersService analyticsCountersService;
+
+    /**
+     * With incremental analytics enabled, the analytics are built from the write-time maintained counters
+     * (a single query of a few items regardless of history size); forceRefresh reconciles them against a full recompute.
+     * Otherwise the summary is recomputed from every stringing whenever the cached copy is older than CACHE_TTL.
+     */
     public UserAnalytics getAnalytics(UUID userId, boolean forceRefresh) {
         log.info("Getting analytics for user {} (forceRefresh={})", userId, forceRefresh);
 
+        if (analyticsCountersService.isEnabled()) {
+            return getIncrementalAnalytics(userId, forceRefresh);
+        }
+
         if (!forceRefresh) {
             UserAnalytics cached = analyticsRepository.getAnalytics(userId);
             if (cached != null && isCacheValid(cached.getComputedAt())) {
@@ -57,10 +76,25 @@ public class AnalyticsService {
         return Duration.between(computedAt, Instant.now()).compareTo(CACHE_TTL) < 0;
     }
 
+    /**
+     * The user and both stringing lists are fetched in parallel; the stringer list is fetched speculatively
+     * (an empty index query for non-stringers) so the recompute takes about as long as the slowest read.
+     */
     private UserAnalytics computeAndSaveAnalytics(UUID userId) {
         log.info("Computing fresh analytics for user {}", userId);
 
-        User user = usersRepository.getUser(userId);
+        User user;
+        List<Stringing> ownerStringings;
+        List<Stringing> stringerStringings;
+        try (FanOut fanOut = FanOut.open()) {
+            FanOut.Task<User> userTask = fanOut.fork(() -> usersService.getUser(userId));
+            FanOut.Task<List<Stringing>> ownerTask = fanOut.fork(() -> stringingService.getStringingsByOwnerUserId(userId));
+            FanOut.Task<List<Stringing>> stringerTask = fanOut.fork(() -> stringingService.getStringingsByStringerUserId(userId));
+            fanOut.join();
+            user = userTask.get();
+            ownerStringings = ownerTask.get();
+            stringerStringings = stringerTask.get();
+        }
         if (user == null) {
             throw new IllegalArgumentException("User not found: " + userId);
         }
@@ -71,17 +105,25 @@ public class AnalyticsService {
         analytics.setUserId(userId);
         analytics.setComputedAt(Instant.now());
 
-        // Compute owner stats - includes all stringings where user is the owner
-        List<Stringing> ownerStringings = stringingService.getStringingsByOwnerUserId(userId);
-        computeOwnerStats(analytics, ownerStringings);
-
-        // Compute stringer stats if user is a stringer
-        // This includes stringings where user is the stringer (even if they're also the owner)
-        if (Boolean.TRUE.equals(user.getIsStringer())) {
-            List<Stringing> stringerStringings = stringingService.getStringingsByStringerUserId(userId);
-            // Always set stringer stats for stringer users, even if empty
-            // This ensures the UI shows the stringer section with 0 values rather than hiding it
-            computeStringerStats(analytics, stringerStringings != null ? stringerStringings : new ArrayList<>());
+        // Owner and stringer stats set disjoint fields; each looks up its own top user names
+        try (FanOut fanOut = FanOut.open()) {
+            // Compute owner stats - includes all stringings where user is the owner
+            fanOut.fork(() -> {
+                computeOwnerStats(analytics, ownerStringings);
+                return null;
+            });
+
+            // Compute stringer stats if user is a stringer
+            // This includes stringings where user is the stringer (even if they're also the owner)
+            if (Boolean.TRUE.equals(user.getIsStringer())) {
+                // Always set stringer stats for stringer users, even if empty
+                // This ensures the UI shows the stringer section with 0 values rather than hiding it
+                fanOut.fork(() -> {
+                    computeStringerStats(analytics, stringerStringings != null ? stringerStringings : new ArrayList<>());
+                    return null;
+                });
+            }
+            fanOut.join();
         }
 
         analyticsRepository.saveAnalytics(analytics);
@@ -90,174 +132,235 @@ public class AnalyticsService {
         return analytics;
     }
 
-    private void computeOwnerStats(UserAnalytics analytics, List<Stringing> stringings) {
-        analytics.setTotalStringingsAsOwner(stringings.size());
-
-        // Stringings by state
-        Map<String, Integer> byState = stringings.stream()
-                .filter(s -> s.getState() != null)
-                .collect(Collectors.groupingBy(
-                        s -> s.getState().name(),
-                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)
-                ));
-        analytics.setStringingsByState(byState);
-
-        // String type usage
-        Map<String, Integer> stringTypes = stringings.stream()
-                .filter(s -> s.getStringType() != null && !s.getStringType().isEmpty())
-                .collect(Collectors.groupingBy(
-                        Stringing::getStringType,
-                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)
-                ));
-        analytics.setStringTypeUsage(stringTypes);
-
-        // Racket usage (make + model)
-        Map<String, Integer> rackets = stringings.stream()
-                .filter(s -> s.getRacketMake() != null && s.getRacketModel() != null)
-                .collect(Collectors.groupingBy(
-                        s -> s.getRacketMake() + " " + s.getRacketModel(),
-                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)
-                ));
-        analytics.setRacketUsage(rackets);
+    private UserAnalytics getIncrementalAnalytics(UUID userId, boolean forceRefresh) {
+        User user;
+        AnalyticsCounters counters;
+        try (FanOut fanOut = FanOut.open()) {
+            FanOut.Task<User> userTask = fanOut.fork(() -> usersService.getUser(userId));
+            // Also read on a forced refresh: the recompute replaces them only at the version read here
+            FanOut.Task<AnalyticsCounters> countersTask = fanOut.fork(() -> analyticsRepository.getCounters(userId));
+            fanOut.join();
+            user = userTask.get();
+            counters = countersTask.get();
+        }
+        if (user == null) {
+            throw new IllegalArgumentException("User not found: " + userId);
+        }
 
-        // Most used tension combination (mains x crosses)
-        Map<String, Long> tensionCombinations = stringings.stream()
-                .filter(s -> s.getMainsTensionLbs() != null && s.getCrossesTensionLbs() != null)
-                .collect(Collectors.groupingBy(
-                        s -> s.getMainsTensionLbs().intValue() + " x " + s.getCrossesTensionLbs().intValue() + " lbs",
-                        Collectors.counting()
-                ));
-        
-        tensionCombinations.entrySet().stream()
+        if (!forceRefresh) {
+            if (counters != null && counters.isSeeded()) {
+                return buildAnalytics(user, counters.getCounters(), Instant.now());
+            }
+            log.info("Analytics counters for user {} are not seeded yet, recomputing", userId);
+        }
+
+        Instant now = Instant.now();
+        return buildAnalytics(user, recomputeCounters(userId, now, counters).counters(), now);
+    }
+
+    /**
+     * Recomputes the user's analytics counters from scratch, replaces the stored counters with the result
+     * and reports every counter where the write-time maintained value had drifted.
+     */
+    public AnalyticsReconciliationResponse reconcileAnalytics(UUID userId) {
+        log.info("Reconciling analytics counters for user {}", userId);
+
+        if (usersService.getUser(userId) == null) {
+            throw new IllegalArgumentException("User not found: " + userId);
+        }
+
+        Instant now = Instant.now();
+        Recount recount = recomputeCounters(userId, now, analyticsRepository.getCounters(userId));
+        AnalyticsCounters stored = recount.replaced();
+        Map<String, Long> storedCounters = stored != null ? stored.getCounters() : Map.of();
+        Map<String, Long> recomputed = recount.counters();
+
+        Set<String> names = new HashSet<>(storedCounters.keySet());
+        names.addAll(recomputed.keySet());
+        Map<String, Long> drift = new HashMap<>();
+        for (String name : names) {
+            long difference = recomputed.getOrDefault(name, 0L) - storedCounters.getOrDefault(name, 0L);
+            if (difference != 0) {
+                drift.put(name, difference);
+            }
+        }
+
+        if (!drift.isEmpty()) {
+            log.warn("Analytics counters for user {} drifted on {} counters: {}", userId, drift.size(), drift);
+        }
+        return new AnalyticsReconciliationResponse(userId, now, stored != null && stored.isSeeded(), drift);
+    }
+
+    /**
+     * The stored counters a recompute was checked against, and the recomputed ones.
+     */
+    private record Recount(AnalyticsCounters replaced, Map<String, Long> counters) {
+    }
+
+    /**
+     * Recomputes the user's counters and stores them, but only over the versions that were read before the
+     * stringings were: a change applied in between is retried rather than overwritten. If the counters keep
+     * changing, they are left to their increments and the recompute is only returned.
+     * @param stored the counters read before this call, null if the user has none
+     */
+    private Recount recomputeCounters(UUID userId, Instant seededAt, AnalyticsCounters stored) {
+        for (int attempt = 1; ; attempt++) {
+            Map<String, Long> counters;
+            try (FanOut fanOut = FanOut.open()) {
+                FanOut.Task<List<Stringing>> ownerTask = fanOut.fork(() -> stringingService.getStringingsByOwnerUserId(userId));
+                FanOut.Task<List<Stringing>> stringerTask = fanOut.fork(() -> stringingService.getStringingsByStringerUserId(userId));
+                fanOut.join();
+                counters = AnalyticsCountersService.computeCounters(ownerTask.get(), stringerTask.get());
+            }
+            if (analyticsRepository.saveCounters(userId, counters, seededAt, stored)) {
+                return new Recount(stored, counters);
+            }
+            if (attempt == MAX_RECOMPUTE_ATTEMPTS) {
+                log.warn("Analytics counters for user {} changed during {} recomputes, not replacing them", userId, attempt);
+                return new Recount(stored, counters);
+            }
+            log.info("Analytics counters for user {} changed during the recompute, retrying", userId);
+            stored = analyticsRepository.getCounters(userId);
+        }
+    }
+
+    private UserAnalytics buildAnalytics(User user, Map<String, Long> counters, Instant computedAt) {
+        UserAnalytics analytics = new UserAnalytics();
+        analytics.setPK(UserAnalytics.createPk(user.getUserId()));
+        analytics.setSK(UserAnalytics.createSk());
+        analytics.setUserId(user.getUserId());
+        analytics.setComputedAt(computedAt);
+
+        analytics.setTotalStringingsAsOwner(counters.getOrDefault(AnalyticsCountersService.OWNER_TOTAL, 0L).intValue());
+        analytics.setStringingsByState(countsWithPrefix(counters, AnalyticsCountersService.OWNER_STATE_PREFIX));
+        analytics.setStringTypeUsage(countsWithPrefix(counters, AnalyticsCountersService.OWNER_STRING_TYPE_PREFIX));
+        analytics.setRacketUsage(countsWithPrefix(counters, AnalyticsCountersService.OWNER_RACKET_PREFIX));
+        countsWithPrefix(counters, AnalyticsCountersService.OWNER_TENSION_PREFIX).entrySet().stream()
                 .max(Map.Entry.comparingByValue())
                 .ifPresent(entry -> {
                     analytics.setMostUsedTensionCombination(entry.getKey());
-                    analytics.setMostUsedTensionCount(entry.getValue().intValue());
+                    analytics.setMostUsedTensionCount(entry.getValue());
                 });
+        analytics.setMonthlyTrend(toTrend(countsWithPrefix(counters, AnalyticsCountersService.OWNER_MONTH_PREFIX)));
+        analytics.setTopStringers(topUserNames(userCountsWithPrefix(counters, AnalyticsCountersService.OWNER_STRINGER_PREFIX)));
+
+        // Always set stringer stats for stringer users, even if empty
+        if (Boolean.TRUE.equals(user.getIsStringer())) {
+            analytics.setTotalStringingsAsStringer(counters.getOrDefault(AnalyticsCountersService.STRINGER_TOTAL, 0L).intValue());
+            analytics.setTopCustomers(topUserNames(userCountsWithPrefix(counters, AnalyticsCountersService.STRINGER_CUSTOMER_PREFIX)));
+
+            long completionCount = counters.getOrDefault(AnalyticsCountersService.STRINGER_COMPLETION_HOURS_COUNT, 0L);
+            long completionHours = counters.getOrDefault(AnalyticsCountersService.STRINGER_COMPLETION_HOURS_SUM, 0L);
+            double avgCompletionTime = completionCount > 0 ? (double) completionHours / completionCount : 0.0;
+            analytics.setAverageCompletionTimeHours(Math.round(avgCompletionTime * 10) / 10.0);
+
+            long successful = counters.getOrDefault(AnalyticsCountersService.STRINGER_SUCCESSFUL, 0L);
+            long failed = counters.getOrDefault(AnalyticsCountersService.STRINGER_FAILED, 0L);
+            long totalCompleted = successful + failed;
+            double successRate = totalCompleted > 0 ? (double) successful / totalCompleted * 100 : 100.0;
+            analytics.setSuccessRate(Math.round(successRate * 10) / 10.0);
+
+            Map<String, Integer> stringerMonths = countsWithPrefix(counters, AnalyticsCountersService.STRINGER_MONTH_PREFIX);
+            analytics.setBusiestMonth(stringerMonths.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null));
+            analytics.setStringerStringTypeUsage(countsWithPrefix(counters, AnalyticsCountersService.STRINGER_STRING_TYPE_PREFIX));
+            analytics.setStringerRacketUsage(countsWithPrefix(counters, AnalyticsCountersService.STRINGER_RACKET_PREFIX));
+            analytics.setStringerMonthlyTrend(toTrend(stringerMonths));
+        }
+
+        return analytics;
+    }
+
+    private static Map<String, Integer> countsWithPrefix(Map<String, Long> counters, String prefix) {
+        Map<String, Integer> counts = new HashMap<>();
+        counters.forEach((name, count) -> {
+            if (count > 0 && name.startsWith(prefix)) {
+                counts.put(name.substring(prefix.length()), count.intValue());
+            }
+        });
+        return counts;
+    }
 
-        // Monthly trend (last 12 months)
-        Map<String, Integer> monthlyMap = stringings.stream()
-                .filter(s -> s.getCreatedAt() != null)
-                .collect(Collectors.groupingBy(
-                        s -> MONTH_FORMATTER.format(s.getCreatedAt().atZone(ZoneId.systemDefault())),
-                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)
-                ));
+    private static Map<UUID, Long> userCountsWithPrefix(Map<String, Long> counters, String prefix) {
+        Map<UUID, Long> counts = new HashMap<>();
+        countsWithPrefix(counters, prefix).forEach((userId, count) -> counts.put(UUID.fromString(userId), count.longValue()));
+        return counts;
+    }
 
-        List<MonthlyCount> trend = monthlyMap.entrySet().stream()
+    /**
+     * @return the counts of the last {@value #TREND_MONTHS} months (including the current one), oldest first
+     */
+    private static List<MonthlyCount> toTrend(Map<String, Integer> monthlyCounts) {
+        String firstMonth = MONTH_FORMATTER.format(YearMonth.now(ZoneId.systemDefault()).minusMonths(TREND_MONTHS - 1));
+        return monthlyCounts.entrySet().stream()
+                .filter(e -> e.getKey().compareTo(firstMonth) >= 0)
                 .sorted(Map.Entry.comparingByKey())
                 .map(e -> new MonthlyCount(e.getKey(), e.getValue()))
                 .collect(Collectors.toList());
-        analytics.setMonthlyTrend(trend);
-
-        // Top stringers - need to look up stringer names
-        Map<UUID, Long> stringerCounts = stringings.stream()
-                .filter(s -> s.getStringerUserId() != null)
-                .collect(Collectors.groupingBy(Stringing::getStringerUserId, Collectors.counting()));
+    }
 
-        Map<String, Integer> topStringers = new LinkedHashMap<>();
-        stringerCounts.entrySet().stream()
+    /**
+     * @return the display names of the 5 users with the highest counts, highest first
+     */
+    private Map<String, Integer> topUserNames(Map<UUID, Long> countsByUserId) {
+        List<Map.Entry<UUID, Long>> top = countsByUserId.entrySet().stream()
                 .sorted(Map.Entry.<UUID, Long>comparingByValue().reversed())
                 .limit(5)
-                .forEach(entry -> {
-                    User stringer = usersRepository.getUser(entry.getKey());
-                    String name = stringer != null 
-                            ? stringer.getGivenName() + " " + stringer.getFamilyName()
-                            : "Unknown";
-                    topStringers.put(name, entry.getValue().intValue());
-                });
-        analytics.setTopStringers(topStringers);
+                .toList();
+        Map<UUID, User> users = usersService.getUsers(top.stream().map(Map.Entry::getKey).toList());
+
+        Map<String, Integer> topUsers = new LinkedHashMap<>();
+        top.forEach(entry -> {
+            User user = users.get(entry.getKey());
+            String name = user != null
+                    ? user.getGivenName() + " " + user.getFamilyName()
+                    : "Unknown";
+            topUsers.put(name, entry.getValue().intValue());
+        });
+        return topUsers;
     }
 
-    private void computeStringerStats(UserAnalytics analytics, List<Stringing> stringings) {
-        analytics.setTotalStringingsAsStringer(stringings.size());
+    // package-private for AnalyticsServiceBenchmark
+    void computeOwnerStats(UserAnalytics analytics, List<Stringing> stringings) {
+        StringingStatsAggregator stats = StringingStatsAggregator.of(stringings, ZoneId.systemDefault());
 
-        // Top customers - need to look up owner names
-        Map<UUID, Long> ownerCounts = stringings.stream()
-                .filter(s -> s.getOwnerUserId() != null)
-                .collect(Collectors.groupingBy(Stringing::getOwnerUserId, Collectors.counting()));
+        analytics.setTotalStringingsAsOwner(stats.total());
+        analytics.setStringingsByState(stats.countsByState());
+        analytics.setStringTypeUsage(stats.countsByStringType());
+        analytics.setRacketUsage(stats.countsByRacket());
 
-        Map<String, Integer> topCustomers = new LinkedHashMap<>();
-        ownerCounts.entrySet().stream()
-                .sorted(Map.Entry.<UUID, Long>comparingByValue().reversed())
-                .limit(5)
-                .forEach(entry -> {
-                    User owner = usersRepository.getUser(entry.getKey());
-                    String name = owner != null 
-                            ? owner.getGivenName() + " " + owner.getFamilyName()
-                            : "Unknown";
-                    topCustomers.put(name, entry.getValue().intValue());
-                });
-        analytics.setTopCustomers(topCustomers);
-
-        // Average completion time (received -> finished or completed)
-        List<Long> completionTimes = stringings.stream()
-                .filter(s -> s.getReceivedAt() != null && 
-                        (s.getFinishedAt() != null || s.getCompletedAt() != null))
-                .map(s -> {
-                    Instant end = s.getFinishedAt() != null ? s.getFinishedAt() : s.getCompletedAt();
-                    return Duration.between(s.getReceivedAt(), end).toHours();
-                })
-                .collect(Collectors.toList());
+        // Most used tension combination (mains x crosses)
+        Map.Entry<String, Integer> mostUsedTension = stats.mostUsedTension();
+        if (mostUsedTension != null) {
+            analytics.setMostUsedTensionCombination(mostUsedTension.getKey());
+            analytics.setMostUsedTensionCount(mostUsedTension.getValue());
+        }
+
+        analytics.setMonthlyTrend(toTrend(stats.countsByMonth()));
+        analytics.setTopStringers(topUserNames(stats.countsByStringer()));
+    }
 
-        double avgCompletionTime = completionTimes.stream()
-                .mapToLong(Long::longValue)
-                .average()
-                .orElse(0.0);
-        analytics.setAverageCompletionTimeHours(Math.round(avgCompletionTime * 10) / 10.0);
+    // package-private for AnalyticsServiceBenchmark
+    void computeStringerStats(UserAnalytics analytics, List<Stringing> stringings) {
+        StringingStatsAggregator stats = StringingStatsAggregator.of(stringings, ZoneId.systemDefault());
+
+        analytics.setTotalStringingsAsStringer(stats.total());
+        analytics.setTopCustomers(topUserNames(stats.countsByOwner()));
+        analytics.setAverageCompletionTimeHours(Math.round(stats.averageCompletionHours() * 10) / 10.0);
 
         // Success rate - only count stringings in final states that represent actual stringing work
         // COMPLETED and FINISHED_BUT_NOT_PICKED_UP = success
         // FAILED_COMPLETED and FAILED_BUT_NOT_PICKED_UP = failure
         // CANCELED and DECLINED are final but don't represent work done, so excluded
-        long successful = stringings.stream()
-                .filter(s -> s.getState() == StringingState.COMPLETED || 
-                        s.getState() == StringingState.FINISHED_BUT_NOT_PICKED_UP)
-                .count();
-        long failed = stringings.stream()
-                .filter(s -> s.getState() == StringingState.FAILED_COMPLETED || 
-                        s.getState() == StringingState.FAILED_BUT_NOT_PICKED_UP)
-                .count();
-        long totalCompleted = successful + failed;
-        double successRate = totalCompleted > 0 ? (double) successful / totalCompleted * 100 : 100.0;
+        long totalCompleted = stats.successful() + stats.failed();
+        double successRate = totalCompleted > 0 ? (double) stats.successful() / totalCompleted * 100 : 100.0;
         analytics.setSuccessRate(Math.round(successRate * 10) / 10.0);
 
-        // Busiest month
-        Map<String, Long> monthlyCountsStringer = stringings.stream()
-                .filter(s -> s.getCreatedAt() != null)
-                .collect(Collectors.groupingBy(
-                        s -> MONTH_FORMATTER.format(s.getCreatedAt().atZone(ZoneId.systemDefault())),
-                        Collectors.counting()
-                ));
-        
-        String busiestMonth = monthlyCountsStringer.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(null);
-        analytics.setBusiestMonth(busiestMonth);
-
-        // String type usage for stringer
-        Map<String, Integer> stringerStringTypes = stringings.stream()
-                .filter(s -> s.getStringType() != null && !s.getStringType().isEmpty())
-                .collect(Collectors.groupingBy(
-                        Stringing::getStringType,
-                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)
-                ));
-        analytics.setStringerStringTypeUsage(stringerStringTypes);
-
-        // Racket usage for stringer (make + model)
-        Map<String, Integer> stringerRackets = stringings.stream()
-                .filter(s -> s.getRacketMake() != null && s.getRacketModel() != null)
-                .collect(Collectors.groupingBy(
-                        s -> s.getRacketMake() + " " + s.getRacketModel(),
-                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)
-                ));
-        analytics.setStringerRacketUsage(stringerRackets);
-
-        // Monthly trend for stringer
-        List<MonthlyCount> stringerTrend = monthlyCountsStringer.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(e -> new MonthlyCount(e.getKey(), e.getValue().intValue()))
-                .collect(Collectors.toList());
-        analytics.setStringerMonthlyTrend(stringerTrend);
+        analytics.setBusiestMonth(stats.busiestMonth());
+        analytics.setStringerStringTypeUsage(stats.countsByStringType());
+        analytics.setStringerRacketUsage(stats.countsByRacket());
+        analytics.setStringerMonthlyTrend(toTrend(stats.countsByMonth()));
     }
 }
@@ -0,0 +1,193 @@
+package com.wangindustries.badmintondbBackend.services;
+
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.amazonaws.services.lambda.runtime.events.models.dynamodb.StreamRecord;
+import com.wangindustries.badmintondbBackend.models.AnalyticsCounters;
+import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.models.TableSchemas;
+import com.wangindustries.badmintondbBackend.repositories.AnalyticsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Folds DynamoDB Stream records of {@code STRINGING#{id}/DETAILS} items into the per-user analytics counters,
+ * for deployments that run with {@code analytics.incremental.source=stream}.
+ *
+ * <p>Records are grouped into transactions of up to {@value #MAX_TRANSACT_ITEMS} items (one marker per record
+ * plus one counter update per affected counters item of each user). Each record's sequence number is written as a marker item in the
+ * same transaction as its counter changes, which makes redelivery idempotent. If a group contains an already
+ * applied record, or fails for any other reason, its records are retried one at a time; the first record that
+ * still fails is reported as the batch item failure so Lambda resumes the shard from there.</p>
+ */
+@Slf4j
+@Service
+public class AnalyticsStreamProcessor {
+
+    static final int MAX_TRANSACT_ITEMS = 100;
+    private static final TableSchema<Stringing> STRINGING_SCHEMA = TableSchemas.STRINGING;
+
+    @Autowired
+    private AnalyticsRepository analyticsRepository;
+
+    @Autowired
+    private AnalyticsCountersService analyticsCountersService;
+
+    public StreamsEventResponse process(DynamodbEvent event) {
+        List<StreamsEventResponse.BatchItemFailure> failures = new ArrayList<>();
+        if (!analyticsCountersService.isStreamSource()) {
+            log.warn("Ignoring {} stream records: analytics.incremental.source is not '{}'",
+                    event.getRecords().size(), AnalyticsCountersService.SOURCE_STREAM);
+            return new StreamsEventResponse(failures);
+        }
+
+        List<CounterChange> changes = new ArrayList<>();
+        for (DynamodbEvent.DynamodbStreamRecord record : event.getRecords()) {
+            StreamRecord streamRecord = record.getDynamodb();
+            if (!isStringingDetails(streamRecord.getKeys())) {
+                continue;
+            }
+            Map<UUID, Map<String, Long>> deltas = AnalyticsCountersService.computeDeltas(
+                    toStringing(streamRecord.getOldImage()),
+                    toStringing(streamRecord.getNewImage()));
+            if (!deltas.isEmpty()) {
+                changes.add(new CounterChange(streamRecord.getSequenceNumber(), deltas));
+            }
+        }
+
+        int start = 0;
+        while (start < changes.size()) {
+            int end = groupEnd(changes, start);
+            List<CounterChange> group = changes.subList(start, end);
+
+            if (group.size() == 1 || !applyGroup(group)) {
+                for (CounterChange change : group) {
+                    try {
+                        if (!analyticsRepository.addCountersOnce(List.of(change.sequenceNumber()), change.deltas())) {
+                            log.info("Skipping already applied stream record {}", change.sequenceNumber());
+                        }
+                    } catch (RuntimeException e) {
+                        log.error("Failed to apply stream record {}", change.sequenceNumber(), e);
+                        failures.add(new StreamsEventResponse.BatchItemFailure(change.sequenceNumber()));
+                        return new StreamsEventResponse(failures);
+                    }
+                }
+            }
+            start = end;
+        }
+
+        log.info("Processed {} analytics counter changes from {} stream records", changes.size(), event.getRecords().size());
+        return new StreamsEventResponse(failures);
+    }
+
+    /**
+     * @return true if the whole group was applied; false if it has to be retried record by record
+     */
+    private boolean applyGroup(List<CounterChange> group) {
+        List<String> sequenceNumbers = new ArrayList<>(group.size());
+        Map<UUID, Map<String, Long>> deltasByUser = new HashMap<>();
+        for (CounterChange change : group) {
+            sequenceNumbers.add(change.sequenceNumber());
+            change.deltas().forEach((userId, deltas) -> {
+                Map<String, Long> userDeltas = deltasByUser.computeIfAbsent(userId, id -> new HashMap<>());
+                deltas.forEach((name, delta) -> userDeltas.merge(name, delta, Long::sum));
+            });
+        }
+        deltasByUser.values().forEach(userDeltas -> userDeltas.values().removeIf(delta -> delta == 0));
+
+        try {
+            return analyticsRepository.addCountersOnce(sequenceNumbers, deltasByUser);
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply {} stream records as one transaction, retrying one by one", group.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * @return the exclusive end of the largest group starting at {@code start} that fits in one transaction
+     */
+    private static int groupEnd(List<CounterChange> changes, int start) {
+        Set<String> counterItems = new HashSet<>();
+        int end = start;
+        while (end < changes.size()) {
+            Set<String> withNext = new HashSet<>(counterItems);
+            changes.get(end).deltas().forEach((userId, deltas) ->
+                    deltas.keySet().forEach(name -> withNext.add(userId + "/" + AnalyticsCounters.createSk(name))));
+            if (end > start && (end - start + 1) + withNext.size() > MAX_TRANSACT_ITEMS) {
+                break;
+            }
+            counterItems = withNext;
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean isStringingDetails(Map<String, com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue> keys) {
+        if (keys == null || keys.get("PK") == null || keys.get("SK") == null) {
+            return false;
+        }
+        String pk = keys.get("PK").getS();
+        return pk != null && pk.startsWith(Stringing.PK_SYNTAX.formatted(""))
+                && Stringing.createSkDetails().equals(keys.get("SK").getS());
+    }
+
+    private static Stringing toStringing(Map<String, com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue> image) {
+        if (image == null || image.isEmpty()) {
+            return null;
+        }
+        Map<String, AttributeValue> item = new HashMap<>();
+        image.forEach((name, value) -> item.put(name, toAttributeValue(value)));
+        return STRINGING_SCHEMA.mapToItem(item);
+    }
+
+    /**
+     * Converts a stream image attribute (Lambda events model) to the SDK v2 model the table schema maps from.
+     */
+    static AttributeValue toAttributeValue(com.amazonaws.services.lambda.runtime.events.models.dynamodb.AttributeValue value) {
+        if (value.getS() != null) {
+            return AttributeValue.builder().s(value.getS()).build();
+        }
+        if (value.getN() != null) {
+            return AttributeValue.builder().n(value.getN()).build();
+        }
+        if (value.getBOOL() != null) {
+            return AttributeValue.builder().bool(value.getBOOL()).build();
+        }
+        if (value.getB() != null) {
+            return AttributeValue.builder().b(SdkBytes.fromByteBuffer(value.getB())).build();
+        }
+        if (value.getSS() != null) {
+            return AttributeValue.builder().ss(value.getSS()).build();
+        }
+        if (value.getNS() != null) {
+            return AttributeValue.builder().ns(value.getNS()).build();
+        }
+        if (value.getBS() != null) {
+            return AttributeValue.builder().bs(value.getBS().stream().map(SdkBytes::fromByteBuffer).toList()).build();
+        }
+        if (value.getM() != null) {
+            Map<String, AttributeValue> map = new HashMap<>();
+            value.getM().forEach((name, nested) -> map.put(name, toAttributeValue(nested)));
+            return AttributeValue.builder().m(map).build();
+        }
+        if (value.getL() != null) {
+            return AttributeValue.builder().l(value.getL().stream().map(AnalyticsStreamProcessor::toAttributeValue).toList()).build();
+        }
+        return AttributeValue.builder().nul(true).build();
+    }
+
+    private record CounterChange(String sequenceNumber, Map<UUID, Map<String, Long>> deltas) {
+    }
+}
@@ -4,6 +4,7 @@ import com.wangindustries.badmintondbBackend.models.User;
 import com.wangindustries.badmintondbBackend.repositories.UsersRepository;
 import com.wangindustries.badmintondbBackend.requests.LoginRequest;
 import com.wangindustries.badmintondbBackend.responses.LoginResponse;
+import com.wangindustries.badmintondbBackend.security.TokenVerifier;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,12 @@ public class AuthService {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private TokenVerifier tokenVerifier;
+
+    @Autowired
+    private UserProfileCache userProfileCache;
+
     public LoginResponse authenticate(LoginRequest request) {
         log.info("Attempting authentication for username: {}", request.getUsername());
 
@@ -36,6 +43,8 @@ public class AuthService {
             return null;
         }
 
+        upgradePasswordHashIfNeeded(user, request.getPassword());
+
         String token = jwtService.generateToken(user.getUserId(), user.getUsername());
 
         log.info("Authentication successful for user: {}", request.getUsername());
@@ -52,7 +61,31 @@ public class AuthService {
         );
     }
 
+    /**
+     * Re-hashes the password with the configured cost if the stored hash used a lower one. Best effort: a failure
+     * here never fails the login, the upgrade is just tried again on the next one.
+     */
+    private void upgradePasswordHashIfNeeded(User user, String rawPassword) {
+        String storedHash = user.getEncryptedPassword();
+        if (!passwordEncryptionService.needsRehash(storedHash)) {
+            return;
+        }
+
+        try {
+            String upgradedHash = passwordEncryptionService.encryptPassword(rawPassword);
+            if (usersRepository.replaceEncryptedPassword(user.getUserId(), storedHash, upgradedHash)) {
+                user.setEncryptedPassword(upgradedHash);
+                userProfileCache.invalidate(user.getUserId());
+                log.info("Upgraded password hash cost for user: {}", user.getUserId());
+            } else {
+                log.info("Password of user {} changed during login, not upgrading its hash", user.getUserId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to upgrade password hash for user {}: {}", user.getUserId(), e.getMessage());
+        }
+    }
+
     public boolean validateToken(String token) {
-        return jwtService.validateToken(token);
+        return tokenVerifier.verify(token) != null;
     }
 }
@@ -0,0 +1,139 @@
+package com.wangindustries.badmintondbBackend.services;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs independent blocking calls of one request (typically DynamoDB reads) in parallel on virtual threads, so the
+ * request takes about as long as the slowest call instead of their sum.
+ *
+ * <pre>{@code
+ * try (FanOut fanOut = FanOut.open()) {
+ *     FanOut.Task<User> user = fanOut.fork(() -> usersService.getUser(userId));
+ *     FanOut.Task<List<Stringing>> owned = fanOut.fork(() -> stringingService.getStringingsByOwnerUserId(userId));
+ *     fanOut.join();
+ *     ... user.get(), owned.get()
+ * }
+ * }</pre>
+ *
+ * <p>Like {@code StructuredTaskScope.ShutdownOnFailure} (still a preview API in Java 21): the first task to fail
+ * cancels the others and its exception is rethrown by {@link #join()}, and no task outlives the block.</p>
+ */
+public final class FanOut implements AutoCloseable {
+
+    private final List<Future<?>> futures = new CopyOnWriteArrayList<>();
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    private boolean joined;
+
+    private FanOut() {
+    }
+
+    public static FanOut open() {
+        return new FanOut();
+    }
+
+    public <T> Task<T> fork(Callable<T> call) {
+        if (joined) {
+            throw new IllegalStateException("Cannot fork after join");
+        }
+        FutureTask<T> future = new FutureTask<>(() -> {
+            try {
+                return call.call();
+            } catch (Exception | Error e) {
+                if (firstFailure.compareAndSet(null, e)) {
+                    futures.forEach(other -> other.cancel(true));
+                }
+                throw e;
+            }
+        });
+        futures.add(future);
+        threads.add(Thread.ofVirtual().start(future));
+        if (firstFailure.get() != null) {
+            future.cancel(true);
+        }
+        return new Task<>(future);
+    }
+
+    /**
+     * Waits for every forked task.
+     * @throws RuntimeException the first failure of any task (checked exceptions wrapped in IllegalStateException)
+     */
+    public void join() {
+        joined = true;
+        try {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException | CancellationException e) {
+                    // the failure that caused the cancellation is rethrown below
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for parallel calls", e);
+        }
+
+        Throwable failure = firstFailure.get();
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Parallel call failed", failure);
+        }
+    }
+
+    /**
+     * Cancels the tasks that are still running and waits until every task has finished, so none outlives the block.
+     * A task stuck in a call that ignores interrupts is waited for until that call's own timeout.
+     *
+     * <p>Waits for the threads rather than an executor: a virtual-thread-per-task executor counts a cancelled task
+     * as finished as soon as its future is cancelled, while the task may still be running.</p>
+     */
+    @Override
+    public void close() {
+        futures.forEach(future -> future.cancel(true));
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (true) {
+                try {
+                    thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The result of a forked call, available once {@link FanOut#join()} returned.
+     */
+    public static final class Task<T> {
+        private final Future<T> future;
+
+        private Task(Future<T> future) {
+            this.future = future;
+        }
+
+        public T get() {
+            if (!future.isDone()) {
+                throw new IllegalStateException("Task is not done, call join first");
+            }
+            return future.resultNow();
+        }
+    }
+}
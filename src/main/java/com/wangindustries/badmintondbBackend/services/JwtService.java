@@ -1,16 +1,26 @@
 package com.wangindustries.badmintondbBackend.services;
 
+import com.wangindustries.badmintondbBackend.security.AuthenticatedUser;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Date;
 import java.util.UUID;
 
+/**
+ * Issues and verifies HS256 tokens. The signing key and the (immutable, thread-safe) parser are built once;
+ * verifying a request's token should go through {@link com.wangindustries.badmintondbBackend.security.TokenVerifier},
+ * which caches the result.
+ */
 @Service
 public class JwtService {
 
@@ -20,49 +30,61 @@ public class JwtService {
     @Value("${jwt.expiration:86400000}")
     private long jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     public String generateToken(UUID userId, String username) {
+        return generateToken(userId, username, Duration.ofMillis(jwtExpiration));
+    }
+
+    /**
+     * Issues a token that expires after {@code validity} instead of the configured {@code jwt.expiration}.
+     */
+    public String generateToken(UUID userId, String username, Duration validity) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpiration);
+        Date expiryDate = new Date(now.getTime() + validity.toMillis());
 
         return Jwts.builder()
                 .subject(userId.toString())
                 .claim("username", username)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public UUID getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies the signature and expiry and reads the claims the API uses.
+     * @throws JwtException if the token is malformed, forged or expired
+     * @throws IllegalArgumentException if the token is empty or its subject is not a userId
+     */
+    public AuthenticatedUser parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new AuthenticatedUser(
+                UUID.fromString(claims.getSubject()),
+                claims.get("username", String.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
 
-        return UUID.fromString(claims.getSubject());
+    public UUID getUserIdFromToken(String token) {
+        return parse(token).userId();
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("username", String.class);
+        return parse(token).username();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parse(token);
             return true;
         } catch (Exception e) {
             return false;
@@ -1,23 +1,139 @@
 package com.wangindustries.badmintondbBackend.services;
 
+import com.wangindustries.badmintondbBackend.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashes and checks passwords with BCrypt on a small dedicated executor instead of the request thread.
+ *
+ * <p>BCrypt is deliberately CPU-bound, so a burst of logins would otherwise pin every servlet thread. The
+ * executor has {@code passwords.hashing.threads} threads and a queue of {@code passwords.hashing.queue-capacity};
+ * when the queue is full, or a hash is not done within {@code passwords.hashing.timeout}, a
+ * {@link PasswordHashingBusyException} is thrown, which the controllers answer with 503 and {@code Retry-After}.</p>
+ *
+ * <p>New hashes use cost {@code passwords.bcrypt.strength}; {@link #needsRehash(String)} tells whether a stored
+ * hash was made with a lower cost. Hash latency is recorded in the {@code passwords.hash} timer (tagged with the
+ * operation) and the queue depth as the {@code executor.queued} gauge tagged {@code name=passwordHashing}.</p>
+ */
+@Slf4j
 @Service
 public class PasswordEncryptionService {
 
-    private final PasswordEncoder passwordEncoder;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    @Autowired
+    public PasswordEncryptionService(MeterRegistry meterRegistry,
+                                     @Value("${passwords.bcrypt.strength:10}") int strength,
+                                     @Value("${passwords.hashing.threads:0}") int threads,
+                                     @Value("${passwords.hashing.queue-capacity:32}") int queueCapacity,
+                                     @Value("${passwords.hashing.timeout:5s}") Duration timeout,
+                                     @Value("${passwords.hashing.retry-after:1s}") Duration retryAfter) {
+        this(meterRegistry, new BCryptPasswordEncoder(strength), threads, queueCapacity, timeout, retryAfter);
+        log.info("Password hashing: bcrypt strength {}, {} threads, queue capacity {}",
+                strength, executor.getCorePoolSize(), queueCapacity);
+    }
+
+    PasswordEncryptionService(MeterRegistry meterRegistry, BCryptPasswordEncoder passwordEncoder, int threads,
+                              int queueCapacity, Duration timeout, Duration retryAfter) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
 
-    public PasswordEncryptionService() {
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        new ExecutorServiceMetrics(executor, "passwordHashing", Tags.empty()).bindTo(meterRegistry);
+        this.encodeTimer = Timer.builder("passwords.hash")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("passwords.hash")
+                .tag("operation", "matches")
+                .register(meterRegistry);
     }
 
+    /**
+     * @throws PasswordHashingBusyException if the hashing executor is saturated
+     */
     public String encryptPassword(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        return runHashing(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword)));
     }
 
+    /**
+     * @throws PasswordHashingBusyException if the hashing executor is saturated
+     */
     public boolean matches(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return runHashing(() -> matchesTimer.recordCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * @return true if the hash was made with a lower cost than the configured strength
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T runHashing(Callable<T> hashing) {
+        Future<T> future;
+        try {
+            future = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue is full ({} queued)", executor.getQueue().size());
+            throw new PasswordHashingBusyException("Password hashing is saturated", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Password hashing did not finish within {}", timeout);
+            throw new PasswordHashingBusyException("Password hashing timed out", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
     }
 }
@@ -1,24 +1,45 @@
 package com.wangindustries.badmintondbBackend.services;
 
+import com.wangindustries.badmintondbBackend.exceptions.ConcurrentUpdateException;
 import com.wangindustries.badmintondbBackend.exceptions.InvalidStateTransitionException;
 import com.wangindustries.badmintondbBackend.models.Stringing;
 import com.wangindustries.badmintondbBackend.models.StringingState;
 import com.wangindustries.badmintondbBackend.models.User;
+import com.wangindustries.badmintondbBackend.repositories.PageCursor;
 import com.wangindustries.badmintondbBackend.repositories.StringingRepository;
 import com.wangindustries.badmintondbBackend.requests.CreateStringingRequest;
+import com.wangindustries.badmintondbBackend.requests.StringingTransitionsRequest;
 import com.wangindustries.badmintondbBackend.requests.UpdateStringingRequest;
+import com.wangindustries.badmintondbBackend.responses.BatchItemResult;
+import com.wangindustries.badmintondbBackend.responses.BatchResponse;
+import com.wangindustries.badmintondbBackend.responses.PageResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class StringingService {
+    /** Read-modify-write attempts before a concurrently modified stringing is reported as a conflict */
+    static final int MAX_UPDATE_ATTEMPTS = 3;
 
     @Autowired
     private StringingRepository stringingRepository;
@@ -26,6 +47,21 @@ public class StringingService {
     @Autowired
     private UsersService usersService;
 
+    @Autowired
+    private AnalyticsCountersService analyticsCountersService;
+
+    /**
+     * When enabled, owner index items carry a copy of the list-view fields and are kept in sync with the
+     * DETAILS item on every update, so owner listings are served by the GSI query alone.
+     * Existing sparse items are converted by the owner index backfill job.
+     */
+    @Value("${stringing.owner-index.projected:false}")
+    private boolean projectedOwnerIndex;
+
+    /** How many transitions of one {@link #transitionStringings} call run at the same time */
+    @Value("${stringing.transitions.concurrency:16}")
+    private int transitionConcurrency;
+
     /**
      * Creates a new Stringing entity.
      *
@@ -63,62 +99,84 @@ public class StringingService {
      *   <li><b>Composite key in main table:</b> Store owner relationship in sort key patterns,
      *       but this complicates the primary access pattern (get by ID).</li>
      * </ul>
+     *
+     * <p>With {@code stringing.owner-index.projected} enabled the first alternative is used: the owner index
+     * item is a full copy of the list-view fields, and updates write both items in one transaction.</p>
      */
     public Stringing createStringing(CreateStringingRequest request) {
         log.info("Creating stringing with request: {}", request);
 
-        UUID stringingId = UUID.randomUUID();
-        Instant now = Instant.now();
+        // Look up owner name (from the user profile cache, so usually no read at all)
+        User owner = request.getOwnerUserId() != null ? usersService.getUser(request.getOwnerUserId()) : null;
+        Stringing stringing = newStringing(request, UUID.randomUUID(), Instant.now(), owner);
+        UUID stringingId = stringing.getStringingId();
+
+        // Owner index item: sparse item for owner GSI lookups, so "all stringings for owner X" is one query.
+        // By default it only points at the stringing; in projected mode it also carries the list-view fields.
+        // An update rewrites it in the same transaction as the DETAILS item when the owner changes (moving it
+        // to the new owner) or when it is projected; otherwise only the DETAILS item is written.
+        Stringing ownerIndexItem = request.getOwnerUserId() != null
+                ? Stringing.createOwnerIndexItem(stringing, projectedOwnerIndex)
+                : null;
+
+        // Both items in one transaction, conditional on the stringing not existing yet
+        if (!stringingRepository.createStringing(stringing, ownerIndexItem)) {
+            throw new IllegalStateException("Stringing already exists: " + stringingId);
+        }
 
-        // Main item: contains all stringing details, indexed by stringer in the GSI
-        Stringing stringing = new Stringing();
-        stringing.setPK(Stringing.createPk(stringingId));
-        stringing.setSK(Stringing.createSkDetails());
-        stringing.setStringingId(stringingId);
-        stringing.setStringerUserId(request.getStringerUserId());
-        stringing.setOwnerUserId(request.getOwnerUserId());
-        stringing.setRacketMake(request.getRacketMake());
-        stringing.setRacketModel(request.getRacketModel());
-        stringing.setStringType(request.getStringType());
-        stringing.setStringColor(request.getStringColor());
-        stringing.setMainsTensionLbs(request.getMainsTensionLbs());
-        stringing.setCrossesTensionLbs(request.getCrossesTensionLbs());
-        stringing.setState(StringingState.REQUESTED_BUT_NOT_DELIVERED);
-        stringing.setCreatedAt(now);
-        stringing.setRequestedAt(now);
+        analyticsCountersService.recordChange(null, stringing);
 
-        // Look up owner name
-        if (request.getOwnerUserId() != null) {
-            User owner = usersService.getUser(request.getOwnerUserId());
-            if (owner != null) {
-                String ownerName = (owner.getGivenName() + " " + owner.getFamilyName()).trim();
-                stringing.setOwnerName(ownerName);
-            }
-        }
+        log.info("Successfully created stringing: {}", stringing);
+        return stringing;
+    }
 
-        if (request.getStringerUserId() != null) {
-            stringing.setGsiPk(Stringing.createGsiStringerPk(request.getStringerUserId()));
-            stringing.setGsiSk(Stringing.createGsiSk(stringingId));
-        }
+    /**
+     * Creates many stringings in one request. Owners are looked up once per distinct owner (profile cache, then
+     * one BatchGetItem for the misses) and all DETAILS and owner index items are written with BatchWriteItem,
+     * 25 per request with the chunks in parallel. Each stringing is created completely or not at all, but unlike
+     * {@link #createStringing} the batch as a whole is not atomic.
+     * @return one result per request, in request order
+     */
+    public BatchResponse<Stringing> createStringings(List<CreateStringingRequest> requests) {
+        log.info("Creating {} stringings", requests.size());
+        Instant now = Instant.now();
 
-        stringingRepository.saveStringing(stringing);
+        Set<UUID> ownerUserIds = requests.stream()
+                .map(CreateStringingRequest::getOwnerUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, User> owners = ownerUserIds.isEmpty() ? new HashMap<>() : usersService.getUsers(ownerUserIds);
+
+        List<Stringing> stringings = new ArrayList<>(requests.size());
+        List<Stringing> items = new ArrayList<>(requests.size() * 2);
+        for (CreateStringingRequest request : requests) {
+            User owner = request.getOwnerUserId() != null ? owners.get(request.getOwnerUserId()) : null;
+            Stringing stringing = newStringing(request, UUID.randomUUID(), now, owner);
+            stringings.add(stringing);
+            items.add(stringing);
+            if (request.getOwnerUserId() != null) {
+                items.add(Stringing.createOwnerIndexItem(stringing, projectedOwnerIndex));
+            }
+        }
 
-        // Owner index item: sparse item for owner GSI lookups (only contains stringingId)
-        // This allows querying "all stringings for owner X" without duplicating full data.
-        // Updates only need to modify the main DETAILS item since this is just an index pointer.
-        if (request.getOwnerUserId() != null) {
-            Stringing ownerIndexItem = new Stringing();
-            ownerIndexItem.setPK(Stringing.createPk(stringingId));
-            ownerIndexItem.setSK(Stringing.createSkOwner(request.getOwnerUserId()));
-            ownerIndexItem.setStringingId(stringingId);
-            ownerIndexItem.setGsiPk(Stringing.createGsiOwnerPk(request.getOwnerUserId()));
-            ownerIndexItem.setGsiSk(Stringing.createGsiSk(stringingId));
-
-            stringingRepository.saveStringing(ownerIndexItem);
+        Set<UUID> failedIds = stringingRepository.saveNewStringings(items);
+
+        List<BatchItemResult<Stringing>> results = new ArrayList<>(stringings.size());
+        List<Stringing> created = new ArrayList<>(stringings.size());
+        for (int i = 0; i < stringings.size(); i++) {
+            Stringing stringing = stringings.get(i);
+            if (failedIds.contains(stringing.getStringingId())) {
+                results.add(BatchItemResult.failure(i, BatchItemResult.WRITE_FAILED,
+                        "Stringing could not be written, please retry"));
+            } else {
+                results.add(BatchItemResult.success(i, stringing));
+                created.add(stringing);
+            }
         }
+        analyticsCountersService.recordChanges(Collections.nCopies(created.size(), null), created);
 
-        log.info("Successfully created stringing: {}", stringing);
-        return stringing;
+        log.info("Created {} of {} stringings", created.size(), requests.size());
+        return new BatchResponse<>(created.size(), stringings.size() - created.size(), results);
     }
 
     public Stringing getStringing(UUID stringingId) {
@@ -131,15 +189,91 @@ public class StringingService {
         return stringingRepository.getStringingsByStringerUserId(stringerUserId);
     }
 
+    /**
+     * One page of a stringer's stringings created in [from, to), newest first.
+     * @param from inclusive lower bound on createdAt, or null
+     * @param to exclusive upper bound on createdAt, or null
+     */
+    public PageResponse<Stringing> getStringingsByStringerUserId(UUID stringerUserId, Instant from, Instant to,
+                                                                 String cursor, int limit) {
+        log.info("Getting stringings page for stringer: {} (from={}, to={}, limit={}, cursor={})",
+                stringerUserId, from, to, limit, cursor);
+        validateRange(from, to);
+        Page<Stringing> page = stringingRepository.getStringingsByStringerUserIdPage(
+                stringerUserId, from, to, PageCursor.decode(cursor), PageResponse.validateLimit(limit));
+        return new PageResponse<>(page.items(), PageCursor.encode(page.lastEvaluatedKey()));
+    }
+
+    /**
+     * One page of a stringer's open queue: stringings not in a final state, oldest first.
+     */
+    public PageResponse<Stringing> getActiveStringingsByStringerUserId(UUID stringerUserId, String cursor, int limit) {
+        log.info("Getting active stringings page for stringer: {} (limit={}, cursor={})", stringerUserId, limit, cursor);
+        Page<Stringing> page = stringingRepository.getActiveStringingsByStringerUserIdPage(
+                stringerUserId, PageCursor.decode(cursor), PageResponse.validateLimit(limit));
+        return new PageResponse<>(page.items(), PageCursor.encode(page.lastEvaluatedKey()));
+    }
+
     public List<Stringing> getStringingsByOwnerUserId(UUID ownerUserId) {
         log.info("Getting stringings for owner: {}", ownerUserId);
-        // Owner index items are sparse (only contain stringingId for GSI lookups)
-        // We need to fetch full details for each stringing
-        List<Stringing> sparseItems = stringingRepository.getStringingsByOwnerUserId(ownerUserId);
-        return sparseItems.stream()
-                .map(sparse -> stringingRepository.getStringing(sparse.getStringingId()))
-                .filter(stringing -> stringing != null)
-                .collect(java.util.stream.Collectors.toList());
+        return toDetails(stringingRepository.getStringingsByOwnerUserId(ownerUserId));
+    }
+
+    /**
+     * One page of an owner's stringings created in [from, to), newest first. The cursor points into the owner
+     * index, so a page may hold fewer items than the limit if some index items have no DETAILS item.
+     * @param from inclusive lower bound on createdAt, or null
+     * @param to exclusive upper bound on createdAt, or null
+     */
+    public PageResponse<Stringing> getStringingsByOwnerUserId(UUID ownerUserId, Instant from, Instant to,
+                                                              String cursor, int limit) {
+        log.info("Getting stringings page for owner: {} (from={}, to={}, limit={}, cursor={})",
+                ownerUserId, from, to, limit, cursor);
+        validateRange(from, to);
+        Page<Stringing> page = stringingRepository.getStringingsByOwnerUserIdPage(
+                ownerUserId, from, to, PageCursor.decode(cursor), PageResponse.validateLimit(limit));
+        return new PageResponse<>(toDetails(page.items()), PageCursor.encode(page.lastEvaluatedKey()));
+    }
+
+    private static void validateRange(Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to, was from=" + from + ", to=" + to);
+        }
+    }
+
+    /**
+     * Turns owner index items into the DETAILS items they point at, keeping their order.
+     */
+    private List<Stringing> toDetails(List<Stringing> indexItems) {
+        if (!projectedOwnerIndex) {
+            // Owner index items are sparse (only contain stringingId for GSI lookups)
+            // so the full details are hydrated in batches of 100 rather than one GetItem per stringing
+            return stringingRepository.getStringings(indexItems.stream()
+                    .map(Stringing::getStringingId)
+                    .toList());
+        }
+
+        // Projected items are served as-is; only sparse items the backfill has not reached yet are hydrated
+        List<UUID> sparseIds = indexItems.stream()
+                .filter(indexItem -> indexItem.getState() == null)
+                .map(Stringing::getStringingId)
+                .toList();
+        if (sparseIds.isEmpty()) {
+            return indexItems.stream().map(Stringing::createDetailsView).toList();
+        }
+
+        Map<UUID, Stringing> hydrated = stringingRepository.getStringings(sparseIds).stream()
+                .collect(Collectors.toMap(Stringing::getStringingId, Function.identity()));
+        List<Stringing> stringings = new ArrayList<>(indexItems.size());
+        for (Stringing indexItem : indexItems) {
+            Stringing stringing = indexItem.getState() != null
+                    ? Stringing.createDetailsView(indexItem)
+                    : hydrated.get(indexItem.getStringingId());
+            if (stringing != null) {
+                stringings.add(stringing);
+            }
+        }
+        return stringings;
     }
 
     /**
@@ -147,27 +281,167 @@ public class StringingService {
      *
      * <p><b>Update Strategy:</b></p>
      * <p>
-     * Since the owner index item is sparse (only contains stringingId for GSI lookups),
-     * most updates only need to modify the main DETAILS item. However, special handling
-     * is required when:
+     * Only the attributes that change are written, as one conditional UpdateExpression that also increments
+     * the item's version:
      * <ul>
-     *   <li><b>ownerUserId changes:</b> Must delete old owner index item and create new one</li>
-     *   <li><b>stringerUserId changes:</b> Must update gsiPk on main item</li>
-     *   <li><b>state changes:</b> Must update corresponding timestamp and validate transition</li>
+     *   <li><b>State change only</b> (no stringer or owner change, owner index not projected): one write with
+     *       no prior read. The condition requires a current state that can transition to the requested one,
+     *       so DynamoDB enforces {@link StringingState#canTransitionTo} itself.</li>
+     *   <li><b>Anything else:</b> read, validate and write conditional on the version that was read. If another
+     *       update got in between, the update is re-applied to a fresh read, up to {@value #MAX_UPDATE_ATTEMPTS}
+     *       attempts.</li>
      * </ul>
+     * Whenever the owner index item has to be written too (owner change, or projected owner index mode),
+     * the DETAILS update, the new owner index item and the deletion of the old one go in one transaction.
      * </p>
      *
+     * @return the updated stringing, or null if it does not exist
      * @throws InvalidStateTransitionException if the requested state transition is invalid
+     * @throws ConcurrentUpdateException if the stringing kept changing concurrently
      */
     public Stringing updateStringing(UUID stringingId, UpdateStringingRequest request) {
         log.info("Updating stringing {} with request: {}", stringingId, request);
+        Instant now = Instant.now();
 
-        Stringing existing = stringingRepository.getStringing(stringingId);
-        if (existing == null) {
-            log.warn("Stringing not found: {}", stringingId);
-            return null;
+        Stringing existing;
+        if (canUpdateWithoutRead(request)) {
+            Stringing patch = new Stringing();
+            applyRequest(patch, request, now);
+            Map<String, AttributeValue> changes = StringingRepository.changedAttributes(new Stringing(), patch);
+            if (request.getState().isFinalState()) {
+                // Leaves the stringer's active queue
+                changes.put("activeGsiPk", null);
+            }
+
+            StringingRepository.AttributeUpdate result = stringingRepository.updateAttributes(
+                    stringingId, changes, StringingRepository.transitionCondition(request.getState()));
+            if (result.applied()) {
+                Stringing updated = Stringing.copyOf(result.previous());
+                applyRequest(updated, request, now);
+                updated.setVersion(nextVersion(result.previous()));
+                analyticsCountersService.recordChange(result.previous(), updated);
+                log.info("Successfully updated stringing: {}", updated);
+                return updated;
+            }
+            // The failed condition returned the current item: validate against it as if it had been read
+            existing = result.previous();
+        } else {
+            existing = stringingRepository.getStringing(stringingId);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            if (existing == null) {
+                log.warn("Stringing not found: {}", stringingId);
+                return null;
+            }
+
+            Stringing updated = tryVersionedUpdate(existing, request, now);
+            if (updated != null) {
+                log.info("Successfully updated stringing: {}", updated);
+                return updated;
+            }
+            if (attempt == MAX_UPDATE_ATTEMPTS) {
+                log.warn("Giving up on stringing {} after {} concurrent modifications", stringingId, attempt);
+                throw new ConcurrentUpdateException(
+                        String.format("Stringing %s was modified concurrently, please retry", stringingId));
+            }
+            log.info("Stringing {} was modified concurrently, retrying", stringingId);
+            existing = stringingRepository.getStringing(stringingId);
+        }
+    }
+
+    /**
+     * Applies many state transitions in one request, at most {@code stringing.transitions.concurrency} at a time.
+     * Each one goes through {@link #updateStringing}, so a transition is a single conditional write with no prior
+     * read (unless the owner index is projected), and an invalid one is rejected by DynamoDB's condition.
+     * Targets no state can transition to (see {@link StringingState#statesTransitioningTo}) and repeated ids are
+     * rejected up front.
+     * @return one result per transition, in request order
+     */
+    public BatchResponse<Stringing> transitionStringings(List<StringingTransitionsRequest.Transition> transitions) {
+        log.info("Applying {} state transitions", transitions.size());
+
+        List<BatchItemResult<Stringing>> results = new ArrayList<>(Collections.nCopies(transitions.size(), null));
+        List<FanOut.Task<BatchItemResult<Stringing>>> tasks = new ArrayList<>(Collections.nCopies(transitions.size(), null));
+        Set<UUID> seen = new HashSet<>();
+        Semaphore permits = new Semaphore(transitionConcurrency);
+
+        try (FanOut fanOut = FanOut.open()) {
+            for (int i = 0; i < transitions.size(); i++) {
+                int index = i;
+                StringingTransitionsRequest.Transition transition = transitions.get(i);
+                if (!seen.add(transition.getStringingId())) {
+                    results.set(i, BatchItemResult.failure(i, BatchItemResult.DUPLICATE,
+                            "Stringing " + transition.getStringingId() + " appears more than once in the batch"));
+                } else if (StringingState.statesTransitioningTo(transition.getTargetState()).isEmpty()) {
+                    results.set(i, BatchItemResult.failure(i, BatchItemResult.INVALID_STATE_TRANSITION,
+                            "No state can transition to " + transition.getTargetState()));
+                } else {
+                    tasks.set(i, fanOut.fork(() -> applyTransition(index, transition, permits)));
+                }
+            }
+            fanOut.join();
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i) != null) {
+                results.set(i, tasks.get(i).get());
+            }
+        }
+
+        int succeeded = (int) results.stream().filter(BatchItemResult::isSuccess).count();
+        log.info("Applied {} of {} state transitions", succeeded, transitions.size());
+        return new BatchResponse<>(succeeded, results.size() - succeeded, results);
+    }
+
+    /**
+     * Never throws, so one failed transition does not cancel the others.
+     */
+    private BatchItemResult<Stringing> applyTransition(int index, StringingTransitionsRequest.Transition transition,
+                                                       Semaphore permits) {
+        UUID stringingId = transition.getStringingId();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return BatchItemResult.failure(index, BatchItemResult.WRITE_FAILED, "Interrupted, please retry");
         }
 
+        try {
+            UpdateStringingRequest request = new UpdateStringingRequest();
+            request.setState(transition.getTargetState());
+            Stringing updated = updateStringing(stringingId, request);
+            if (updated == null) {
+                return BatchItemResult.failure(index, BatchItemResult.NOT_FOUND, "Stringing not found: " + stringingId);
+            }
+            return BatchItemResult.success(index, updated);
+        } catch (InvalidStateTransitionException e) {
+            return BatchItemResult.failure(index, BatchItemResult.INVALID_STATE_TRANSITION, e.getMessage());
+        } catch (ConcurrentUpdateException e) {
+            return BatchItemResult.failure(index, BatchItemResult.CONFLICT, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Failed to transition stringing {} to {}", stringingId, transition.getTargetState(), e);
+            return BatchItemResult.failure(index, BatchItemResult.WRITE_FAILED, "Transition failed, please retry");
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean canUpdateWithoutRead(UpdateStringingRequest request) {
+        return request.getState() != null
+                && request.getStringerUserId() == null
+                && request.getOwnerUserId() == null
+                && !projectedOwnerIndex
+                && !StringingState.statesTransitioningTo(request.getState()).isEmpty();
+    }
+
+    /**
+     * Validates the request against the item as read and writes the attributes that differ, conditional on
+     * the item still having the version that was read.
+     * @return the updated stringing, or null if the item was modified since it was read
+     */
+    private Stringing tryVersionedUpdate(Stringing existing, UpdateStringingRequest request, Instant now) {
+        UUID stringingId = existing.getStringingId();
         StringingState currentState = existing.getState();
 
         if (currentState.isFinalState()) {
@@ -183,70 +457,122 @@ public class StringingService {
             }
         }
 
+        Stringing updated = Stringing.copyOf(existing);
+        applyRequest(updated, request, now);
+        if (updated.getGsiSk() != null && updated.getGsiSk().startsWith(Stringing.LEGACY_GSI_SK_PREFIX)) {
+            updated.setGsiSk(Stringing.createGsiSk(updated.getCreatedAt(), stringingId));
+        }
+
+        Map<String, AttributeValue> changes = StringingRepository.changedAttributes(existing, updated);
+        Expression condition = StringingRepository.versionCondition(existing.getVersion());
         UUID oldOwnerUserId = existing.getOwnerUserId();
-        UUID oldStringerUserId = existing.getStringerUserId();
-        Instant now = Instant.now();
+        boolean ownerChanged = request.getOwnerUserId() != null &&
+                !Objects.equals(oldOwnerUserId, request.getOwnerUserId());
 
+        boolean applied;
+        if (ownerChanged || (projectedOwnerIndex && updated.getOwnerUserId() != null)) {
+            Stringing ownerIndexItem = Stringing.createOwnerIndexItem(updated, projectedOwnerIndex);
+            UUID staleOwnerUserId = ownerChanged ? oldOwnerUserId : null;
+            applied = stringingRepository.updateAttributesWithOwnerIndex(
+                    stringingId, changes, condition, ownerIndexItem, staleOwnerUserId);
+        } else {
+            applied = stringingRepository.updateAttributes(stringingId, changes, condition).applied();
+        }
+        if (!applied) {
+            return null;
+        }
+
+        updated.setVersion(nextVersion(existing));
+        analyticsCountersService.recordChange(existing, updated);
+        return updated;
+    }
+
+    /**
+     * Sets the fields the request changes. The stringer change needs the item's createdAt and id, so it only
+     * applies to an item that was read.
+     */
+    private void applyRequest(Stringing stringing, UpdateStringingRequest request, Instant now) {
         if (request.getStringerUserId() != null) {
-            existing.setStringerUserId(request.getStringerUserId());
-            existing.setGsiPk(Stringing.createGsiStringerPk(request.getStringerUserId()));
-            existing.setGsiSk(Stringing.createGsiSk(stringingId));
+            stringing.setStringerUserId(request.getStringerUserId());
+            stringing.setGsiPk(Stringing.createGsiStringerPk(request.getStringerUserId()));
+            stringing.setGsiSk(Stringing.createGsiSk(stringing.getCreatedAt(), stringing.getStringingId()));
         }
 
         if (request.getOwnerUserId() != null) {
-            existing.setOwnerUserId(request.getOwnerUserId());
+            stringing.setOwnerUserId(request.getOwnerUserId());
         }
 
         if (request.getRacketMake() != null) {
-            existing.setRacketMake(request.getRacketMake());
+            stringing.setRacketMake(request.getRacketMake());
         }
 
         if (request.getRacketModel() != null) {
-            existing.setRacketModel(request.getRacketModel());
+            stringing.setRacketModel(request.getRacketModel());
         }
 
         if (request.getStringType() != null) {
-            existing.setStringType(request.getStringType());
+            stringing.setStringType(request.getStringType());
         }
 
         if (request.getStringColor() != null) {
-            existing.setStringColor(request.getStringColor());
+            stringing.setStringColor(request.getStringColor());
         }
 
         if (request.getMainsTensionLbs() != null) {
-            existing.setMainsTensionLbs(request.getMainsTensionLbs());
+            stringing.setMainsTensionLbs(request.getMainsTensionLbs());
         }
 
         if (request.getCrossesTensionLbs() != null) {
-            existing.setCrossesTensionLbs(request.getCrossesTensionLbs());
+            stringing.setCrossesTensionLbs(request.getCrossesTensionLbs());
         }
 
-        if (request.getState() != null && request.getState() != existing.getState()) {
-            existing.setState(request.getState());
-            updateStateTimestamp(existing, request.getState(), now);
+        if (request.getState() != null && request.getState() != stringing.getState()) {
+            stringing.setState(request.getState());
+            updateStateTimestamp(stringing, request.getState(), now);
         }
+        // Leaves the stringer's active queue once the stringing reaches a final state
+        stringing.setActiveGsiPk(Stringing.createActiveGsiPk(stringing.getStringerUserId(), stringing.getState()));
+    }
 
-        stringingRepository.updateStringing(existing);
+    private static long nextVersion(Stringing previous) {
+        return previous.getVersion() == null ? 1L : previous.getVersion() + 1;
+    }
 
-        boolean ownerChanged = request.getOwnerUserId() != null &&
-                !Objects.equals(oldOwnerUserId, request.getOwnerUserId());
+    /**
+     * Builds the DETAILS item of a new stringing.
+     * @param owner the owner's profile for the denormalized owner name, or null
+     */
+    private static Stringing newStringing(CreateStringingRequest request, UUID stringingId, Instant now, User owner) {
+        // Main item: contains all stringing details, indexed by stringer in the GSI
+        Stringing stringing = new Stringing();
+        stringing.setPK(Stringing.createPk(stringingId));
+        stringing.setSK(Stringing.createSkDetails());
+        stringing.setStringingId(stringingId);
+        stringing.setStringerUserId(request.getStringerUserId());
+        stringing.setOwnerUserId(request.getOwnerUserId());
+        stringing.setRacketMake(request.getRacketMake());
+        stringing.setRacketModel(request.getRacketModel());
+        stringing.setStringType(request.getStringType());
+        stringing.setStringColor(request.getStringColor());
+        stringing.setMainsTensionLbs(request.getMainsTensionLbs());
+        stringing.setCrossesTensionLbs(request.getCrossesTensionLbs());
+        stringing.setState(StringingState.REQUESTED_BUT_NOT_DELIVERED);
+        stringing.setCreatedAt(now);
+        stringing.setRequestedAt(now);
+        stringing.setVersion(1L);
 
-        if (ownerChanged) {
-            if (oldOwnerUserId != null) {
-                stringingRepository.deleteOwnerIndexItem(stringingId, oldOwnerUserId);
-            }
+        if (owner != null) {
+            String ownerName = (owner.getGivenName() + " " + owner.getFamilyName()).trim();
+            stringing.setOwnerName(ownerName);
+        }
 
-            Stringing newOwnerIndexItem = new Stringing();
-            newOwnerIndexItem.setPK(Stringing.createPk(stringingId));
-            newOwnerIndexItem.setSK(Stringing.createSkOwner(request.getOwnerUserId()));
-            newOwnerIndexItem.setStringingId(stringingId);
-            newOwnerIndexItem.setGsiPk(Stringing.createGsiOwnerPk(request.getOwnerUserId()));
-            newOwnerIndexItem.setGsiSk(Stringing.createGsiSk(stringingId));
-            stringingRepository.saveStringing(newOwnerIndexItem);
+        if (request.getStringerUserId() != null) {
+            stringing.setGsiPk(Stringing.createGsiStringerPk(request.getStringerUserId()));
+            stringing.setGsiSk(Stringing.createGsiSk(now, stringingId));
+            stringing.setActiveGsiPk(Stringing.createActiveGsiPk(request.getStringerUserId(), stringing.getState()));
         }
 
-        log.info("Successfully updated stringing: {}", existing);
-        return existing;
+        return stringing;
     }
 
     private void updateStateTimestamp(Stringing stringing, StringingState newState, Instant timestamp) {
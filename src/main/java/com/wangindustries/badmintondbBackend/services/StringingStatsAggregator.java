@@ -0,0 +1,353 @@
+package com.wangindustries.badmintondbBackend.services;
+
+import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.models.StringingState;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Computes every full-recompute analytics figure of a list of stringings in a single pass.
+ *
+ * <p>The loop does not allocate per stringing: states are counted in an array indexed by ordinal, string
+ * types, racket makes/models and users are dictionary-encoded to int ids on first sight, rackets and
+ * tension combinations are counted under a packed {@code long} key, and months are bucketed as an
+ * epoch-month int computed arithmetically from the epoch second and the zone offset. Display strings
+ * ({@code "Yonex Astrox 88D"}, {@code "24 x 26 lbs"}, {@code "2025-03"}) are only built once per distinct
+ * key when the result maps are read.</p>
+ *
+ * <p>Not thread-safe; use one instance per computation.</p>
+ */
+final class StringingStatsAggregator {
+    private static final StringingState[] STATES = StringingState.values();
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final long SECONDS_PER_HOUR = 3_600;
+
+    private final ZoneRules zoneRules;
+
+    private int total;
+    private final int[] stateCounts = new int[STATES.length];
+    private final Dictionary<String> stringTypes = new Dictionary<>();
+    private final Dictionary<String> racketMakes = new Dictionary<>();
+    private final Dictionary<String> racketModels = new Dictionary<>();
+    private final LongCounter rackets = new LongCounter();
+    private final LongCounter tensions = new LongCounter();
+    private final LongCounter months = new LongCounter();
+    private final Dictionary<UUID> stringers = new Dictionary<>();
+    private final Dictionary<UUID> owners = new Dictionary<>();
+    private long completionHoursSum;
+    private int completionCount;
+    private int successful;
+    private int failed;
+
+    StringingStatsAggregator(ZoneId zone) {
+        this.zoneRules = zone.getRules();
+    }
+
+    static StringingStatsAggregator of(List<Stringing> stringings, ZoneId zone) {
+        StringingStatsAggregator aggregator = new StringingStatsAggregator(zone);
+        for (Stringing stringing : stringings) {
+            aggregator.add(stringing);
+        }
+        return aggregator;
+    }
+
+    void add(Stringing s) {
+        total++;
+
+        StringingState state = s.getState();
+        if (state != null) {
+            stateCounts[state.ordinal()]++;
+            if (state == StringingState.COMPLETED || state == StringingState.FINISHED_BUT_NOT_PICKED_UP) {
+                successful++;
+            } else if (state == StringingState.FAILED_COMPLETED || state == StringingState.FAILED_BUT_NOT_PICKED_UP) {
+                failed++;
+            }
+        }
+
+        String stringType = s.getStringType();
+        if (stringType != null && !stringType.isEmpty()) {
+            stringTypes.increment(stringType);
+        }
+
+        if (s.getRacketMake() != null && s.getRacketModel() != null) {
+            rackets.increment(pack(racketMakes.idOf(s.getRacketMake()), racketModels.idOf(s.getRacketModel())));
+        }
+
+        if (s.getMainsTensionLbs() != null && s.getCrossesTensionLbs() != null) {
+            tensions.increment(pack(s.getMainsTensionLbs().intValue(), s.getCrossesTensionLbs().intValue()));
+        }
+
+        Instant createdAt = s.getCreatedAt();
+        if (createdAt != null) {
+            months.increment(epochMonth(createdAt));
+        }
+
+        if (s.getStringerUserId() != null) {
+            stringers.increment(s.getStringerUserId());
+        }
+        if (s.getOwnerUserId() != null) {
+            owners.increment(s.getOwnerUserId());
+        }
+
+        // Completion time (received -> finished or completed), in whole hours like Duration.toHours()
+        Instant receivedAt = s.getReceivedAt();
+        Instant end = s.getFinishedAt() != null ? s.getFinishedAt() : s.getCompletedAt();
+        if (receivedAt != null && end != null) {
+            long seconds = end.getEpochSecond() - receivedAt.getEpochSecond();
+            if (end.getNano() < receivedAt.getNano()) {
+                seconds--;
+            }
+            completionHoursSum += seconds / SECONDS_PER_HOUR;
+            completionCount++;
+        }
+    }
+
+    int total() {
+        return total;
+    }
+
+    Map<String, Integer> countsByState() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < stateCounts.length; i++) {
+            if (stateCounts[i] > 0) {
+                counts.put(STATES[i].name(), stateCounts[i]);
+            }
+        }
+        return counts;
+    }
+
+    Map<String, Integer> countsByStringType() {
+        return stringTypes.toMap();
+    }
+
+    /**
+     * @return counts keyed by {@code "{make} {model}"}
+     */
+    Map<String, Integer> countsByRacket() {
+        Map<String, Integer> counts = new HashMap<>();
+        rackets.forEach((key, count) -> counts.merge(
+                racketMakes.keyOf(high(key)) + " " + racketModels.keyOf(low(key)), count, Integer::sum));
+        return counts;
+    }
+
+    /**
+     * @return the most used {@code "{mains} x {crosses} lbs"} combination and its count, or null if none
+     */
+    Map.Entry<String, Integer> mostUsedTension() {
+        long[] best = {0, 0};
+        tensions.forEach((key, count) -> {
+            if (count > best[1]) {
+                best[0] = key;
+                best[1] = count;
+            }
+        });
+        if (best[1] == 0) {
+            return null;
+        }
+        return Map.entry(high(best[0]) + " x " + low(best[0]) + " lbs", (int) best[1]);
+    }
+
+    /**
+     * @return counts keyed by {@code yyyy-MM}
+     */
+    Map<String, Integer> countsByMonth() {
+        Map<String, Integer> counts = new HashMap<>();
+        months.forEach((epochMonth, count) -> counts.put(formatMonth(epochMonth), count));
+        return counts;
+    }
+
+    /**
+     * @return the {@code yyyy-MM} month with the most stringings, or null if none
+     */
+    String busiestMonth() {
+        long[] best = {0, 0};
+        months.forEach((epochMonth, count) -> {
+            if (count > best[1]) {
+                best[0] = epochMonth;
+                best[1] = count;
+            }
+        });
+        return best[1] == 0 ? null : formatMonth(best[0]);
+    }
+
+    Map<UUID, Long> countsByStringer() {
+        return stringers.toLongMap();
+    }
+
+    Map<UUID, Long> countsByOwner() {
+        return owners.toLongMap();
+    }
+
+    /**
+     * @return the mean completion time in hours, or 0 if no stringing has one
+     */
+    double averageCompletionHours() {
+        return completionCount > 0 ? (double) completionHoursSum / completionCount : 0.0;
+    }
+
+    int successful() {
+        return successful;
+    }
+
+    int failed() {
+        return failed;
+    }
+
+    private long epochMonth(Instant instant) {
+        long localSecond = instant.getEpochSecond() + zoneRules.getOffset(instant).getTotalSeconds();
+        long epochDay = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+
+        // Civil-from-days (H. Hinnant), valid for the whole Instant range of interest without allocating a LocalDate
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (year - 1970) * 12 + (month - 1);
+    }
+
+    private static String formatMonth(long epochMonth) {
+        long year = Math.floorDiv(epochMonth, 12) + 1970;
+        int month = (int) Math.floorMod(epochMonth, 12) + 1;
+        return year + (month < 10 ? "-0" : "-") + month;
+    }
+
+    private static long pack(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFF_FFFFL);
+    }
+
+    private static int high(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int low(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Maps each distinct key to a dense int id and counts occurrences per id. Ids are boxed once per distinct
+     * key; lookups of a known key only hash it.
+     */
+    private static final class Dictionary<K> {
+        private final Map<K, Integer> ids = new HashMap<>();
+        private final List<K> keys = new ArrayList<>();
+        private int[] counts = new int[16];
+
+        int idOf(K key) {
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = keys.size();
+                ids.put(key, id);
+                keys.add(key);
+                if (id == counts.length) {
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+                }
+            }
+            return id;
+        }
+
+        void increment(K key) {
+            // idOf may replace counts, so it has to run before the array is read
+            int id = idOf(key);
+            counts[id]++;
+        }
+
+        K keyOf(int id) {
+            return keys.get(id);
+        }
+
+        Map<K, Integer> toMap() {
+            Map<K, Integer> map = new HashMap<>();
+            for (int id = 0; id < keys.size(); id++) {
+                if (counts[id] > 0) {
+                    map.put(keys.get(id), counts[id]);
+                }
+            }
+            return map;
+        }
+
+        Map<K, Long> toLongMap() {
+            Map<K, Long> map = new HashMap<>();
+            for (int id = 0; id < keys.size(); id++) {
+                if (counts[id] > 0) {
+                    map.put(keys.get(id), (long) counts[id]);
+                }
+            }
+            return map;
+        }
+    }
+
+    /**
+     * Open-addressing {@code long -> int} counter, so packed keys are counted without boxing.
+     */
+    private static final class LongCounter {
+        private long[] keys = new long[32];
+        private int[] counts = new int[32];
+        private boolean[] used = new boolean[32];
+        private int size;
+
+        void increment(long key) {
+            int slot = slot(keys, used, key);
+            if (!used[slot]) {
+                if ((size + 1) * 2 > keys.length) {
+                    grow();
+                    slot = slot(keys, used, key);
+                }
+                used[slot] = true;
+                keys[slot] = key;
+                size++;
+            }
+            counts[slot]++;
+        }
+
+        void forEach(LongIntConsumer consumer) {
+            for (int i = 0; i < keys.length; i++) {
+                if (used[i]) {
+                    consumer.accept(keys[i], counts[i]);
+                }
+            }
+        }
+
+        private static int slot(long[] keys, boolean[] used, long key) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(key * 0x9E37_79B9_7F4A_7C15L) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slot(keys, used, oldKeys[i]);
+                    used[slot] = true;
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface LongIntConsumer {
+        void accept(long key, int value);
+    }
+}
@@ -0,0 +1,134 @@
+package com.wangindustries.badmintondbBackend.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wangindustries.badmintondbBackend.models.TableSchemas;
+import com.wangindustries.badmintondbBackend.models.User;
+import com.wangindustries.badmintondbBackend.repositories.UsersRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bounded, TTL-based in-process cache of user profiles in front of {@link UsersRepository}.
+ *
+ * <p>Profiles are cached by userId; usernames are cached as a pointer to the userId so that one invalidation
+ * covers both lookups. Misses are not cached. The TTL bounds how stale another Lambda instance's copy can be,
+ * since {@link #invalidate(UUID)} only reaches this instance.
+ * A profile is kept as its unmodifiable attribute map without the password hash, and every lookup (hit or
+ * miss) returns a new {@link User} mapped from it, so callers never see the hash and cannot change what
+ * other callers get. Login reads the hash from {@link UsersRepository} directly.
+ * Hit/miss/eviction metrics are published as {@code cache.*} meters tagged {@code cache=userProfiles}.</p>
+ */
+@Slf4j
+@Component
+public class UserProfileCache {
+    private static final String PASSWORD_ATTRIBUTE = "encryptedPassword";
+
+    private final UsersRepository usersRepository;
+    private final Cache<UUID, Map<String, AttributeValue>> usersById;
+    private final Cache<String, UUID> userIdsByUsername;
+
+    public UserProfileCache(UsersRepository usersRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${users.cache.max-size:10000}") long maxSize,
+                            @Value("${users.cache.ttl:5m}") Duration ttl) {
+        this.usersRepository = usersRepository;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.userIdsByUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "userProfiles");
+        CaffeineCacheMetrics.monitor(meterRegistry, userIdsByUsername, "userProfilesByUsername");
+    }
+
+    public User getUser(UUID userId) {
+        return toUser(usersById.get(userId, id -> {
+            User user = usersRepository.getUser(id);
+            return user != null ? toProfile(user) : null;
+        }));
+    }
+
+    public User findByUsername(String username) {
+        UUID userId = userIdsByUsername.getIfPresent(username);
+        if (userId != null) {
+            User user = getUser(userId);
+            if (user != null) {
+                return user;
+            }
+        }
+
+        User user = usersRepository.findByUsername(username);
+        return user != null ? toUser(put(user)) : null;
+    }
+
+    /**
+     * Serves what it can from the cache and loads every miss with BatchGetItem.
+     * @return userId to user, for the users that exist, in the order of {@code userIds}
+     */
+    public Map<UUID, User> getUsers(Collection<UUID> userIds) {
+        Map<UUID, Map<String, AttributeValue>> cached = usersById.getAllPresent(userIds);
+        List<UUID> missing = userIds.stream()
+                .filter(userId -> !cached.containsKey(userId))
+                .distinct()
+                .toList();
+
+        Map<UUID, Map<String, AttributeValue>> loaded = new LinkedHashMap<>();
+        if (!missing.isEmpty()) {
+            log.debug("Loading {} of {} user profiles from DynamoDB", missing.size(), userIds.size());
+            usersRepository.getUsers(missing).forEach(user -> loaded.put(user.getUserId(), put(user)));
+        }
+
+        Map<UUID, User> users = new LinkedHashMap<>();
+        for (UUID userId : userIds) {
+            Map<String, AttributeValue> profile = cached.containsKey(userId) ? cached.get(userId) : loaded.get(userId);
+            if (profile != null) {
+                users.put(userId, toUser(profile));
+            }
+        }
+        return users;
+    }
+
+    /**
+     * @return the profile as cached
+     */
+    private Map<String, AttributeValue> put(User user) {
+        Map<String, AttributeValue> profile = toProfile(user);
+        usersById.put(user.getUserId(), profile);
+        if (user.getUsername() != null) {
+            userIdsByUsername.put(user.getUsername(), user.getUserId());
+        }
+        return profile;
+    }
+
+    public void invalidate(UUID userId) {
+        usersById.invalidate(userId);
+    }
+
+    private static Map<String, AttributeValue> toProfile(User user) {
+        Map<String, AttributeValue> attributes = new HashMap<>(TableSchemas.USER.itemToMap(user, true));
+        attributes.remove(PASSWORD_ATTRIBUTE);
+        return Map.copyOf(attributes);
+    }
+
+    private static User toUser(Map<String, AttributeValue> profile) {
+        return profile != null ? TableSchemas.USER.mapToItem(profile) : null;
+    }
+}
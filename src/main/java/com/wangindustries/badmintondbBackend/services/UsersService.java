@@ -1,15 +1,20 @@
 package com.wangindustries.badmintondbBackend.services;
 
 import com.wangindustries.badmintondbBackend.models.User;
+import com.wangindustries.badmintondbBackend.repositories.PageCursor;
 import com.wangindustries.badmintondbBackend.repositories.UsersRepository;
 import com.wangindustries.badmintondbBackend.requests.CreateUserRequest;
 import com.wangindustries.badmintondbBackend.requests.UpdateUserRequest;
+import com.wangindustries.badmintondbBackend.responses.PageResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -19,6 +24,9 @@ public class UsersService {
     @Autowired
     UsersRepository usersRepository;
 
+    @Autowired
+    UserProfileCache userProfileCache;
+
     @Autowired
     PasswordEncryptionService passwordEncryptionService;
 
@@ -54,6 +62,7 @@ public class UsersService {
         user.setEncryptedPassword(encryptedPassword);
         user.setCreatedAt(Instant.now());
         user.setIsStringer(request.getIsStringer() != null ? request.getIsStringer() : false);
+        User.setListIndexKeys(user);
 
         usersRepository.saveUser(user);
         log.info("Successfully created user: {}", user);
@@ -62,11 +71,18 @@ public class UsersService {
     }
 
     public User getUser(UUID userId) {
-        return usersRepository.getUser(userId);
+        return userProfileCache.getUser(userId);
+    }
+
+    /**
+     * @return userId to user for the users that exist, cached where possible and batch loaded otherwise
+     */
+    public Map<UUID, User> getUsers(Collection<UUID> userIds) {
+        return userProfileCache.getUsers(userIds);
     }
 
     public User findByUsername(String username) {
-        return usersRepository.findByUsername(username);
+        return userProfileCache.findByUsername(username);
     }
 
     public List<User> listUsers() {
@@ -77,6 +93,22 @@ public class UsersService {
         return usersRepository.listStringers();
     }
 
+    /**
+     * One page of all users, sorted by name.
+     */
+    public PageResponse<User> listUsers(String cursor, int limit) {
+        Page<User> page = usersRepository.listUsersPage(PageCursor.decode(cursor), PageResponse.validateLimit(limit));
+        return new PageResponse<>(page.items(), PageCursor.encode(page.lastEvaluatedKey()));
+    }
+
+    /**
+     * One page of the stringers, sorted by name.
+     */
+    public PageResponse<User> listStringers(String cursor, int limit) {
+        Page<User> page = usersRepository.listStringersPage(PageCursor.decode(cursor), PageResponse.validateLimit(limit));
+        return new PageResponse<>(page.items(), PageCursor.encode(page.lastEvaluatedKey()));
+    }
+
     public User updateUser(UUID userId, UpdateUserRequest request) {
         log.info("Updating user {} with request: {}", userId, request);
 
@@ -105,8 +137,11 @@ public class UsersService {
             existingUser.setEncryptedPassword(encryptedPassword);
         }
 
+        User.setListIndexKeys(existingUser);
+
         log.info("New Existing User before saving: {}", existingUser);
         usersRepository.saveUser(existingUser);
+        userProfileCache.invalidate(userId);
         log.info("Successfully updated user: {}", existingUser);
 
         return existingUser;
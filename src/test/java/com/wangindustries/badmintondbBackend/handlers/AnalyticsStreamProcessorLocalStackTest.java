@@ -0,0 +1,82 @@
+package com.wangindustries.badmintondbBackend.handlers;
+
+import com.amazonaws.services.lambda.runtime.events.DynamodbEvent;
+import com.amazonaws.services.lambda.runtime.events.StreamsEventResponse;
+import com.amazonaws.services.lambda.runtime.serialization.events.LambdaEventSerializers;
+import com.wangindustries.badmintondbBackend.models.AnalyticsCounters;
+import com.wangindustries.badmintondbBackend.models.StringingState;
+import com.wangindustries.badmintondbBackend.repositories.AnalyticsRepository;
+import com.wangindustries.badmintondbBackend.services.AnalyticsCountersService;
+import com.wangindustries.badmintondbBackend.services.AnalyticsStreamProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+//Replays a recorded stream batch against LocalStack (see localstack-init/init-dynamodb.sh)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "dynamodb.local.enabled=true",
+        "analytics.incremental.source=stream"
+})
+@EnabledIfEnvironmentVariable(named = "LOCALSTACK_ENABLED", matches = "true")
+public class AnalyticsStreamProcessorLocalStackTest {
+
+    private static final UUID OWNER_USER_ID = UUID.fromString("6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e01");
+    private static final UUID STRINGER_USER_ID = UUID.fromString("6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e02");
+
+    @Autowired
+    private AnalyticsStreamProcessor analyticsStreamProcessor;
+
+    @Autowired
+    private AnalyticsRepository analyticsRepository;
+
+    @Test
+    void whenTheSameBatchIsDeliveredTwice_thenCountersAreAppliedOnce() throws IOException {
+        DynamodbEvent event = loadEvent("/streams/stringing-lifecycle.json");
+        // Markers from earlier runs live for days, so every run needs its own sequence numbers
+        String runPrefix = Long.toString(System.currentTimeMillis());
+        event.getRecords().forEach(record -> record.getDynamodb()
+                .setSequenceNumber(runPrefix + record.getDynamodb().getSequenceNumber()));
+        resetCounters(OWNER_USER_ID);
+        resetCounters(STRINGER_USER_ID);
+
+        StreamsEventResponse first = analyticsStreamProcessor.process(event);
+        StreamsEventResponse redelivered = analyticsStreamProcessor.process(event);
+
+        Assertions.assertTrue(first.getBatchItemFailures().isEmpty());
+        Assertions.assertTrue(redelivered.getBatchItemFailures().isEmpty());
+
+        Map<String, Long> owner = analyticsRepository.getCounters(OWNER_USER_ID).getCounters();
+        Assertions.assertEquals(1L, owner.get(AnalyticsCountersService.OWNER_TOTAL));
+        Assertions.assertEquals(1L, owner.get(AnalyticsCountersService.OWNER_STATE_PREFIX + StringingState.FINISHED_BUT_NOT_PICKED_UP.name()));
+        Assertions.assertEquals(0L, owner.getOrDefault(AnalyticsCountersService.OWNER_STATE_PREFIX + StringingState.REQUESTED_BUT_NOT_DELIVERED.name(), 0L));
+        Assertions.assertEquals(1L, owner.get(AnalyticsCountersService.OWNER_RACKET_PREFIX + "Yonex Astrox 88D"));
+
+        AnalyticsCounters stringer = analyticsRepository.getCounters(STRINGER_USER_ID);
+        Assertions.assertEquals(1L, stringer.getCounters().get(AnalyticsCountersService.STRINGER_TOTAL));
+        Assertions.assertEquals(1L, stringer.getCounters().get(AnalyticsCountersService.STRINGER_SUCCESSFUL));
+        Assertions.assertEquals(3L, stringer.getCounters().get(AnalyticsCountersService.STRINGER_COMPLETION_HOURS_SUM));
+        Assertions.assertEquals(1L, stringer.getCounters().get(AnalyticsCountersService.STRINGER_COMPLETION_HOURS_COUNT));
+    }
+
+    private void resetCounters(UUID userId) {
+        // Earlier runs left counters behind, which are only replaced at the version they are at
+        Assertions.assertTrue(analyticsRepository.saveCounters(userId, Map.of(), Instant.now(),
+                analyticsRepository.getCounters(userId)));
+    }
+
+    private DynamodbEvent loadEvent(String resource) throws IOException {
+        try (InputStream json = getClass().getResourceAsStream(resource)) {
+            return LambdaEventSerializers.serializerFor(DynamodbEvent.class, getClass().getClassLoader()).fromJson(json);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.wangindustries.badmintondbBackend.models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+//The hand-written schemas must stay interchangeable with the @DynamoDbBean ones for items already in the table
+public class TableSchemasTest {
+
+    private static final UUID USER_ID = UUID.fromString("6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e01");
+    private static final UUID STRINGER_USER_ID = UUID.fromString("6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e02");
+    private static final Instant NOW = Instant.parse("2025-06-01T12:34:56.789Z");
+
+    @Test
+    void whenMappingAStringing_thenStaticAndBeanSchemasAgree() {
+        UUID stringingId = UUID.randomUUID();
+        Stringing stringing = new Stringing();
+        stringing.setPK(Stringing.createPk(stringingId));
+        stringing.setSK(Stringing.createSkDetails());
+        stringing.setGsiPk(Stringing.createGsiStringerPk(STRINGER_USER_ID));
+        stringing.setGsiSk(Stringing.createGsiSk(NOW, stringingId));
+        stringing.setActiveGsiPk(Stringing.createActiveGsiPk(STRINGER_USER_ID, StringingState.IN_PROGRESS));
+        stringing.setStringingId(stringingId);
+        stringing.setStringerUserId(STRINGER_USER_ID);
+        stringing.setOwnerUserId(USER_ID);
+        stringing.setOwnerName("Tony Wang");
+        stringing.setRacketMake("Yonex");
+        stringing.setRacketModel("Astrox 88D");
+        stringing.setStringType("BG80");
+        stringing.setStringColor("White");
+        stringing.setMainsTensionLbs(24.5);
+        stringing.setCrossesTensionLbs(26.0);
+        stringing.setState(StringingState.IN_PROGRESS);
+        stringing.setCreatedAt(NOW);
+        stringing.setRequestedAt(NOW);
+        stringing.setReceivedAt(NOW.plusSeconds(60));
+        stringing.setInProgressAt(NOW.plusSeconds(120));
+        stringing.setFinishedAt(NOW.plusSeconds(180));
+        stringing.setCompletedAt(NOW.plusSeconds(240));
+        stringing.setFailedAt(NOW.plusSeconds(300));
+        stringing.setFailedCompletedAt(NOW.plusSeconds(360));
+        stringing.setDeclinedAt(NOW.plusSeconds(420));
+        stringing.setCanceledAt(NOW.plusSeconds(480));
+        stringing.setVersion(3L);
+
+        assertSchemasAgree(TableSchema.fromClass(Stringing.class), TableSchemas.STRINGING, stringing);
+    }
+
+    @Test
+    void whenMappingAUser_thenStaticAndBeanSchemasAgree() {
+        User user = new User();
+        user.setPK(User.createPk(USER_ID));
+        user.setSK(User.createSk());
+        user.setUserId(USER_ID);
+        user.setGivenName("Tony");
+        user.setFamilyName("Wang");
+        user.setGsiPk(User.createGsiPk("Tony"));
+        user.setGsiSk(User.createGsiSk("Wang"));
+        user.setUsername("tony1234");
+        user.setUsernameGsiPk(User.createUsernameGsiPk("tony1234"));
+        user.setEmail("tony@example.com");
+        user.setBirthday(LocalDate.of(1995, 4, 12));
+        user.setEncryptedPassword("$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01");
+        user.setCreatedAt(NOW);
+        user.setIsStringer(true);
+        User.setListIndexKeys(user);
+
+        assertSchemasAgree(TableSchema.fromClass(User.class), TableSchemas.USER, user);
+    }
+
+    @Test
+    void whenMappingUserAnalytics_thenStaticAndBeanSchemasAgree() {
+        UserAnalytics analytics = new UserAnalytics();
+        analytics.setPK(UserAnalytics.createPk(USER_ID));
+        analytics.setSK(UserAnalytics.createSk());
+        analytics.setUserId(USER_ID);
+        analytics.setComputedAt(NOW);
+        analytics.setTotalStringingsAsOwner(42);
+        analytics.setStringingsByState(Map.of("COMPLETED", 30, "CANCELED", 12));
+        analytics.setStringTypeUsage(Map.of("BG80", 42));
+        analytics.setRacketUsage(Map.of("Yonex Astrox 88D", 42));
+        analytics.setMostUsedTensionCombination("24 x 26 lbs");
+        analytics.setMostUsedTensionCount(18);
+        analytics.setMonthlyTrend(List.of(new MonthlyCount("2025-05", 4), new MonthlyCount("2025-06", 2)));
+        analytics.setTopStringers(Map.of("Jane Doe", 42));
+        analytics.setTotalStringingsAsStringer(7);
+        analytics.setTopCustomers(Map.of("John Doe", 7));
+        analytics.setAverageCompletionTimeHours(26.5);
+        analytics.setSuccessRate(85.7);
+        analytics.setBusiestMonth("2025-05");
+        analytics.setStringerStringTypeUsage(Map.of("Exbolt 63", 7));
+        analytics.setStringerRacketUsage(Map.of("Victor Thruster K", 7));
+        analytics.setStringerMonthlyTrend(List.of(new MonthlyCount("2025-05", 7)));
+
+        assertSchemasAgree(TableSchema.fromClass(UserAnalytics.class), TableSchemas.USER_ANALYTICS, analytics);
+    }
+
+    private static <T> void assertSchemasAgree(TableSchema<T> beanSchema, StaticTableSchema<T> staticSchema, T item) {
+        Assertions.assertEquals(new HashSet<>(beanSchema.attributeNames()), new HashSet<>(staticSchema.attributeNames()));
+
+        TableMetadata beanMetadata = beanSchema.tableMetadata();
+        TableMetadata staticMetadata = staticSchema.tableMetadata();
+        Assertions.assertEquals(beanMetadata.primaryPartitionKey(), staticMetadata.primaryPartitionKey());
+        Assertions.assertEquals(beanMetadata.primarySortKey(), staticMetadata.primarySortKey());
+        beanMetadata.indices().forEach(index -> {
+            String indexName = index.name();
+            Assertions.assertEquals(beanMetadata.indexPartitionKey(indexName), staticMetadata.indexPartitionKey(indexName), indexName);
+            Assertions.assertEquals(beanMetadata.indexSortKey(indexName), staticMetadata.indexSortKey(indexName), indexName);
+        });
+        Assertions.assertEquals(beanMetadata.indices().size(), staticMetadata.indices().size());
+
+        Map<String, AttributeValue> beanItem = beanSchema.itemToMap(item, false);
+        Assertions.assertEquals(beanItem, staticSchema.itemToMap(item, false));
+        Assertions.assertEquals(beanItem, staticSchema.itemToMap(staticSchema.mapToItem(beanItem), false));
+        Assertions.assertEquals(beanItem, beanSchema.itemToMap(beanSchema.mapToItem(staticSchema.itemToMap(item, true)), false));
+    }
+}
@@ -0,0 +1,39 @@
+package com.wangindustries.badmintondbBackend.models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+public class UserTest {
+
+    private static final UUID USER_ID = UUID.fromString("6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e01");
+
+    @Test
+    void whenSettingListIndexKeys_thenNamesAreUpperCasedAndStringersIndexed() {
+        User user = new User();
+        user.setUserId(USER_ID);
+        user.setGivenName("Lee");
+        user.setFamilyName("Chong Wei");
+        user.setIsStringer(true);
+
+        User.setListIndexKeys(user);
+
+        Assertions.assertEquals(User.USER_GSI_PK, user.getUserGsiPk());
+        Assertions.assertEquals("LEE#CHONG WEI#" + USER_ID, user.getUserGsiSk());
+        Assertions.assertEquals(User.STRINGER_GSI_PK, user.getStringerGsiPk());
+    }
+
+    @Test
+    void whenNamesAreNull_thenKeysUseEmptyNames() {
+        User user = new User();
+        user.setUserId(USER_ID);
+
+        User.setListIndexKeys(user);
+
+        Assertions.assertEquals("##" + USER_ID, user.getUserGsiSk());
+        Assertions.assertNull(user.getStringerGsiPk());
+        Assertions.assertEquals(User.GSI_PK_SYNTAX.formatted(""), User.createGsiPk(null));
+        Assertions.assertEquals("", User.createGsiSk(null));
+    }
+}
@@ -0,0 +1,125 @@
+package com.wangindustries.badmintondbBackend.repositories;
+
+import com.wangindustries.badmintondbBackend.models.AnalyticsCounters;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class AnalyticsRepositoryTest {
+
+    private static final UUID USER_ID = UUID.fromString("6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e04");
+    private static final Instant SEEDED_AT = Instant.parse("2025-06-01T12:34:56.789Z");
+    private static final String CUSTOMER_SK = AnalyticsCounters.createDimensionSk("s.customer");
+
+    @Test
+    void whenCountersAreAdded_thenTheVersionIsIncremented() {
+        Update update = AnalyticsRepository.counterUpdate(USER_ID, AnalyticsCounters.createSk(), Map.of("o.total", 1L));
+
+        Assertions.assertEquals("ADD #v :one, #c0 :c0", update.updateExpression());
+        Assertions.assertEquals(AnalyticsCounters.VERSION_ATTRIBUTE, update.expressionAttributeNames().get("#v"));
+        Assertions.assertEquals("1", update.expressionAttributeValues().get(":one").n());
+    }
+
+    @Test
+    void whenCountersHavePerValueDimensions_thenEachDimensionIsItsOwnItem() {
+        Map<String, Map<String, Long>> byItem = AnalyticsRepository.groupByItem(Map.of(
+                "o.total", 1L,
+                "o.month.2025-06", 1L,
+                "s.completionHours.sum", 3L,
+                "o.racket.Yonex Astrox 88D", 1L,
+                "s.customer.6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e05", 1L,
+                "o.tension.24 x 26 lbs", 0L));
+
+        Assertions.assertEquals(Map.of("o.total", 1L, "o.month.2025-06", 1L, "s.completionHours.sum", 3L),
+                byItem.get(AnalyticsCounters.createSk()));
+        Assertions.assertEquals(Map.of("o.racket.Yonex Astrox 88D", 1L),
+                byItem.get(AnalyticsCounters.createDimensionSk("o.racket")));
+        Assertions.assertEquals(Map.of("s.customer.6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e05", 1L), byItem.get(CUSTOMER_SK));
+        // Zero deltas do not touch an item
+        Assertions.assertEquals(3, byItem.size());
+    }
+
+    @Test
+    void whenSeedingCountersThatWereRead_thenEveryItemIsOnlyReplacedAtItsReadVersion() {
+        AnalyticsCounters stored = new AnalyticsCounters(Map.of(), SEEDED_AT,
+                Map.of(AnalyticsCounters.createSk(), 7L, CUSTOMER_SK, 4L, AnalyticsCounters.createDimensionSk("o.racket"), 2L));
+
+        List<TransactWriteItem> writes = AnalyticsRepository.seededCountersWrites(USER_ID,
+                Map.of("o.total", 3L, "o.state.FAILED_COMPLETED", 0L, "s.customer.6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e05", 2L),
+                SEEDED_AT, stored);
+
+        Assertions.assertEquals(1 + AnalyticsCounters.SEPARATE_DIMENSIONS.size(), writes.size());
+        Put main = put(writes, AnalyticsCounters.createSk());
+        Assertions.assertEquals("#v = :v", main.conditionExpression());
+        Assertions.assertEquals("7", main.expressionAttributeValues().get(":v").n());
+        Assertions.assertEquals("8", main.item().get(AnalyticsCounters.VERSION_ATTRIBUTE).n());
+        Assertions.assertEquals("3", main.item().get("o.total").n());
+        Assertions.assertFalse(main.item().containsKey("o.state.FAILED_COMPLETED"));
+
+        Put customers = put(writes, CUSTOMER_SK);
+        Assertions.assertEquals("4", customers.expressionAttributeValues().get(":v").n());
+        Assertions.assertEquals("2", customers.item().get("s.customer.6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e05").n());
+
+        // A dimension without counters any more is deleted, one that never existed must still not exist
+        Assertions.assertTrue(writes.stream().anyMatch(write -> write.delete() != null
+                && write.delete().key().get("SK").s().equals(AnalyticsCounters.createDimensionSk("o.racket"))
+                && write.delete().conditionExpression().equals("#v = :v")));
+        Assertions.assertTrue(writes.stream().anyMatch(write -> write.conditionCheck() != null
+                && write.conditionCheck().key().get("SK").s().equals(AnalyticsCounters.createDimensionSk("o.stringer"))
+                && write.conditionCheck().conditionExpression().equals("attribute_not_exists(#v)")));
+    }
+
+    @Test
+    void whenSeedingCountersWithoutAVersion_thenTheyAreOnlyWrittenIfStillUnversioned() {
+        List<TransactWriteItem> writes = AnalyticsRepository.seededCountersWrites(USER_ID, Map.of(), SEEDED_AT, null);
+
+        Put main = put(writes, AnalyticsCounters.createSk());
+        Assertions.assertEquals("attribute_not_exists(#v)", main.conditionExpression());
+        Assertions.assertEquals("1", main.item().get(AnalyticsCounters.VERSION_ATTRIBUTE).n());
+        Assertions.assertEquals(SEEDED_AT.toString(), main.item().get(AnalyticsCounters.SEEDED_AT_ATTRIBUTE).s());
+        Assertions.assertEquals(Integer.toString(AnalyticsCounters.CURRENT_LAYOUT),
+                main.item().get(AnalyticsCounters.LAYOUT_ATTRIBUTE).n());
+    }
+
+    @Test
+    void whenCountersAreRead_thenAllItemsAreMergedAndOnlyCurrentLayoutsAreSeeded() {
+        Map<String, AttributeValue> main = new HashMap<>(Map.of(
+                "SK", AttributeValue.builder().s(AnalyticsCounters.createSk()).build(),
+                AnalyticsCounters.SEEDED_AT_ATTRIBUTE, AttributeValue.builder().s(SEEDED_AT.toString()).build(),
+                AnalyticsCounters.VERSION_ATTRIBUTE, AttributeValue.builder().n("8").build(),
+                "o.total", AttributeValue.builder().n("3").build()));
+        Map<String, AttributeValue> customers = Map.of(
+                "SK", AttributeValue.builder().s(CUSTOMER_SK).build(),
+                AnalyticsCounters.VERSION_ATTRIBUTE, AttributeValue.builder().n("5").build(),
+                "s.customer.6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e05", AttributeValue.builder().n("2").build());
+
+        // Seeded before the dimensions were split out
+        AnalyticsCounters legacy = AnalyticsRepository.toCounters(Map.of(AnalyticsCounters.createSk(), main));
+        Assertions.assertFalse(legacy.isSeeded());
+
+        main.put(AnalyticsCounters.LAYOUT_ATTRIBUTE, AttributeValue.builder().n(Integer.toString(AnalyticsCounters.CURRENT_LAYOUT)).build());
+        AnalyticsCounters counters = AnalyticsRepository.toCounters(Map.of(AnalyticsCounters.createSk(), main, CUSTOMER_SK, customers));
+
+        Assertions.assertTrue(counters.isSeeded());
+        Assertions.assertEquals(Map.of("o.total", 3L, "s.customer.6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e05", 2L), counters.getCounters());
+        Assertions.assertEquals(8L, (long) counters.getVersion(AnalyticsCounters.createSk()));
+        Assertions.assertEquals(5L, (long) counters.getVersion(CUSTOMER_SK));
+    }
+
+    private static Put put(List<TransactWriteItem> writes, String sk) {
+        return writes.stream()
+                .map(TransactWriteItem::put)
+                .filter(put -> put != null && put.item().get("SK").s().equals(sk))
+                .findFirst()
+                .orElseThrow();
+    }
+}
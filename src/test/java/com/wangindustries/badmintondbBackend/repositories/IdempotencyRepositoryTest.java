@@ -0,0 +1,85 @@
+package com.wangindustries.badmintondbBackend.repositories;
+
+import com.wangindustries.badmintondbBackend.repositories.IdempotencyRepository.IdempotencyRecord;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.any;
+
+public class IdempotencyRepositoryTest {
+
+    @Test
+    void whenResponseIsStored_thenItIsGzippedAndConditionalOnTheLock() {
+        DynamoDbClient dynamoDbClient = Mockito.mock(DynamoDbClient.class);
+        Mockito.when(dynamoDbClient.putItem(any(PutItemRequest.class))).thenReturn(PutItemResponse.builder().build());
+        IdempotencyRepository repository = new IdempotencyRepository(dynamoDbClient);
+        byte[] body = "{\"items\":[]}".repeat(10_000).getBytes(StandardCharsets.UTF_8);
+
+        Assertions.assertTrue(repository.complete("id", "lock", record(body), Instant.now().plus(Duration.ofDays(1))));
+
+        PutItemRequest put = capturePut(dynamoDbClient);
+        Assertions.assertTrue(put.conditionExpression().contains("lockToken = :lockToken"));
+        Assertions.assertEquals("lock", put.expressionAttributeValues().get(":lockToken").s());
+        byte[] stored = put.item().get("body").b().asByteArray();
+        Assertions.assertTrue(stored.length < body.length / 10);
+
+        Mockito.when(dynamoDbClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().item(put.item()).build());
+        IdempotencyRecord read = repository.get("id");
+        Assertions.assertTrue(read.replayable());
+        Assertions.assertArrayEquals(body, read.body());
+    }
+
+    @Test
+    void whenBodyDoesNotFitInAnItem_thenOnlyTheCompletionIsStored() {
+        DynamoDbClient dynamoDbClient = Mockito.mock(DynamoDbClient.class);
+        Mockito.when(dynamoDbClient.putItem(any(PutItemRequest.class))).thenReturn(PutItemResponse.builder().build());
+        IdempotencyRepository repository = new IdempotencyRepository(dynamoDbClient);
+        byte[] incompressible = new byte[IdempotencyRepository.MAX_STORED_BODY_BYTES + 1024];
+        new Random(42).nextBytes(incompressible);
+
+        repository.complete("id", "lock", record(incompressible), Instant.now().plus(Duration.ofDays(1)));
+
+        PutItemRequest put = capturePut(dynamoDbClient);
+        Assertions.assertFalse(put.item().containsKey("body"));
+        Assertions.assertEquals("201", put.item().get("status").n());
+        Mockito.when(dynamoDbClient.getItem(any(GetItemRequest.class)))
+                .thenReturn(GetItemResponse.builder().item(put.item()).build());
+        IdempotencyRecord read = repository.get("id");
+        Assertions.assertFalse(read.inProgress());
+        Assertions.assertFalse(read.replayable());
+    }
+
+    @Test
+    void whenTheLockWasLost_thenCompleteReturnsFalse() {
+        DynamoDbClient dynamoDbClient = Mockito.mock(DynamoDbClient.class);
+        Mockito.when(dynamoDbClient.putItem(any(PutItemRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().message("lock lost").build());
+        IdempotencyRepository repository = new IdempotencyRepository(dynamoDbClient);
+
+        Assertions.assertFalse(repository.complete("id", "lock", record(new byte[0]), Instant.now()));
+    }
+
+    private static IdempotencyRecord record(byte[] body) {
+        return new IdempotencyRecord("request-hash", 201, "application/json", body);
+    }
+
+    private static PutItemRequest capturePut(DynamoDbClient dynamoDbClient) {
+        ArgumentCaptor<PutItemRequest> put = ArgumentCaptor.forClass(PutItemRequest.class);
+        Mockito.verify(dynamoDbClient).putItem(put.capture());
+        return put.getValue();
+    }
+}
@@ -0,0 +1,107 @@
+package com.wangindustries.badmintondbBackend.repositories;
+
+import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.models.StringingState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class StringingRepositoryTest {
+
+    private static final UUID STRINGING_ID = UUID.fromString("6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e03");
+    private static final Instant CREATED_AT = Instant.parse("2025-06-01T12:34:56.789Z");
+
+    @Test
+    void whenAttributesChange_thenOnlyTheyAreWrittenAndRemovedOnesAreNull() {
+        Stringing before = stringing();
+        Stringing after = Stringing.copyOf(before);
+        after.setRacketModel("Astrox 100ZZ");
+        after.setState(StringingState.IN_PROGRESS);
+        after.setInProgressAt(CREATED_AT.plusSeconds(60));
+        after.setStringColor(null);
+
+        Map<String, AttributeValue> changes = StringingRepository.changedAttributes(before, after);
+
+        Assertions.assertEquals(Set.of("racketModel", "state", "inProgressAt", "stringColor"), changes.keySet());
+        Assertions.assertEquals("Astrox 100ZZ", changes.get("racketModel").s());
+        Assertions.assertEquals("IN_PROGRESS", changes.get("state").s());
+        Assertions.assertNull(changes.get("stringColor"));
+    }
+
+    @Test
+    void whenOnlyKeysOrVersionDiffer_thenNothingChanged() {
+        Stringing before = stringing();
+        Stringing after = Stringing.copyOf(before);
+        after.setPK("STRINGING#other");
+        after.setSK("OWNER#other");
+        after.setVersion(before.getVersion() + 1);
+
+        Assertions.assertTrue(StringingRepository.changedAttributes(before, after).isEmpty());
+        Assertions.assertTrue(StringingRepository.changedAttributes(before, Stringing.copyOf(before)).isEmpty());
+    }
+
+    @Test
+    void whenVersionIsKnown_thenConditionRequiresIt() {
+        Expression condition = StringingRepository.versionCondition(7L);
+
+        Assertions.assertEquals("attribute_exists(PK) AND #version = :expectedVersion", condition.expression());
+        Assertions.assertEquals(Map.of("#version", "version"), condition.expressionNames());
+        Assertions.assertEquals("7", condition.expressionValues().get(":expectedVersion").n());
+    }
+
+    @Test
+    void whenItemPredatesVersioning_thenConditionRequiresNoVersion() {
+        Expression condition = StringingRepository.versionCondition(null);
+
+        Assertions.assertEquals("attribute_exists(PK) AND attribute_not_exists(#version)", condition.expression());
+        Assertions.assertNull(condition.expressionValues());
+    }
+
+    @Test
+    void whenTransitioning_thenConditionListsEverySourceState() {
+        Expression condition = StringingRepository.transitionCondition(StringingState.CANCELED);
+
+        Assertions.assertTrue(condition.expression().startsWith("attribute_exists(PK) AND #state IN ("));
+        Assertions.assertEquals(Map.of("#state", "state"), condition.expressionNames());
+        Set<String> sources = condition.expressionValues().values().stream()
+                .map(AttributeValue::s)
+                .collect(Collectors.toSet());
+        Assertions.assertEquals(Set.of("REQUESTED_BUT_NOT_DELIVERED"), sources);
+
+        Expression fromInProgress = StringingRepository.transitionCondition(StringingState.FAILED_BUT_NOT_PICKED_UP);
+        Assertions.assertEquals(Set.of("IN_PROGRESS"), fromInProgress.expressionValues().values().stream()
+                .map(AttributeValue::s)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    void whenNoStateCanTransitionToTheTarget_thenRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> StringingRepository.transitionCondition(StringingState.REQUESTED_BUT_NOT_DELIVERED));
+    }
+
+    private static Stringing stringing() {
+        Stringing stringing = new Stringing();
+        stringing.setPK(Stringing.createPk(STRINGING_ID));
+        stringing.setSK(Stringing.createSkDetails());
+        stringing.setStringingId(STRINGING_ID);
+        stringing.setRacketMake("Yonex");
+        stringing.setRacketModel("Astrox 88D");
+        stringing.setStringType("BG80");
+        stringing.setStringColor("White");
+        stringing.setMainsTensionLbs(24.0);
+        stringing.setCrossesTensionLbs(26.0);
+        stringing.setState(StringingState.RECEIVED_BUT_NOT_STARTED);
+        stringing.setCreatedAt(CREATED_AT);
+        stringing.setRequestedAt(CREATED_AT);
+        stringing.setVersion(3L);
+        return stringing;
+    }
+}
@@ -0,0 +1,204 @@
+package com.wangindustries.badmintondbBackend.security;
+
+import com.wangindustries.badmintondbBackend.repositories.IdempotencyRepository;
+import com.wangindustries.badmintondbBackend.repositories.IdempotencyRepository.IdempotencyRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class IdempotencyFilterTest {
+    private static final String KEY = "tournament-intake-1";
+    private static final String BODY = "{\"racketMake\":\"Yonex\"}";
+
+    private IdempotencyRepository repository;
+    private final AtomicInteger executions = new AtomicInteger();
+    /** The requestHash of the last tryLock, so stored records can be made to match the request */
+    private final AtomicReference<String> lockedRequestHash = new AtomicReference<>();
+
+    private final FilterChain controller = (request, response) -> {
+        int execution = executions.incrementAndGet();
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        httpResponse.setStatus(HttpServletResponse.SC_CREATED);
+        httpResponse.setContentType("application/json");
+        httpResponse.getOutputStream().write(("{\"execution\":" + execution + ",\"request\":" + body + "}")
+                .getBytes(StandardCharsets.UTF_8));
+    };
+
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(IdempotencyRepository.class);
+        Mockito.when(repository.complete(anyString(), anyString(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void whenFirstCall_thenRunsTheRequestAndStoresTheResponse() throws Exception {
+        lockSucceeds();
+
+        MockHttpServletResponse response = send(newFilter(), BODY);
+
+        Assertions.assertEquals(201, response.getStatus());
+        Assertions.assertEquals("{\"execution\":1,\"request\":" + BODY + "}", response.getContentAsString());
+        Assertions.assertNull(response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        Mockito.verify(repository).complete(anyString(), anyString(), stored.capture(), any());
+        Assertions.assertArrayEquals(response.getContentAsByteArray(), stored.getValue().body());
+        Mockito.verify(repository, Mockito.never()).release(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void whenRetried_thenReplaysTheFirstResponseByteForByte() throws Exception {
+        lockSucceeds();
+        IdempotencyFilter filter = newFilter();
+        MockHttpServletResponse first = send(filter, BODY);
+
+        // Hot retry on the same instance: answered from memory
+        MockHttpServletResponse cached = send(filter, BODY);
+        Assertions.assertEquals(1, executions.get());
+        Assertions.assertEquals(201, cached.getStatus());
+        Assertions.assertArrayEquals(first.getContentAsByteArray(), cached.getContentAsByteArray());
+        Assertions.assertEquals("true", cached.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        Mockito.verify(repository, Mockito.times(1)).tryLock(anyString(), anyString(), anyString(), any());
+
+        // Retry on another instance: answered from DynamoDB
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        Mockito.verify(repository).complete(anyString(), anyString(), stored.capture(), any());
+        lockFails(stored.getValue());
+        MockHttpServletResponse replayed = send(newFilter(), BODY);
+        Assertions.assertEquals(1, executions.get());
+        Assertions.assertEquals(201, replayed.getStatus());
+        Assertions.assertEquals("application/json", replayed.getContentType());
+        Assertions.assertArrayEquals(first.getContentAsByteArray(), replayed.getContentAsByteArray());
+        Assertions.assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void whenFirstRequestIsStillRunning_thenConflictWithRetryAfter() throws Exception {
+        Mockito.when(repository.tryLock(anyString(), anyString(), anyString(), any())).thenAnswer(invocation -> {
+            lockedRequestHash.set(invocation.getArgument(1));
+            return false;
+        });
+        Mockito.when(repository.get(anyString()))
+                .thenAnswer(invocation -> new IdempotencyRecord(lockedRequestHash.get(), 0, null, null));
+
+        MockHttpServletResponse response = send(newFilter(), BODY);
+
+        Assertions.assertEquals(409, response.getStatus());
+        Assertions.assertEquals("1", response.getHeader("Retry-After"));
+        Assertions.assertEquals(0, executions.get());
+    }
+
+    @Test
+    void whenKeyIsReusedWithAnotherBody_thenUnprocessable() throws Exception {
+        lockFails(new IdempotencyRecord("hash-of-another-body", 201, "application/json",
+                "{}".getBytes(StandardCharsets.UTF_8)));
+
+        MockHttpServletResponse response = send(newFilter(), BODY);
+
+        Assertions.assertEquals(422, response.getStatus());
+        Assertions.assertEquals(0, executions.get());
+    }
+
+    @Test
+    void whenStoringTheResponseFails_thenTheKeyIsCompletedWithoutReplayAndNeverRunsAgain() throws Exception {
+        lockSucceeds();
+        Mockito.when(repository.complete(anyString(), anyString(), any(), any()))
+                .thenThrow(new IllegalStateException("Item size has exceeded the maximum allowed size"))
+                .thenReturn(true);
+
+        MockHttpServletResponse response = send(newFilter(), BODY);
+
+        // The client still gets the response of the request that ran
+        Assertions.assertEquals(201, response.getStatus());
+        Assertions.assertEquals("{\"execution\":1,\"request\":" + BODY + "}", response.getContentAsString());
+        Mockito.verify(repository, Mockito.never()).release(anyString(), anyString(), anyString());
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        Mockito.verify(repository, Mockito.times(2)).complete(anyString(), anyString(), stored.capture(), any());
+        IdempotencyRecord marker = stored.getAllValues().get(1);
+        Assertions.assertEquals(201, marker.status());
+        Assertions.assertNull(marker.body());
+
+        // A retry on another instance is refused rather than creating the stringings again
+        lockFails(marker);
+        MockHttpServletResponse retry = send(newFilter(), BODY);
+        Assertions.assertEquals(409, retry.getStatus());
+        Assertions.assertEquals(1, executions.get());
+    }
+
+    @Test
+    void whenTheLockExpiredBeforeTheResponseWasStored_thenItIsNotReplayedFromMemory() throws Exception {
+        lockSucceeds();
+        Mockito.when(repository.complete(anyString(), anyString(), any(), any())).thenReturn(false);
+        IdempotencyFilter filter = newFilter();
+        send(filter, BODY);
+
+        // Another request took over the expired lock and stored its own response
+        byte[] storedBody = "{\"execution\":2}".getBytes(StandardCharsets.UTF_8);
+        lockFails(new IdempotencyRecord(lockedRequestHash.get(), 201, "application/json", storedBody));
+        MockHttpServletResponse retry = send(filter, BODY);
+
+        Assertions.assertEquals(1, executions.get());
+        Assertions.assertArrayEquals(storedBody, retry.getContentAsByteArray());
+    }
+
+    @Test
+    void whenTheRequestFails_thenTheLockIsReleasedForARetry() throws Exception {
+        lockSucceeds();
+        FilterChain failing = (request, response) -> ((HttpServletResponse) response).setStatus(400);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        newFilter().doFilter(request(BODY), response, failing);
+
+        Assertions.assertEquals(400, response.getStatus());
+        Mockito.verify(repository).release(anyString(), eq(lockedRequestHash.get()), anyString());
+        Mockito.verify(repository, Mockito.never()).complete(anyString(), anyString(), any(), any());
+    }
+
+    private IdempotencyFilter newFilter() {
+        return new IdempotencyFilter(repository, new SimpleMeterRegistry(), true,
+                Duration.ofHours(24), Duration.ofMinutes(1), Duration.ofMinutes(5), DataSize.ofMegabytes(64));
+    }
+
+    private void lockSucceeds() {
+        Mockito.when(repository.tryLock(anyString(), anyString(), anyString(), any())).thenAnswer(invocation -> {
+            lockedRequestHash.set(invocation.getArgument(1));
+            return true;
+        });
+    }
+
+    private void lockFails(IdempotencyRecord stored) {
+        Mockito.when(repository.tryLock(anyString(), anyString(), anyString(), any())).thenReturn(false);
+        Mockito.when(repository.get(anyString())).thenReturn(stored);
+    }
+
+    private MockHttpServletResponse send(IdempotencyFilter filter, String body) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(body), response, controller);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/stringing");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, KEY);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,126 @@
+package com.wangindustries.badmintondbBackend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+
+public class JwtAuthenticationFilterTest {
+    private static final String VALID_TOKEN = "valid-token";
+    private static final AuthenticatedUser USER = new AuthenticatedUser(
+            UUID.fromString("6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e01"), "lcw", Instant.parse("2030-01-01T00:00:00Z"));
+
+    private final TokenVerifier tokenVerifier = Mockito.mock(TokenVerifier.class);
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(tokenVerifier.authenticate(any())).thenAnswer(invocation -> {
+            HttpServletRequest request = invocation.getArgument(0);
+            return ("Bearer " + VALID_TOKEN).equals(request.getHeader("Authorization")) ? USER : null;
+        });
+    }
+
+    @Test
+    void whenAPublicRouteIsCalledWithoutAToken_thenItIsLetThrough() throws Exception {
+        Assertions.assertTrue(passes(request("POST", "/auth/login")));
+        Assertions.assertTrue(passes(request("POST", "/user")));
+        Assertions.assertTrue(passes(request("GET", "/actuator/health")));
+        Assertions.assertTrue(passes(request("OPTIONS", "/stringing/batch")));
+    }
+
+    @Test
+    void whenUserIsCalledWithAnotherMethodThanPost_thenATokenIsRequired() throws Exception {
+        Assertions.assertFalse(passes(request("GET", "/user")));
+        Assertions.assertFalse(passes(request("PUT", "/user")));
+        Assertions.assertFalse(passes(request("GET", "/auth/login")));
+        // Only the exact paths are public
+        Assertions.assertFalse(passes(request("POST", "/user/6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e01/password")));
+    }
+
+    @Test
+    void whenTheAppRunsUnderAContextPath_thenPublicRoutesAreMatchedBelowIt() throws Exception {
+        MockHttpServletRequest login = request("POST", "/prod/auth/login");
+        login.setContextPath("/prod");
+        MockHttpServletRequest stringings = request("GET", "/prod/stringing/owner/lcw");
+        stringings.setContextPath("/prod");
+
+        Assertions.assertTrue(passes(login));
+        Assertions.assertFalse(passes(stringings));
+    }
+
+    @Test
+    void whenTheTokenIsMissingOrInvalid_thenUnauthorized() throws Exception {
+        MockHttpServletRequest missing = request("GET", "/analytics/user/6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e01");
+        MockHttpServletRequest invalid = request("GET", "/analytics/user/6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e01");
+        invalid.addHeader("Authorization", "Bearer forged-token");
+
+        MockHttpServletResponse missingResponse = new MockHttpServletResponse();
+        MockFilterChain missingChain = new MockFilterChain();
+        newFilter(true).doFilter(missing, missingResponse, missingChain);
+        MockHttpServletResponse invalidResponse = new MockHttpServletResponse();
+        MockFilterChain invalidChain = new MockFilterChain();
+        newFilter(true).doFilter(invalid, invalidResponse, invalidChain);
+
+        Assertions.assertEquals(401, missingResponse.getStatus());
+        Assertions.assertNull(missingChain.getRequest());
+        Assertions.assertEquals(401, invalidResponse.getStatus());
+        Assertions.assertNull(invalidChain.getRequest());
+        Assertions.assertNotNull(invalidResponse.getHeader(JwtAuthenticationFilter.SERVER_TIMING_HEADER));
+    }
+
+    @Test
+    void whenTheTokenIsValid_thenTheRequestIsLetThrough() throws Exception {
+        MockHttpServletRequest request = request("GET", "/stringing/owner/lcw");
+        request.addHeader("Authorization", "Bearer " + VALID_TOKEN);
+
+        Assertions.assertTrue(passes(request));
+    }
+
+    @Test
+    void whenAuthIsNotRequired_thenRequestsWithoutATokenAreLetThrough() throws Exception {
+        MockHttpServletRequest missing = request("GET", "/stringing/owner/lcw");
+        MockHttpServletRequest invalid = request("PUT", "/user");
+        invalid.addHeader("Authorization", "Bearer forged-token");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        newFilter(false).doFilter(missing, response, chain);
+
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertSame(missing, chain.getRequest());
+        Assertions.assertTrue(passes(invalid, newFilter(false)));
+    }
+
+    private JwtAuthenticationFilter newFilter(boolean authRequired) {
+        return new JwtAuthenticationFilter(tokenVerifier, new SimpleMeterRegistry(), authRequired);
+    }
+
+    private boolean passes(MockHttpServletRequest request) throws Exception {
+        return passes(request, newFilter(true));
+    }
+
+    private static boolean passes(MockHttpServletRequest request, JwtAuthenticationFilter filter) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (chain.getRequest() == null) {
+            Assertions.assertEquals(401, response.getStatus());
+            return false;
+        }
+        return true;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
@@ -0,0 +1,112 @@
+package com.wangindustries.badmintondbBackend.security;
+
+import com.wangindustries.badmintondbBackend.exceptions.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public class LoginRateLimiterTest {
+
+    private static final String IP = "203.0.113.7";
+    private static final String OTHER_IP = "198.51.100.23";
+    private static final long T0 = TimeUnit.HOURS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void whenTheBurstIsUsedUp_thenTheNextAttemptIsThrottled() {
+        LoginRateLimiter limiter = newLimiter(30, 3, 100);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("lcw", IP, T0);
+        }
+
+        Assertions.assertThrows(LoginThrottledException.class, () -> limiter.acquire("lcw", IP, T0));
+        Assertions.assertEquals(1.0, meterRegistry.get("auth.login.throttled").tag("limit", "username").counter().count());
+    }
+
+    @Test
+    void whenTheRefillPeriodHasPassed_thenTheWholeBurstIsAvailableAgain() {
+        LoginRateLimiter limiter = newLimiter(30, 3, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("lcw", IP, T0);
+        }
+
+        // One attempt comes back every refill-period / capacity
+        long oneInterval = T0 + TimeUnit.SECONDS.toNanos(20);
+        limiter.acquire("lcw", IP, oneInterval);
+        Assertions.assertThrows(LoginThrottledException.class, () -> limiter.acquire("lcw", IP, oneInterval));
+
+        long fullRefill = oneInterval + TimeUnit.MINUTES.toNanos(1);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("lcw", IP, fullRefill);
+        }
+        Assertions.assertThrows(LoginThrottledException.class, () -> limiter.acquire("lcw", IP, fullRefill));
+    }
+
+    @Test
+    void whenThrottled_thenRetryAfterIsTheWaitForTheNextAttemptRoundedUp() {
+        LoginRateLimiter limiter = newLimiter(30, 3, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("lcw", IP, T0);
+        }
+
+        Assertions.assertEquals(20, retryAfter(limiter, T0));
+        Assertions.assertEquals(15, retryAfter(limiter, T0 + TimeUnit.MILLISECONDS.toNanos(5_500)));
+        Assertions.assertEquals(1, retryAfter(limiter, T0 + TimeUnit.MILLISECONDS.toNanos(19_999)));
+    }
+
+    @Test
+    void whenOneBucketIsEmpty_thenTheOtherKindIsNotAffected() {
+        LoginRateLimiter limiter = newLimiter(2, 3, 100);
+
+        // A username has one bucket across addresses, whatever its case
+        for (int i = 0; i < 2; i++) {
+            limiter.acquire("lcw", IP, T0);
+        }
+        limiter.acquire("LCW ", OTHER_IP, T0);
+        LoginThrottledException username = Assertions.assertThrows(LoginThrottledException.class,
+                () -> limiter.acquire("lcw", "192.0.2.1", T0));
+        Assertions.assertTrue(username.getMessage().contains("username"));
+
+        // An exhausted address blocks every username from it, but those usernames can still log in elsewhere
+        LoginThrottledException ip = Assertions.assertThrows(LoginThrottledException.class,
+                () -> limiter.acquire("axelsen", IP, T0));
+        Assertions.assertTrue(ip.getMessage().contains("address"));
+        limiter.acquire("axelsen", OTHER_IP, T0);
+    }
+
+    @Test
+    void whenMoreKeysThanMaxKeysAreSeen_thenBucketsAreEvicted() {
+        LoginRateLimiter limiter = newLimiter(30, 3, 10);
+
+        for (int i = 0; i < 500; i++) {
+            limiter.acquire("user" + i, "10.0.0." + (i % 250), T0);
+        }
+
+        Assertions.assertTrue(limiter.trackedKeys() <= 20, "Buckets were not evicted: " + limiter.trackedKeys());
+    }
+
+    @Test
+    void whenDisabled_thenNothingIsThrottled() {
+        LoginRateLimiter limiter = new LoginRateLimiter(meterRegistry, false,
+                1, Duration.ofMinutes(1), 1, Duration.ofMinutes(1), 100);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("lcw", IP, T0);
+        }
+    }
+
+    private LoginRateLimiter newLimiter(int ipCapacity, int usernameCapacity, long maxKeys) {
+        return new LoginRateLimiter(meterRegistry, true,
+                ipCapacity, Duration.ofMinutes(1), usernameCapacity, Duration.ofMinutes(1), maxKeys);
+    }
+
+    private static long retryAfter(LoginRateLimiter limiter, long now) {
+        return Assertions.assertThrows(LoginThrottledException.class, () -> limiter.acquire("lcw", IP, now))
+                .getRetryAfterSeconds();
+    }
+}
@@ -0,0 +1,100 @@
+package com.wangindustries.badmintondbBackend.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class FanOutTest {
+
+    @Test
+    void whenATaskFails_thenItsSiblingsAreCancelled() throws InterruptedException {
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+        AtomicBoolean siblingInterrupted = new AtomicBoolean();
+
+        try (FanOut fanOut = FanOut.open()) {
+            FanOut.Task<String> sibling = fanOut.fork(() -> {
+                siblingStarted.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    siblingInterrupted.set(true);
+                    throw e;
+                }
+                return "finished";
+            });
+            fanOut.fork(() -> {
+                siblingStarted.await();
+                throw new IllegalArgumentException("stringing not found");
+            });
+
+            Assertions.assertThrows(IllegalArgumentException.class, fanOut::join);
+            Assertions.assertThrows(IllegalStateException.class, sibling::get);
+        }
+        Assertions.assertTrue(siblingInterrupted.get());
+    }
+
+    @Test
+    void whenATaskFails_thenJoinRethrowsTheOriginalException() {
+        IllegalArgumentException failure = new IllegalArgumentException("User not found");
+        IOException checkedFailure = new IOException("connection reset");
+
+        try (FanOut fanOut = FanOut.open()) {
+            fanOut.fork(() -> {
+                throw failure;
+            });
+            Assertions.assertSame(failure, Assertions.assertThrows(IllegalArgumentException.class, fanOut::join));
+        }
+        try (FanOut fanOut = FanOut.open()) {
+            fanOut.fork(() -> {
+                throw checkedFailure;
+            });
+            IllegalStateException wrapped = Assertions.assertThrows(IllegalStateException.class, fanOut::join);
+            Assertions.assertSame(checkedFailure, wrapped.getCause());
+        }
+    }
+
+    @Test
+    void whenATaskIsReadBeforeJoin_thenItThrows() {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (FanOut fanOut = FanOut.open()) {
+            FanOut.Task<Integer> task = fanOut.fork(() -> {
+                release.await();
+                return 42;
+            });
+
+            Assertions.assertThrows(IllegalStateException.class, task::get);
+            release.countDown();
+            fanOut.join();
+            Assertions.assertEquals(42, task.get());
+        }
+    }
+
+    @Test
+    void whenClosedWithoutJoin_thenWaitsForTheCancelledTasks() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean cleanedUp = new AtomicBoolean();
+
+        FanOut fanOut = FanOut.open();
+        fanOut.fork(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                // Cleanup after the cancellation still takes a while; close() has to wait for it
+                Thread.sleep(200);
+                cleanedUp.set(true);
+            }
+            return null;
+        });
+        started.await();
+
+        fanOut.close();
+
+        Assertions.assertTrue(cleanedUp.get());
+    }
+}
@@ -0,0 +1,85 @@
+package com.wangindustries.badmintondbBackend.services;
+
+import com.wangindustries.badmintondbBackend.exceptions.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class PasswordEncryptionServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch hashingStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseHashing = new CountDownLatch(1);
+    private final CountDownLatch hashingInterrupted = new CountDownLatch(1);
+
+    /** Blocks every hash until released, so a pool of 1 thread with a queue of 1 can be saturated on purpose */
+    private final BCryptPasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashingStarted.countDown();
+            try {
+                releaseHashing.await();
+            } catch (InterruptedException e) {
+                hashingInterrupted.countDown();
+                throw new IllegalStateException(e);
+            }
+            return super.encode(rawPassword);
+        }
+    };
+
+    @AfterEach
+    void releaseBlockedHashes() {
+        releaseHashing.countDown();
+    }
+
+    @Test
+    void whenThePoolAndQueueAreFull_thenHashingIsRejectedAsBusy() throws Exception {
+        PasswordEncryptionService service = newService(Duration.ofSeconds(30));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encryptPassword("first"));
+        Assertions.assertTrue(hashingStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encryptPassword("second"));
+        awaitQueued(1);
+
+        PasswordHashingBusyException busy = Assertions.assertThrows(PasswordHashingBusyException.class,
+                () -> service.encryptPassword("third"));
+        Assertions.assertEquals(2L, busy.getRetryAfterSeconds());
+
+        // The accepted requests are still hashed once the pool frees up
+        releaseHashing.countDown();
+        String first = running.get(5, TimeUnit.SECONDS);
+        String second = queued.get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(service.matches("first", first));
+        Assertions.assertTrue(service.matches("second", second));
+    }
+
+    @Test
+    void whenAHashTakesLongerThanTheTimeout_thenItIsCancelledAndReportedAsBusy() throws InterruptedException {
+        PasswordEncryptionService service = newService(Duration.ofMillis(100));
+
+        PasswordHashingBusyException busy = Assertions.assertThrows(PasswordHashingBusyException.class,
+                () -> service.encryptPassword("slow"));
+
+        Assertions.assertEquals(2L, busy.getRetryAfterSeconds());
+        Assertions.assertTrue(hashingInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    private PasswordEncryptionService newService(Duration timeout) {
+        return new PasswordEncryptionService(meterRegistry, blockingEncoder, 1, 1, timeout, Duration.ofSeconds(2));
+    }
+
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value() < expected) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "Request was not queued");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.wangindustries.badmintondbBackend.services;
+
+import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.models.User;
+import com.wangindustries.badmintondbBackend.repositories.StringingRepository;
+import com.wangindustries.badmintondbBackend.repositories.UsersRepository;
+import com.wangindustries.badmintondbBackend.requests.CreateStringingRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+//Creates stringings concurrently against LocalStack (see localstack-init/init-dynamodb.sh), logs the create latency
+//and checks that every DETAILS item got its owner index item
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = "dynamodb.local.enabled=true")
+@EnabledIfEnvironmentVariable(named = "LOCALSTACK_ENABLED", matches = "true")
+public class StringingCreateLocalStackTest {
+
+    private static final int CREATES = 400;
+    private static final int CONCURRENCY = 16;
+
+    @Autowired
+    private StringingService stringingService;
+
+    @Autowired
+    private StringingRepository stringingRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Test
+    void whenCreatingConcurrently_thenEveryStringingHasItsOwnerIndexItem() throws Exception {
+        UUID ownerUserId = UUID.randomUUID();
+        UUID stringerUserId = UUID.randomUUID();
+        User owner = new User();
+        owner.setPK(User.createPk(ownerUserId));
+        owner.setSK(User.createSk());
+        owner.setUserId(ownerUserId);
+        owner.setGivenName("Load");
+        owner.setFamilyName("Test");
+        usersRepository.saveUser(owner);
+
+        List<Long> latenciesNanos = Collections.synchronizedList(new ArrayList<>());
+        List<Future<Stringing>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            for (int i = 0; i < CREATES; i++) {
+                futures.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    Stringing created = stringingService.createStringing(request(ownerUserId, stringerUserId));
+                    latenciesNanos.add(System.nanoTime() - start);
+                    return created;
+                }));
+            }
+            Set<UUID> createdIds = new HashSet<>();
+            for (Future<Stringing> future : futures) {
+                Stringing created = future.get();
+                Assertions.assertEquals("Load Test", created.getOwnerName());
+                createdIds.add(created.getStringingId());
+            }
+
+            List<Long> sorted = latenciesNanos.stream().sorted().toList();
+            log.info("Created {} stringings with {} threads: p50={}ms p95={}ms p99={}ms max={}ms", CREATES, CONCURRENCY,
+                    percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.95), percentileMillis(sorted, 0.99),
+                    percentileMillis(sorted, 1.0));
+
+            Set<UUID> ownerIndexIds = stringingRepository.getStringingsByOwnerUserId(ownerUserId).stream()
+                    .map(Stringing::getStringingId)
+                    .collect(Collectors.toSet());
+            Assertions.assertEquals(createdIds, ownerIndexIds);
+            Assertions.assertEquals(CREATES, stringingRepository.getStringingsByStringerUserId(stringerUserId).size());
+
+            // Re-creating an existing stringing writes neither item
+            Stringing existing = stringingRepository.getStringing(createdIds.iterator().next());
+            Assertions.assertFalse(stringingRepository.createStringing(existing, Stringing.createOwnerIndexItem(existing, false)));
+            Assertions.assertEquals(CREATES, stringingRepository.getStringingsByOwnerUserId(ownerUserId).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CreateStringingRequest request(UUID ownerUserId, UUID stringerUserId) {
+        CreateStringingRequest request = new CreateStringingRequest();
+        request.setOwnerUserId(ownerUserId);
+        request.setStringerUserId(stringerUserId);
+        request.setRacketMake("Yonex");
+        request.setRacketModel("Astrox 88D");
+        request.setStringType("BG80");
+        request.setMainsTensionLbs(24.0);
+        request.setCrossesTensionLbs(26.0);
+        return request;
+    }
+
+    private static double percentileMillis(List<Long> sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(0, index)) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,210 @@
+package com.wangindustries.badmintondbBackend.services;
+
+import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.models.StringingState;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+//Checks the single-pass aggregator against the stream pipelines AnalyticsService used before it, on random histories
+public class StringingStatsAggregatorTest {
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final Instant FROM = Instant.parse("1900-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2100-01-01T00:00:00Z");
+    private static final List<ZoneId> ZONES = List.of(
+            ZoneId.of("UTC"),
+            ZoneId.of("America/Los_Angeles"),
+            ZoneId.of("Asia/Kolkata"),       // half-hour offset
+            ZoneId.of("Pacific/Kiritimati"), // +14:00, and skipped 1994-12-31 entirely
+            ZoneId.of("Europe/Amsterdam"));  // +00:19:32 before 1937
+    // Month and day boundaries either side of 1970 and of leap days
+    private static final List<Instant> EDGES = List.of(
+            Instant.parse("1969-12-31T23:59:59.999Z"),
+            Instant.parse("1970-01-01T00:00:00Z"),
+            Instant.parse("1968-02-29T23:30:00Z"),
+            Instant.parse("1968-03-01T00:00:00Z"),
+            Instant.parse("1900-02-28T23:59:59Z"),
+            Instant.parse("1900-03-01T00:00:00Z"),
+            Instant.parse("2000-02-29T12:00:00Z"),
+            Instant.parse("2024-02-29T23:59:59.999999999Z"),
+            Instant.parse("2024-03-01T00:00:00Z"),
+            Instant.parse("1904-02-29T05:00:00Z"));
+    // More distinct users and string types than the aggregator's initial dictionary capacity
+    private static final List<UUID> USERS = IntStream.range(0, 40).mapToObj(i -> new UUID(i % 2 == 0 ? 1 : -1, i)).toList();
+    private static final List<String> STRING_TYPES = IntStream.range(0, 30).mapToObj(i -> i == 0 ? "" : "BG" + i).toList();
+
+    @Test
+    void whenAggregatingRandomHistories_thenResultsMatchThePreviousImplementation() {
+        Random random = new Random(20250601);
+        for (int run = 0; run < 200; run++) {
+            ZoneId zone = ZONES.get(run % ZONES.size());
+            List<Stringing> stringings = randomStringings(random, 1 + random.nextInt(400));
+            assertSameAsPreviousImplementation(stringings, zone);
+        }
+    }
+
+    @Test
+    void whenDatesAreAtMonthAndLeapDayBoundaries_thenMonthsMatchThePreviousImplementation() {
+        Random random = new Random(29);
+        for (ZoneId zone : ZONES) {
+            List<Stringing> stringings = new ArrayList<>();
+            for (Instant edge : EDGES) {
+                for (long shiftSeconds : new long[]{-1, 0, 1, -43_200, 43_200}) {
+                    Stringing stringing = randomStringing(random);
+                    stringing.setCreatedAt(edge.plusSeconds(shiftSeconds));
+                    stringings.add(stringing);
+                }
+            }
+            assertSameAsPreviousImplementation(stringings, zone);
+        }
+    }
+
+    @Test
+    void whenThereAreNoStringings_thenEverythingIsEmpty() {
+        StringingStatsAggregator stats = StringingStatsAggregator.of(List.of(), ZoneId.of("UTC"));
+
+        Assertions.assertEquals(0, stats.total());
+        Assertions.assertTrue(stats.countsByMonth().isEmpty());
+        Assertions.assertNull(stats.mostUsedTension());
+        Assertions.assertNull(stats.busiestMonth());
+        Assertions.assertEquals(0.0, stats.averageCompletionHours());
+    }
+
+    private static void assertSameAsPreviousImplementation(List<Stringing> stringings, ZoneId zone) {
+        StringingStatsAggregator stats = StringingStatsAggregator.of(stringings, zone);
+        String context = stringings.size() + " stringings in " + zone;
+
+        Assertions.assertEquals(stringings.size(), stats.total(), context);
+        Assertions.assertEquals(countBy(stringings, s -> s.getState() != null, s -> s.getState().name()),
+                stats.countsByState(), context);
+        Assertions.assertEquals(countBy(stringings, s -> s.getStringType() != null && !s.getStringType().isEmpty(),
+                Stringing::getStringType), stats.countsByStringType(), context);
+        Assertions.assertEquals(countBy(stringings, s -> s.getRacketMake() != null && s.getRacketModel() != null,
+                s -> s.getRacketMake() + " " + s.getRacketModel()), stats.countsByRacket(), context);
+        Assertions.assertEquals(countBy(stringings, s -> s.getCreatedAt() != null,
+                s -> MONTH_FORMATTER.format(s.getCreatedAt().atZone(zone))), stats.countsByMonth(), context);
+        Assertions.assertEquals(countLongBy(stringings, s -> s.getStringerUserId() != null, Stringing::getStringerUserId),
+                stats.countsByStringer(), context);
+        Assertions.assertEquals(countLongBy(stringings, s -> s.getOwnerUserId() != null, Stringing::getOwnerUserId),
+                stats.countsByOwner(), context);
+
+        Map<String, Integer> tensions = countBy(stringings,
+                s -> s.getMainsTensionLbs() != null && s.getCrossesTensionLbs() != null,
+                s -> s.getMainsTensionLbs().intValue() + " x " + s.getCrossesTensionLbs().intValue() + " lbs");
+        assertOneOfTheMostFrequent(tensions, stats.mostUsedTension(), context);
+        Map<String, Integer> months = countBy(stringings, s -> s.getCreatedAt() != null,
+                s -> MONTH_FORMATTER.format(s.getCreatedAt().atZone(zone)));
+        Map.Entry<String, Integer> busiest = stats.busiestMonth() == null ? null
+                : Map.entry(stats.busiestMonth(), months.getOrDefault(stats.busiestMonth(), 0));
+        assertOneOfTheMostFrequent(months, busiest, context);
+
+        double previousAverage = stringings.stream()
+                .filter(s -> s.getReceivedAt() != null && (s.getFinishedAt() != null || s.getCompletedAt() != null))
+                .mapToLong(s -> Duration.between(s.getReceivedAt(),
+                        s.getFinishedAt() != null ? s.getFinishedAt() : s.getCompletedAt()).toHours())
+                .average()
+                .orElse(0.0);
+        Assertions.assertEquals(previousAverage, stats.averageCompletionHours(), context);
+
+        Assertions.assertEquals(stringings.stream().filter(s -> s.getState() == StringingState.COMPLETED
+                || s.getState() == StringingState.FINISHED_BUT_NOT_PICKED_UP).count(), stats.successful(), context);
+        Assertions.assertEquals(stringings.stream().filter(s -> s.getState() == StringingState.FAILED_COMPLETED
+                || s.getState() == StringingState.FAILED_BUT_NOT_PICKED_UP).count(), stats.failed(), context);
+    }
+
+    // The previous implementation took the max over a HashMap, so which of several tied keys won was arbitrary
+    private static void assertOneOfTheMostFrequent(Map<String, Integer> counts, Map.Entry<String, Integer> actual,
+                                                   String context) {
+        if (counts.isEmpty()) {
+            Assertions.assertNull(actual, context);
+            return;
+        }
+        int max = counts.values().stream().mapToInt(Integer::intValue).max().orElseThrow();
+        Assertions.assertNotNull(actual, context);
+        Assertions.assertEquals(max, actual.getValue(), context);
+        Assertions.assertEquals(max, counts.get(actual.getKey()), context);
+    }
+
+    private static Map<String, Integer> countBy(List<Stringing> stringings,
+                                                Predicate<Stringing> filter,
+                                                Function<Stringing, String> key) {
+        return stringings.stream()
+                .filter(filter)
+                .collect(Collectors.groupingBy(key, Collectors.collectingAndThen(Collectors.counting(), Long::intValue)));
+    }
+
+    private static Map<UUID, Long> countLongBy(List<Stringing> stringings,
+                                               Predicate<Stringing> filter,
+                                               Function<Stringing, UUID> key) {
+        return stringings.stream()
+                .filter(filter)
+                .collect(Collectors.groupingBy(key, Collectors.counting()));
+    }
+
+    private static List<Stringing> randomStringings(Random random, int count) {
+        List<Stringing> stringings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            stringings.add(randomStringing(random));
+        }
+        return stringings;
+    }
+
+    private static Stringing randomStringing(Random random) {
+        StringingState[] states = StringingState.values();
+        List<String> makes = List.of("Yonex", "Victor", "Li-Ning", "Yonex Astrox"); // "Yonex Astrox" + "88D" == "Yonex" + "Astrox 88D"
+        List<String> models = List.of("Astrox 88D", "88D", "Thruster K", "");
+
+        Stringing s = new Stringing();
+        s.setStringingId(UUID.randomUUID());
+        s.setState(random.nextInt(10) == 0 ? null : states[random.nextInt(states.length)]);
+        s.setStringType(pick(random, STRING_TYPES));
+        s.setRacketMake(pick(random, makes));
+        s.setRacketModel(pick(random, models));
+        s.setMainsTensionLbs(random.nextInt(10) == 0 ? null : 18 + random.nextInt(13) + random.nextDouble());
+        s.setCrossesTensionLbs(random.nextInt(10) == 0 ? null : 18 + random.nextInt(15) + random.nextDouble());
+        s.setStringerUserId(pick(random, USERS));
+        s.setOwnerUserId(pick(random, USERS));
+
+        Instant createdAt = random.nextInt(10) == 0 ? null : randomInstant(random);
+        s.setCreatedAt(createdAt);
+        if (createdAt != null && random.nextBoolean()) {
+            // Completion a few days either way, including end before start and sub-second differences
+            Instant receivedAt = createdAt.plusNanos(random.nextLong(1_000_000_000L));
+            s.setReceivedAt(receivedAt);
+            Instant end = receivedAt.plusSeconds(random.nextLong(-86_400, 5 * 86_400)).plusNanos(random.nextInt(1_000_000_000));
+            if (random.nextBoolean()) {
+                s.setFinishedAt(end);
+            }
+            if (random.nextBoolean()) {
+                s.setCompletedAt(end.plusSeconds(3_600));
+            }
+        }
+        return s;
+    }
+
+    private static Instant randomInstant(Random random) {
+        if (random.nextInt(5) == 0) {
+            return EDGES.get(random.nextInt(EDGES.size())).plusSeconds(random.nextLong(-86_400, 86_400));
+        }
+        return Instant.ofEpochSecond(random.nextLong(FROM.getEpochSecond(), TO.getEpochSecond()),
+                random.nextInt(1_000_000_000));
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return random.nextInt(8) == 0 ? null : values.get(random.nextInt(values.size()));
+    }
+}
@@ -0,0 +1,128 @@
+package com.wangindustries.badmintondbBackend.services;
+
+import com.wangindustries.badmintondbBackend.exceptions.ConcurrentUpdateException;
+import com.wangindustries.badmintondbBackend.models.Stringing;
+import com.wangindustries.badmintondbBackend.models.User;
+import com.wangindustries.badmintondbBackend.repositories.StringingRepository;
+import com.wangindustries.badmintondbBackend.repositories.UsersRepository;
+import com.wangindustries.badmintondbBackend.requests.CreateStringingRequest;
+import com.wangindustries.badmintondbBackend.requests.UpdateStringingRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+//Races PUT /stringing/{id} against another writer on LocalStack (see localstack-init/init-dynamodb.sh): the other
+//writer bumps the version between the service's read and its conditional update
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {"dynamodb.local.enabled=true", "stringing.owner-index.projected=false"})
+@EnabledIfEnvironmentVariable(named = "LOCALSTACK_ENABLED", matches = "true")
+public class StringingUpdateLocalStackTest {
+
+    @Autowired
+    private StringingService stringingService;
+
+    @MockitoSpyBean
+    private StringingRepository stringingRepository;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Autowired
+    private DynamoDbClient dynamoDbClient;
+
+    private Stringing created;
+
+    @BeforeEach
+    void createStringing() {
+        UUID ownerUserId = UUID.randomUUID();
+        User owner = new User();
+        owner.setPK(User.createPk(ownerUserId));
+        owner.setSK(User.createSk());
+        owner.setUserId(ownerUserId);
+        owner.setGivenName("Race");
+        owner.setFamilyName("Test");
+        usersRepository.saveUser(owner);
+
+        CreateStringingRequest request = new CreateStringingRequest();
+        request.setOwnerUserId(ownerUserId);
+        request.setStringerUserId(UUID.randomUUID());
+        request.setRacketMake("Yonex");
+        request.setRacketModel("Astrox 88D");
+        request.setStringType("BG80");
+        request.setMainsTensionLbs(24.0);
+        request.setCrossesTensionLbs(26.0);
+        created = stringingService.createStringing(request);
+    }
+
+    @Test
+    void whenAnotherWriterGetsInOnce_thenTheUpdateIsRetriedOnAFreshRead() {
+        AtomicInteger competingWrites = new AtomicInteger();
+        Mockito.doAnswer(invocation -> {
+            if (competingWrites.getAndIncrement() == 0) {
+                competingWrite("Black");
+            }
+            return invocation.callRealMethod();
+        }).when(stringingRepository).updateAttributes(eq(created.getStringingId()), any(), any());
+
+        Stringing updated = stringingService.updateStringing(created.getStringingId(), racketModel("Astrox 100ZZ"));
+
+        Assertions.assertEquals(2, competingWrites.get());
+        Stringing stored = stringingRepository.getStringing(created.getStringingId());
+        Assertions.assertEquals("Astrox 100ZZ", stored.getRacketModel());
+        Assertions.assertEquals("Black", stored.getStringColor()); // the other writer's change survives
+        Assertions.assertEquals(3L, stored.getVersion());
+        Assertions.assertEquals(stored.getVersion(), updated.getVersion());
+    }
+
+    @Test
+    void whenAnotherWriterKeepsGettingIn_thenTheUpdateGivesUpWithAConflict() {
+        Mockito.doAnswer(invocation -> {
+            competingWrite("Red");
+            return invocation.callRealMethod();
+        }).when(stringingRepository).updateAttributes(eq(created.getStringingId()), any(), any());
+
+        Assertions.assertThrows(ConcurrentUpdateException.class,
+                () -> stringingService.updateStringing(created.getStringingId(), racketModel("Astrox 100ZZ")));
+
+        Stringing stored = stringingRepository.getStringing(created.getStringingId());
+        Assertions.assertEquals("Astrox 88D", stored.getRacketModel());
+        Assertions.assertEquals(1L + StringingService.MAX_UPDATE_ATTEMPTS, stored.getVersion());
+    }
+
+    private static UpdateStringingRequest racketModel(String racketModel) {
+        UpdateStringingRequest request = new UpdateStringingRequest();
+        request.setRacketModel(racketModel);
+        return request;
+    }
+
+    // Another instance's versioned update, written behind the service's back
+    private void competingWrite(String stringColor) {
+        dynamoDbClient.updateItem(UpdateItemRequest.builder()
+                .tableName("badmintonDb")
+                .key(Map.of(
+                        "PK", AttributeValue.fromS(Stringing.createPk(created.getStringingId())),
+                        "SK", AttributeValue.fromS(Stringing.createSkDetails())))
+                .updateExpression("SET stringColor = :stringColor ADD #version :one")
+                .expressionAttributeNames(Map.of("#version", "version"))
+                .expressionAttributeValues(Map.of(
+                        ":stringColor", AttributeValue.fromS(stringColor),
+                        ":one", AttributeValue.fromN("1")))
+                .build());
+    }
+}
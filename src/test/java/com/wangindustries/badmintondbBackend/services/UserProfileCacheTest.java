@@ -0,0 +1,74 @@
+package com.wangindustries.badmintondbBackend.services;
+
+import com.wangindustries.badmintondbBackend.models.User;
+import com.wangindustries.badmintondbBackend.repositories.UsersRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class UserProfileCacheTest {
+
+    private static final UUID USER_ID = UUID.fromString("6f1c2a6e-2d6b-4c55-9d0e-1a2b3c4d5e01");
+
+    private final UsersRepository usersRepository = Mockito.mock(UsersRepository.class);
+    private final UserProfileCache cache = new UserProfileCache(usersRepository, new SimpleMeterRegistry(),
+            100, Duration.ofMinutes(5));
+
+    @Test
+    void whenGettingAUser_thenThePasswordHashIsNotReturned() {
+        Mockito.when(usersRepository.getUser(USER_ID)).thenReturn(storedUser());
+
+        User miss = cache.getUser(USER_ID);
+        User hit = cache.getUser(USER_ID);
+
+        Assertions.assertEquals("lcw", miss.getUsername());
+        Assertions.assertNull(miss.getEncryptedPassword());
+        Assertions.assertNull(hit.getEncryptedPassword());
+        Mockito.verify(usersRepository, Mockito.times(1)).getUser(USER_ID);
+    }
+
+    @Test
+    void whenACallerChangesItsUser_thenOtherCallersDoNotSeeIt() {
+        Mockito.when(usersRepository.getUser(USER_ID)).thenReturn(storedUser());
+
+        User first = cache.getUser(USER_ID);
+        first.setGivenName("Changed");
+        first.setEncryptedPassword("$2a$10$replaced");
+
+        User second = cache.getUser(USER_ID);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals("Lee", second.getGivenName());
+        Assertions.assertNull(second.getEncryptedPassword());
+    }
+
+    @Test
+    void whenUsersAreLoadedByUsernameOrInABatch_thenThePasswordHashIsNotReturned() {
+        Mockito.when(usersRepository.findByUsername("lcw")).thenReturn(storedUser());
+        Mockito.when(usersRepository.getUsers(List.of(USER_ID))).thenReturn(List.of(storedUser()));
+
+        Map<UUID, User> batch = cache.getUsers(List.of(USER_ID));
+        User byUsername = cache.findByUsername("lcw");
+
+        Assertions.assertNull(batch.get(USER_ID).getEncryptedPassword());
+        Assertions.assertEquals(USER_ID, byUsername.getUserId());
+        Assertions.assertNull(byUsername.getEncryptedPassword());
+    }
+
+    private static User storedUser() {
+        User user = new User();
+        user.setPK(User.createPk(USER_ID));
+        user.setSK(User.createSk());
+        user.setUserId(USER_ID);
+        user.setGivenName("Lee");
+        user.setFamilyName("Chong Wei");
+        user.setUsername("lcw");
+        user.setEncryptedPassword("$2a$10$abcdefghijklmnopqrstuv");
+        return user;
+    }
+}
@@ -17,6 +17,7 @@ import { StringingService } from '../../services/stringing.service';
 import { AuthService } from '../../services/auth.service';
 import { User } from '../../models/user.model';
 import { CreateStringingRequest } from '../../models/stringing.model';
+import { PagedList } from '../../models/page.model';
 import { 
   RACKET_MAKES, RACKET_MODELS, STRING_TYPES, STRING_COLORS,
   TENSION_MIN, TENSION_MAX, TENSION_DEFAULT, TENSION_PRESETS
@@ -65,6 +66,12 @@ export class CreateStringingComponent implements OnInit {
 
   // BehaviorSubject to trigger model list updates
   private modelsSubject = new BehaviorSubject<string[]>([]);
+  // BehaviorSubjects to refresh the owner/stringer options when another page is loaded
+  private usersSubject = new BehaviorSubject<User[]>([]);
+  private stringersSubject = new BehaviorSubject<User[]>([]);
+
+  private userList: PagedList<User> | null = null;
+  private stringerList: PagedList<User> | null = null;
 
   // Static data
   allMakes = RACKET_MAKES;
@@ -101,22 +108,26 @@ export class CreateStringingComponent implements OnInit {
 
   setupAutocomplete(): void {
     // Filter owners (users) - always show all when empty, filter when typing
-    this.filteredOwners$ = this.ownerSearchControl.valueChanges.pipe(
-      startWith(''),
-      map(value => {
+    this.filteredOwners$ = combineLatest([
+      this.ownerSearchControl.valueChanges.pipe(startWith('')),
+      this.usersSubject
+    ]).pipe(
+      map(([value, users]) => {
         const searchValue = value || '';
-        if (!searchValue) return this.users;
-        return this.filterUsers(searchValue, this.users);
+        if (!searchValue) return users;
+        return this.filterUsers(searchValue, users);
       })
     );
 
     // Filter stringers - always show all when empty, filter when typing
-    this.filteredStringers$ = this.stringerSearchControl.valueChanges.pipe(
-      startWith(''),
-      map(value => {
+    this.filteredStringers$ = combineLatest([
+      this.stringerSearchControl.valueChanges.pipe(startWith('')),
+      this.stringersSubject
+    ]).pipe(
+      map(([value, stringers]) => {
         const searchValue = value || '';
-        if (!searchValue) return this.stringers;
-        return this.filterUsers(searchValue, this.stringers);
+        if (!searchValue) return stringers;
+        return this.filterUsers(searchValue, stringers);
       })
     );
 
@@ -314,13 +325,29 @@ export class CreateStringingComponent implements OnInit {
     }
   }
 
+  get hasMoreUsers(): boolean {
+    return !!this.userList?.hasMore;
+  }
+
+  get hasMoreStringers(): boolean {
+    return !!this.stringerList?.hasMore;
+  }
+
   loadStringers(): void {
     this.isLoading = true;
     this.errorMessage = null;
+    this.stringerList = this.userService.getStringers();
+    this.loadMoreStringers();
+  }
 
-    this.userService.getStringers().subscribe({
-      next: (users) => {
-        this.stringers = users;
+  loadMoreStringers(): void {
+    const stringerList = this.stringerList;
+    if (!stringerList) return;
+
+    stringerList.loadMore().subscribe({
+      next: () => {
+        this.stringers = stringerList.items;
+        this.stringersSubject.next(this.stringers);
         this.isLoading = false;
       },
       error: (error) => {
@@ -338,18 +365,36 @@ export class CreateStringingComponent implements OnInit {
     const currentUser = this.authService.getCurrentUser();
     this.currentUserId = currentUser?.userId || '';
 
-    this.userService.getUsers().subscribe({
-      next: (users) => {
-        this.users = users;
+    // Pre-fill with current user, who need not be on the first page
+    if (currentUser) {
+      const me: User = {
+        userId: currentUser.userId,
+        username: currentUser.username,
+        givenName: currentUser.givenName,
+        familyName: currentUser.familyName,
+        email: currentUser.email,
+        birthday: currentUser.birthday,
+        createdAt: currentUser.createdAt
+      };
+      this.users = [me];
+      this.usersSubject.next(this.users);
+      this.formData.ownerUserId = me.userId;
+      this.ownerSearchControl.setValue(this.getUserDisplayName(me));
+    }
+
+    this.userList = this.userService.getUsers();
+    this.loadMoreUsers();
+  }
+
+  loadMoreUsers(): void {
+    const userList = this.userList;
+    if (!userList) return;
+
+    userList.loadMore().subscribe({
+      next: (page) => {
+        this.users = [...this.users, ...page.filter(user => user.userId !== this.currentUserId)];
+        this.usersSubject.next(this.users);
         this.isLoading = false;
-        // Pre-fill with current user
-        if (currentUser) {
-          const currentUserInList = this.users.find(u => u.userId === currentUser.userId);
-          if (currentUserInList) {
-            this.formData.ownerUserId = currentUser.userId;
-            this.ownerSearchControl.setValue(this.getUserDisplayName(currentUserInList));
-          }
-        }
       },
       error: (error) => {
         console.error('Failed to load users:', error);
@@ -15,8 +15,11 @@ import { UserService } from '../../services/user.service';
 import { Stringing, StringingState, ALL_STRINGING_STATES, STATE_TRANSITIONS, UpdateStringingRequest } from '../../models/stringing.model';
 import { User } from '../../models/user.model';
 import { AuthUser } from '../../models/auth.model';
+import { PagedList } from '../../models/page.model';
 import { forkJoin } from 'rxjs';
 
+const STRINGINGS_PAGE_SIZE = 25;
+
 @Component({
   selector: 'app-home',
   standalone: true,
@@ -28,6 +31,7 @@ export class HomeComponent implements OnInit {
   stringings: Stringing[] = [];
   allStringings: Stringing[] = [];
   isLoading = true;
+  isLoadingMore = false;
   errorMessage: string | null = null;
   sortBy: 'date' | 'status' = 'date';
   
@@ -39,6 +43,10 @@ export class HomeComponent implements OnInit {
   stringers: User[] = [];
   expandedStringings: Set<string> = new Set();
 
+  private stringingsAsStringer: PagedList<Stringing> | null = null;
+  private stringingsAsOwner: PagedList<Stringing> | null = null;
+  private stringerList: PagedList<User> | null = null;
+
   constructor(
     private authService: AuthService,
     private stringingService: StringingService,
@@ -62,32 +70,61 @@ export class HomeComponent implements OnInit {
     if (!this.currentUser) return;
 
     const userId = this.currentUser.userId;
+    this.stringingsAsStringer = this.stringingService.getStringingsByStringer(userId, STRINGINGS_PAGE_SIZE);
+    this.stringingsAsOwner = this.stringingService.getStringingsByOwner(userId, STRINGINGS_PAGE_SIZE);
+    this.allStringings = [];
+    this.isLoading = true;
+    this.loadMoreStringings();
+  }
+
+  get hasMoreStringings(): boolean {
+    return !!(this.stringingsAsStringer?.hasMore || this.stringingsAsOwner?.hasMore);
+  }
 
-    forkJoin({
-      asStringer: this.stringingService.getStringingsByStringer(userId),
-      asOwner: this.stringingService.getStringingsByOwner(userId)
-    }).subscribe({
-      next: (results) => {
-        const allStringings = [...results.asStringer, ...results.asOwner];
-        const uniqueStringings = allStringings.filter((stringing, index, self) =>
-          index === self.findIndex(s => s.stringingId === stringing.stringingId)
-        );
-        this.allStringings = uniqueStringings;
+  // Loads the next page of the stringings as stringer and as owner, for the lists that have one
+  loadMoreStringings(): void {
+    const lists = [this.stringingsAsStringer, this.stringingsAsOwner]
+      .filter((list): list is PagedList<Stringing> => !!list && list.hasMore);
+    if (lists.length === 0 || this.isLoadingMore) return;
+
+    this.isLoadingMore = true;
+    forkJoin(lists.map(list => list.loadMore())).subscribe({
+      next: (pages) => {
+        // A stringing you both string and own is in both lists; keep the copy already shown, it may have been edited
+        for (const stringing of pages.flat()) {
+          if (!this.allStringings.some(s => s.stringingId === stringing.stringingId)) {
+            this.allStringings.push(stringing);
+          }
+        }
         this.applyFiltersAndSorting();
         this.isLoading = false;
+        this.isLoadingMore = false;
       },
       error: (error) => {
         console.error('Failed to load stringings:', error);
         this.errorMessage = 'Failed to load stringings. Please try again.';
         this.isLoading = false;
+        this.isLoadingMore = false;
       }
     });
   }
 
+  get hasMoreStringers(): boolean {
+    return !!this.stringerList?.hasMore;
+  }
+
   loadStringers(): void {
-    this.userService.getStringers().subscribe({
-      next: (stringers) => {
-        this.stringers = stringers;
+    this.stringerList = this.userService.getStringers();
+    this.loadMoreStringers();
+  }
+
+  loadMoreStringers(): void {
+    const stringerList = this.stringerList;
+    if (!stringerList) return;
+
+    stringerList.loadMore().subscribe({
+      next: () => {
+        this.stringers = stringerList.items;
       },
       error: (error) => {
         console.error('Failed to load stringers:', error);
@@ -0,0 +1,43 @@
+import { Observable, defer, finalize, map, of, tap } from 'rxjs';
+
+export interface Page<T> {
+  items: T[];
+  nextCursor: string | null;
+}
+
+/**
+ * The items of a paged endpoint, loaded one page at a time when the component asks for more (e.g. a "Load more"
+ * button). items holds everything loaded so far; hasMore turns false once the server stops returning a nextCursor.
+ */
+export class PagedList<T> {
+  items: T[] = [];
+  isLoading = false;
+  // undefined until the first page is loaded, null after the last one
+  private cursor: string | null | undefined = undefined;
+
+  constructor(private fetchPage: (cursor?: string) => Observable<Page<T>>) {}
+
+  get hasMore(): boolean {
+    return this.cursor !== null;
+  }
+
+  /**
+   * Requests the next page on subscribe and emits only its items, after appending them to items.
+   */
+  loadMore(): Observable<T[]> {
+    return defer(() => {
+      if (!this.hasMore || this.isLoading) {
+        return of([] as T[]);
+      }
+      this.isLoading = true;
+      return this.fetchPage(this.cursor ?? undefined).pipe(
+        tap(page => {
+          this.items = this.items.concat(page.items);
+          this.cursor = page.nextCursor;
+        }),
+        map(page => page.items),
+        finalize(() => this.isLoading = false)
+      );
+    });
+  }
+}
@@ -1,8 +1,9 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpHeaders } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { UserAnalytics } from '../models/analytics.model';
 import { environment } from '../../environments/environment';
+import { AuthService } from './auth.service';
 
 @Injectable({
   providedIn: 'root'
@@ -10,14 +11,25 @@ import { environment } from '../../environments/environment';
 export class AnalyticsService {
   private apiUrl = environment.apiUrl;
 
-  constructor(private http: HttpClient) {}
+  constructor(
+    private http: HttpClient,
+    private authService: AuthService
+  ) {}
+
+  private getHeaders(): HttpHeaders {
+    return new HttpHeaders({
+      'Authorization': `Bearer ${this.authService.getToken()}`
+    });
+  }
 
   getAnalytics(userId: string, refresh: boolean = false): Observable<UserAnalytics> {
     const url = `${this.apiUrl}/analytics/user/${userId}${refresh ? '?refresh=true' : ''}`;
-    return this.http.get<UserAnalytics>(url);
+    return this.http.get<UserAnalytics>(url, { headers: this.getHeaders() });
   }
 
   refreshAnalytics(userId: string): Observable<UserAnalytics> {
-    return this.http.post<UserAnalytics>(`${this.apiUrl}/analytics/user/${userId}/refresh`, {});
+    return this.http.post<UserAnalytics>(`${this.apiUrl}/analytics/user/${userId}/refresh`, {}, {
+      headers: this.getHeaders()
+    });
   }
 }
@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpHeaders } from '@angular/common/http';
+import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { CreateStringingRequest, Stringing, UpdateStringingRequest } from '../models/stringing.model';
+import { Page, PagedList } from '../models/page.model';
 import { environment } from '../../environments/environment';
 import { AuthService } from './auth.service';
 
@@ -24,18 +25,43 @@ export class StringingService {
     });
   }
 
-  getStringingsByStringer(userId: string): Observable<Stringing[]> {
-    return this.http.get<Stringing[]>(`${this.apiUrl}/stringer/${userId}`, {
-      headers: this.getHeaders()
+  private getPageParams(cursor?: string, limit: number = 100): HttpParams {
+    let params = new HttpParams().set('limit', limit);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return params;
+  }
+
+  getStringingsByStringerPage(userId: string, cursor?: string, limit?: number): Observable<Page<Stringing>> {
+    return this.http.get<Page<Stringing>>(`${this.apiUrl}/stringer/${userId}`, {
+      headers: this.getHeaders(),
+      params: this.getPageParams(cursor, limit)
     });
   }
 
-  getStringingsByOwner(userId: string): Observable<Stringing[]> {
-    return this.http.get<Stringing[]>(`${this.apiUrl}/owner/${userId}`, {
-      headers: this.getHeaders()
+  getStringingsByStringer(userId: string, limit?: number): PagedList<Stringing> {
+    return new PagedList(cursor => this.getStringingsByStringerPage(userId, cursor, limit));
+  }
+
+  getActiveStringingsByStringerPage(userId: string, cursor?: string, limit?: number): Observable<Page<Stringing>> {
+    return this.http.get<Page<Stringing>>(`${this.apiUrl}/stringer/${userId}/active`, {
+      headers: this.getHeaders(),
+      params: this.getPageParams(cursor, limit)
     });
   }
 
+  getStringingsByOwnerPage(userId: string, cursor?: string, limit?: number): Observable<Page<Stringing>> {
+    return this.http.get<Page<Stringing>>(`${this.apiUrl}/owner/${userId}`, {
+      headers: this.getHeaders(),
+      params: this.getPageParams(cursor, limit)
+    });
+  }
+
+  getStringingsByOwner(userId: string, limit?: number): PagedList<Stringing> {
+    return new PagedList(cursor => this.getStringingsByOwnerPage(userId, cursor, limit));
+  }
+
   createStringing(request: CreateStringingRequest): Observable<Stringing> {
     return this.http.post<Stringing>(this.apiUrl, request, {
       headers: this.getHeaders()
@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpHeaders } from '@angular/common/http';
+import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { CreateUserRequest, UpdateUserRequest, User } from '../models/user.model';
+import { Page, PagedList } from '../models/page.model';
 import { environment } from '../../environments/environment';
 import { AuthService } from './auth.service';
 
@@ -35,18 +36,36 @@ export class UserService {
     });
   }
 
-  getUsers(): Observable<User[]> {
-    return this.http.get<User[]>(this.apiUrl, {
-      headers: this.getHeaders()
+  private getPageParams(cursor?: string, limit: number = 100): HttpParams {
+    let params = new HttpParams().set('limit', limit);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return params;
+  }
+
+  getUsersPage(cursor?: string, limit?: number): Observable<Page<User>> {
+    return this.http.get<Page<User>>(this.apiUrl, {
+      headers: this.getHeaders(),
+      params: this.getPageParams(cursor, limit)
     });
   }
 
-  getStringers(): Observable<User[]> {
-    return this.http.get<User[]>(`${this.apiUrl}/stringers`, {
-      headers: this.getHeaders()
+  getUsers(limit?: number): PagedList<User> {
+    return new PagedList(cursor => this.getUsersPage(cursor, limit));
+  }
+
+  getStringersPage(cursor?: string, limit?: number): Observable<Page<User>> {
+    return this.http.get<Page<User>>(`${this.apiUrl}/stringers`, {
+      headers: this.getHeaders(),
+      params: this.getPageParams(cursor, limit)
     });
   }
 
+  getStringers(limit?: number): PagedList<User> {
+    return new PagedList(cursor => this.getStringersPage(cursor, limit));
+  }
+
   updateUser(userId: string, request: UpdateUserRequest): Observable<User> {
     return this.http.put<User>(`${this.apiUrl}/${userId}`, request, {
       headers: this.getHeaders()